@@ -0,0 +1,7 @@
+-- Optimistic locking column for appointments
+-- Concurrent updates to the same appointment (reschedule vs. cancel) now fail
+-- instead of silently overwriting each other.
+
+ALTER TABLE APPOINTMENTS ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMIT;
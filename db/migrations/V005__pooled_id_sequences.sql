@@ -0,0 +1,18 @@
+-- Pooled sequence-based primary keys
+-- JPA now reserves ids in blocks of 50 (AppConstants.ID_ALLOCATION_SIZE) from
+-- <TABLE>_SEQ sequences instead of reading back IDENTITY values after each
+-- INSERT, which lets inserts be grouped into JDBC batches.
+-- The sequences are created by create_id_sequences in scripts/run-dev.sh once
+-- this migration has run: START WITH depends on the ids already in each table,
+-- which Derby DDL cannot compute.
+
+-- Accept ids supplied by the application; seed scripts may still omit them
+ALTER TABLE USERS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE PATIENTS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE DOCTORS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE APPOINTMENTS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE MEDICAL_RECORDS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE PRESCRIPTIONS ALTER COLUMN id SET GENERATED BY DEFAULT;
+ALTER TABLE NOTIFICATIONS ALTER COLUMN id SET GENERATED BY DEFAULT;
+
+COMMIT;
@@ -0,0 +1,12 @@
+-- Keyset pagination indices
+-- List pages are read newest first and continue from the sort key of the
+-- previous page's last row, so each listing needs an index on its full sort
+-- key including the id tie-breaker.
+
+CREATE INDEX idx_appointments_keyset ON APPOINTMENTS(appointment_date DESC, appointment_time DESC, id DESC);
+CREATE INDEX idx_users_keyset ON USERS(created_at DESC, id DESC);
+CREATE INDEX idx_patients_keyset ON PATIENTS(created_at DESC, id DESC);
+CREATE INDEX idx_doctors_keyset ON DOCTORS(created_at DESC, id DESC);
+CREATE INDEX idx_prescriptions_keyset ON PRESCRIPTIONS(prescribed_date DESC, id DESC);
+
+COMMIT;
@@ -28,6 +28,11 @@ GLASSFISH_PORT="${GLASSFISH_PORT:-8080}"
 GLASSFISH_ADMIN_PORT="${GLASSFISH_ADMIN_PORT:-4848}"
 GLASSFISH_DOMAIN="${GLASSFISH_DOMAIN:-domain1}"
 
+# Pooled id sequences; INCREMENT BY must match AppConstants.ID_ALLOCATION_SIZE
+ID_SEQUENCE_TABLES="USERS PATIENTS DOCTORS APPOINTMENTS MEDICAL_RECORDS PRESCRIPTIONS NOTIFICATIONS"
+ID_ALLOCATION_SIZE=50
+ID_SEQUENCE_MIN_START=10000
+
 # PID files
 DERBY_PID_FILE="$PROJECT_ROOT/.derby.pid"
 GLASSFISH_PID_FILE="$PROJECT_ROOT/.glassfish.pid"
@@ -160,9 +165,14 @@ create_database() {
 connect 'jdbc:derby://$DB_HOST:$DB_PORT/$DB_NAME;create=true';
 run '$PROJECT_ROOT/db/migrations/V001__create_schema.sql';
 run '$PROJECT_ROOT/db/migrations/V002__create_indices.sql';
+run '$PROJECT_ROOT/db/migrations/V004__add_appointment_version.sql';
+run '$PROJECT_ROOT/db/migrations/V005__pooled_id_sequences.sql';
+run '$PROJECT_ROOT/db/migrations/V006__keyset_pagination_indices.sql';
 exit;
 EOF
         
+        create_id_sequences
+        
         print_success "Database schema created"
     else
         print_warning "Schema creation script not found"
@@ -171,6 +181,51 @@ EOF
     echo ""
 }
 
+create_id_sequences() {
+    local table row max_id exists start
+    
+    print_info "Creating id sequences..."
+    
+    for table in $ID_SEQUENCE_TABLES; do
+        # ij reports a failed statement and carries on, so read the state first
+        # and only issue DDL that is known to apply
+        row=$(java -jar "$DERBY_HOME/lib/derbyrun.jar" ij <<EOF 2>&1 | tee -a "$PROJECT_ROOT/db-setup.log" | grep '^ID_STATE' || true
+connect 'jdbc:derby://$DB_HOST:$DB_PORT/$DB_NAME';
+SELECT 'ID_STATE', (SELECT COALESCE(MAX(id), 0) FROM $table), (SELECT COUNT(*) FROM SYS.SYSSEQUENCES WHERE SEQUENCENAME = '${table}_SEQ') FROM SYSIBM.SYSDUMMY1;
+exit;
+EOF
+)
+        if [ -z "$row" ]; then
+            print_error "Could not read ids of $table, see $PROJECT_ROOT/db-setup.log"
+            exit 1
+        fi
+        
+        max_id=$(echo "$row" | cut -d'|' -f2 | tr -d ' ')
+        exists=$(echo "$row" | cut -d'|' -f3 | tr -d ' ')
+        if [ "$exists" != "0" ]; then
+            continue
+        fi
+        
+        # EclipseLink treats each sequence value as the last id of a block, so
+        # the first id handed out is START WITH - ID_ALLOCATION_SIZE + 1. Keep
+        # that above MAX(id), and above the ids seed scripts insert explicitly.
+        start=$((max_id + ID_ALLOCATION_SIZE))
+        if [ "$start" -lt "$ID_SEQUENCE_MIN_START" ]; then
+            start=$ID_SEQUENCE_MIN_START
+        fi
+        
+        if java -jar "$DERBY_HOME/lib/derbyrun.jar" ij <<EOF 2>&1 | tee -a "$PROJECT_ROOT/db-setup.log" | grep 'ERROR [0-9A-Z]\{5\}:' > /dev/null
+connect 'jdbc:derby://$DB_HOST:$DB_PORT/$DB_NAME';
+CREATE SEQUENCE ${table}_SEQ AS BIGINT START WITH $start INCREMENT BY $ID_ALLOCATION_SIZE;
+exit;
+EOF
+        then
+            print_error "Could not create ${table}_SEQ, see $PROJECT_ROOT/db-setup.log"
+            exit 1
+        fi
+    done
+}
+
 seed_database() {
     print_header "Seeding Database"
     
@@ -37,6 +37,13 @@ public final class AppConstants {
     public static final int MAX_PAGE_SIZE = 100;
     public static final int DEFAULT_PAGE_NUMBER = 1;
     
+    // ===================================
+    // Search Settings
+    // ===================================
+    public static final double SEARCH_MIN_SIMILARITY = 0.3; // share of query trigrams a match must contain
+    public static final int SEARCH_MIN_PHONE_DIGITS = 3; // digits before a term is matched against phones
+    public static final int MEDICATION_COMPLETIONS = 10; // medication suggestions per prefix
+    
     // ===================================
     // Appointment Settings
     // ===================================
@@ -44,6 +51,9 @@ public final class AppConstants {
     public static final int MIN_APPOINTMENT_DURATION = 15; // minutes
     public static final int MAX_APPOINTMENT_DURATION = 120; // minutes
     public static final int APPOINTMENT_REMINDER_HOURS = 24; // hours before
+    public static final int MAX_SLOT_SEARCH_DAYS = 31; // days per slot search
+    public static final int DEFAULT_SLOT_SEARCH_LIMIT = 10;
+    public static final int MAX_RECURRING_OCCURRENCES = 52; // one year of weekly visits
     
     // ===================================
     // Business Hours
@@ -67,6 +77,9 @@ public final class AppConstants {
     public static final int PASSWORD_MIN_LENGTH = 8;
     public static final int PASSWORD_MAX_LENGTH = 50;
     public static final int BCRYPT_STRENGTH = 10;
+    public static final int PASSWORD_HASH_QUEUE_CAPACITY = 64; // hashes waiting for a hashing thread
+    public static final long PASSWORD_HASH_TIMEOUT_MS = 5000; // 5 seconds, queueing included
+    public static final int PASSWORD_HASH_LATENCY_SAMPLES = 1024; // recent hashes behind the percentiles
     public static final String JWT_ISSUER = "healthcare-system";
     public static final long JWT_EXPIRATION_MS = 86400000; // 24 hours
     
@@ -91,6 +104,9 @@ public final class AppConstants {
     public static final String DB_JNDI_NAME = "jdbc/HealthcareDB";
     public static final int DB_CONNECTION_TIMEOUT = 30; // seconds
     public static final int DB_MAX_POOL_SIZE = 20;
+    public static final int ID_ALLOCATION_SIZE = 50; // ids reserved per sequence round trip
+    public static final int STREAM_FETCH_SIZE = 500; // rows per JDBC round trip when streaming
+    public static final int STREAM_CLEAR_INTERVAL = 1000; // streamed rows between persistence context clears
     
     // ===================================
     // Email Settings
@@ -105,6 +121,7 @@ public final class AppConstants {
     // ===================================
     public static final int MAX_UNREAD_NOTIFICATIONS = 50;
     public static final int NOTIFICATION_RETENTION_DAYS = 30;
+    public static final int BROADCAST_CHUNK_SIZE = 1000; // recipients per broadcast transaction
     
     // ===================================
     // API Settings
@@ -112,12 +129,14 @@ public final class AppConstants {
     public static final String API_BASE_PATH = "/api";
     public static final String API_VERSION = "v1";
     public static final int API_RATE_LIMIT = 100; // requests per minute
+    public static final int API_RATE_LIMIT_MAX_KEYS = 100000; // callers tracked per limiter before idle ones are evicted
     
     // ===================================
     // Cache Settings
     // ===================================
     public static final int CACHE_EXPIRATION_SECONDS = 300; // 5 minutes
     public static final int MAX_CACHE_SIZE = 1000;
+    public static final int SCHEDULE_INDEX_MAX_DAYS = 50000; // doctor-days held by the schedule index
     
     // ===================================
     // Error Messages
@@ -127,6 +146,7 @@ public final class AppConstants {
     public static final String ERROR_INVALID_PHONE = "Invalid phone number format";
     public static final String ERROR_PASSWORD_TOO_SHORT = "Password must be at least 8 characters";
     public static final String ERROR_UNAUTHORIZED = "You are not authorized to perform this action";
+    public static final String ERROR_ACCOUNT_LOCKED = "Too many failed login attempts, please try again later";
     public static final String ERROR_NOT_FOUND = "The requested resource was not found";
     public static final String ERROR_INTERNAL_SERVER = "An internal server error occurred";
     
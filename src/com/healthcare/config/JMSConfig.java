@@ -47,6 +47,8 @@ public final class JMSConfig {
     public static final String PROPERTY_PRIORITY = "priority";
     public static final String PROPERTY_TIMESTAMP = "timestamp";
     public static final String PROPERTY_SENDER = "sender";
+    public static final String PROPERTY_NODE_ID = "nodeId";
+    public static final String PROPERTY_DELIVERY_ATTEMPT = "deliveryAttempt";
     
     // ===================================
     // Message Types
@@ -57,6 +59,7 @@ public final class JMSConfig {
     public static final String TYPE_PRESCRIPTION_READY = "PRESCRIPTION_READY";
     public static final String TYPE_TEST_RESULTS = "TEST_RESULTS_AVAILABLE";
     public static final String TYPE_SYSTEM_ALERT = "SYSTEM_ALERT";
+    public static final String TYPE_CACHE_INVALIDATION = "CACHE_INVALIDATION";
     
     // ===================================
     // Priority Levels
@@ -78,6 +81,11 @@ public final class JMSConfig {
     public static final int DELIVERY_MODE_PERSISTENT = 2;
     public static final int DELIVERY_MODE_NON_PERSISTENT = 1;
     public static final boolean DEFAULT_PERSISTENT = true;
+    public static final int NOTIFICATION_BATCH_SIZE = 50; // events written per MDB transaction
+    public static final int NOTIFICATION_MAX_ATTEMPTS = 5; // writes of an event before it is discarded
+    public static final long NOTIFICATION_RETRY_DELAY_MS = 30000; // delay before a failed event is retried, per attempt
+    public static final int INVALIDATION_BATCH_SIZE = 500; // entity changes per invalidation message
+    public static final long INVALIDATION_COALESCE_MS = 200; // window over which changes are batched
     
     // ===================================
     // Connection Pool Settings
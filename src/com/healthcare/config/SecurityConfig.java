@@ -74,6 +74,9 @@ public final class SecurityConfig {
     public static final int MAX_LOGIN_ATTEMPTS = 5;
     public static final int LOCKOUT_DURATION_MINUTES = 30;
     public static final boolean ENABLE_ACCOUNT_LOCKOUT = true;
+    public static final int MAX_LOGIN_ATTEMPTS_PER_IP = 50; // failures from one client IP, any accounts
+    public static final int LOGIN_ATTEMPT_BUCKETS = 6; // the lockout window decays in 5 minute steps
+    public static final int LOGIN_ATTEMPT_SLOTS = 4096; // counters per table; a power of two
     
     // ===================================
     // Session Security
@@ -86,13 +89,26 @@ public final class SecurityConfig {
     // ===================================
     // JWT Configuration
     // ===================================
-    public static final String JWT_SECRET_KEY = "healthcare-system-secret-key-change-in-production";
+    public static final String JWT_SECRET_ENV = "JWT_SECRET"; // environment variable holding the signing secret
+    public static final String JWT_SECRET_JNDI = "java:comp/env/jwt/secret"; // used when the variable is not set
+    public static final int JWT_SECRET_MIN_BYTES = 32; // HS256 keys shorter than the hash are brute-forceable
+    public static final String[] JWT_PLACEHOLDER_SECRETS = { // shipped defaults, refused at startup
+        "healthcare-system-secret-key-change-in-production",
+        "your-secret-key-change-this-in-production"
+    };
     public static final String JWT_ISSUER = "healthcare-system";
     public static final String JWT_AUDIENCE = "healthcare-users";
     public static final long JWT_EXPIRATION_MS = 86400000; // 24 hours
     public static final long JWT_REFRESH_EXPIRATION_MS = 604800000; // 7 days
     public static final String JWT_HEADER = "Authorization";
     public static final String JWT_PREFIX = "Bearer ";
+    public static final String JWT_KEY_ID = "hs256-1"; // kid of the JWT_SECRET key; rotate keys with new ids
+    public static final String JWT_ALGORITHM = "HS256";
+    public static final String JWT_MAC_ALGORITHM = "HmacSHA256";
+    public static final int JWT_VERIFIED_CACHE_SIZE = 4096; // verified tokens remembered; a power of two
+    public static final long JWT_CLOCK_SKEW_MS = 30000; // 30 seconds
+    public static final long PRINCIPAL_CACHE_TTL_MS = 60000; // 1 minute; user changes on other nodes show within it
+    public static final int PRINCIPAL_CACHE_MAX_SIZE = 10000;
     
     // ===================================
     // CORS Configuration
@@ -40,6 +40,22 @@ public class AppointmentDTO implements Serializable {
         this.appointmentTime = appointmentTime;
     }
     
+    /**
+     * List view projection, used by JPQL constructor expressions.
+     * Notes are left out as they live in a CLOB column.
+     */
+    public AppointmentDTO(Long id, Long patientId, String patientName, Long doctorId, String doctorName,
+                          String doctorSpecialization, LocalDate appointmentDate, LocalTime appointmentTime,
+                          Integer durationMinutes, AppointmentStatus status, String reason) {
+        this(id, patientId, doctorId, appointmentDate, appointmentTime);
+        this.patientName = patientName;
+        this.doctorName = doctorName;
+        this.doctorSpecialization = doctorSpecialization;
+        this.durationMinutes = durationMinutes;
+        this.status = status;
+        this.reason = reason;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
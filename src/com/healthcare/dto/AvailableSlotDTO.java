@@ -0,0 +1,97 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object for a free, bookable appointment slot of a doctor.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class AvailableSlotDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private LocalDate date;
+    private LocalTime time;
+    private Integer durationMinutes;
+    
+    // Constructors
+    public AvailableSlotDTO() {
+    }
+    
+    public AvailableSlotDTO(Long doctorId, String doctorName, String specialization,
+                            LocalDate date, LocalTime time, Integer durationMinutes) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.specialization = specialization;
+        this.date = date;
+        this.time = time;
+        this.durationMinutes = durationMinutes;
+    }
+    
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+    
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+    
+    public String getDoctorName() {
+        return doctorName;
+    }
+    
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+    
+    public String getSpecialization() {
+        return specialization;
+    }
+    
+    public void setSpecialization(String specialization) {
+        this.specialization = specialization;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public LocalTime getTime() {
+        return time;
+    }
+    
+    public void setTime(LocalTime time) {
+        this.time = time;
+    }
+    
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+    
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+    
+    @Override
+    public String toString() {
+        return "AvailableSlotDTO{" +
+                "doctorId=" + doctorId +
+                ", doctorName='" + doctorName + '\'' +
+                ", date=" + date +
+                ", time=" + time +
+                ", durationMinutes=" + durationMinutes +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.healthcare.dto;
+
+import com.healthcare.entity.UserRole;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the progress of a system notification broadcast.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class BroadcastStatusDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_FAILED = "FAILED";
+    
+    private String id;
+    private UserRole role;
+    private String title;
+    private String state;
+    private long totalRecipients;
+    private long sentCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    // Constructors
+    public BroadcastStatusDTO() {
+    }
+    
+    public BroadcastStatusDTO(String id, UserRole role, String title, String state,
+                              long totalRecipients, long sentCount,
+                              LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.id = id;
+        this.role = role;
+        this.title = title;
+        this.state = state;
+        this.totalRecipients = totalRecipients;
+        this.sentCount = sentCount;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+    
+    // Business methods
+    public int getPercentComplete() {
+        if (totalRecipients <= 0) {
+            return STATE_RUNNING.equals(state) ? 0 : 100;
+        }
+        return (int) Math.min(100, sentCount * 100 / totalRecipients);
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public UserRole getRole() {
+        return role;
+    }
+    
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getState() {
+        return state;
+    }
+    
+    public void setState(String state) {
+        this.state = state;
+    }
+    
+    public long getTotalRecipients() {
+        return totalRecipients;
+    }
+    
+    public void setTotalRecipients(long totalRecipients) {
+        this.totalRecipients = totalRecipients;
+    }
+    
+    public long getSentCount() {
+        return sentCount;
+    }
+    
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    @Override
+    public String toString() {
+        return "BroadcastStatusDTO{" +
+                "id='" + id + '\'' +
+                ", role=" + role +
+                ", state='" + state + '\'' +
+                ", sentCount=" + sentCount +
+                ", totalRecipients=" + totalRecipients +
+                '}';
+    }
+}
\ No newline at end of file
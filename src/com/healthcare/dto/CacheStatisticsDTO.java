@@ -0,0 +1,101 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object for the hit/miss statistics of one entity cache region.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class CacheStatisticsDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private String name;
+    private int size;
+    private long hits;
+    private long misses;
+    private long expirations;
+    private long evictions;
+    
+    // Constructors
+    public CacheStatisticsDTO() {
+    }
+    
+    public CacheStatisticsDTO(String name, int size, long hits, long misses, long expirations, long evictions) {
+        this.name = name;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.expirations = expirations;
+        this.evictions = evictions;
+    }
+    
+    // Business methods
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+    
+    public long getExpirations() {
+        return expirations;
+    }
+    
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+    
+    @Override
+    public String toString() {
+        return "CacheStatisticsDTO{" +
+                "name='" + name + '\'' +
+                ", size=" + size +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", expirations=" + expirations +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
\ No newline at end of file
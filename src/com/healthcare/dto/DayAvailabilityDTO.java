@@ -0,0 +1,88 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one day of a doctor's availability calendar.
+ * busySlots is the raw slot bitset: bit i covers the slotMinutes-long slot
+ * starting i * slotMinutes after midnight.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class DayAvailabilityDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private LocalDate date;
+    private boolean workingDay;
+    private int slotMinutes;
+    private long[] busySlots;
+    private List<LocalTime> freeSlots;
+    
+    // Constructors
+    public DayAvailabilityDTO() {
+    }
+    
+    public DayAvailabilityDTO(LocalDate date, boolean workingDay, int slotMinutes,
+                              long[] busySlots, List<LocalTime> freeSlots) {
+        this.date = date;
+        this.workingDay = workingDay;
+        this.slotMinutes = slotMinutes;
+        this.busySlots = busySlots;
+        this.freeSlots = freeSlots;
+    }
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public boolean isWorkingDay() {
+        return workingDay;
+    }
+    
+    public void setWorkingDay(boolean workingDay) {
+        this.workingDay = workingDay;
+    }
+    
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+    
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+    
+    public long[] getBusySlots() {
+        return busySlots;
+    }
+    
+    public void setBusySlots(long[] busySlots) {
+        this.busySlots = busySlots;
+    }
+    
+    public List<LocalTime> getFreeSlots() {
+        return freeSlots;
+    }
+    
+    public void setFreeSlots(List<LocalTime> freeSlots) {
+        this.freeSlots = freeSlots;
+    }
+    
+    @Override
+    public String toString() {
+        return "DayAvailabilityDTO{" +
+                "date=" + date +
+                ", workingDay=" + workingDay +
+                ", freeSlots=" + (freeSlots != null ? freeSlots.size() : 0) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a doctor directory search with facet counts.
+ * Each facet is counted over the doctors matching every other filter, so a
+ * count tells how many results choosing that value would give.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class DoctorDirectoryDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private List<DoctorDTO> doctors;
+    private Map<String, Integer> specializations;
+    private Map<String, Integer> availability;
+    private Map<String, Integer> experience;
+    private Map<String, Integer> fees;
+    
+    // Constructors
+    public DoctorDirectoryDTO() {
+    }
+    
+    public DoctorDirectoryDTO(List<DoctorDTO> doctors, Map<String, Integer> specializations,
+                              Map<String, Integer> availability, Map<String, Integer> experience,
+                              Map<String, Integer> fees) {
+        this.doctors = doctors;
+        this.specializations = specializations;
+        this.availability = availability;
+        this.experience = experience;
+        this.fees = fees;
+    }
+    
+    // Business methods
+    public int getTotal() {
+        return doctors != null ? doctors.size() : 0;
+    }
+    
+    // Getters and Setters
+    public List<DoctorDTO> getDoctors() {
+        return doctors;
+    }
+    
+    public void setDoctors(List<DoctorDTO> doctors) {
+        this.doctors = doctors;
+    }
+    
+    public Map<String, Integer> getSpecializations() {
+        return specializations;
+    }
+    
+    public void setSpecializations(Map<String, Integer> specializations) {
+        this.specializations = specializations;
+    }
+    
+    public Map<String, Integer> getAvailability() {
+        return availability;
+    }
+    
+    public void setAvailability(Map<String, Integer> availability) {
+        this.availability = availability;
+    }
+    
+    public Map<String, Integer> getExperience() {
+        return experience;
+    }
+    
+    public void setExperience(Map<String, Integer> experience) {
+        this.experience = experience;
+    }
+    
+    public Map<String, Integer> getFees() {
+        return fees;
+    }
+    
+    public void setFees(Map<String, Integer> fees) {
+        this.fees = fees;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.healthcare.dto;
+
+import com.healthcare.entity.NotificationType;
+import java.io.Serializable;
+
+/**
+ * Compact notification event published to the notification queue.
+ * Carries only the recipient's id and the rendered text, so the consumer can
+ * write the notification without loading the user or the referenced entity.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class NotificationEvent implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private Long userId;
+    private NotificationType type;
+    private String title;
+    private String message;
+    private Long referenceId;
+    private String referenceType;
+    
+    // Constructors
+    public NotificationEvent() {
+    }
+    
+    public NotificationEvent(Long userId, NotificationType type, String title, String message) {
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+    }
+    
+    public NotificationEvent(Long userId, NotificationType type, String title, String message,
+                             Long referenceId, String referenceType) {
+        this(userId, type, title, message);
+        this.referenceId = referenceId;
+        this.referenceType = referenceType;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public NotificationType getType() {
+        return type;
+    }
+    
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public Long getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(Long referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public String getReferenceType() {
+        return referenceType;
+    }
+    
+    public void setReferenceType(String referenceType) {
+        this.referenceType = referenceType;
+    }
+    
+    @Override
+    public String toString() {
+        return "NotificationEvent{" +
+                "userId=" + userId +
+                ", type=" + type +
+                ", title='" + title + '\'' +
+                ", referenceId=" + referenceId +
+                ", referenceType='" + referenceType + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
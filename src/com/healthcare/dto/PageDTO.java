@@ -0,0 +1,80 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The next page is requested with nextToken, an opaque continuation token
+ * encoding the sort key of the last item; it is null on the last page.
+ *
+ * @param <T> item type
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class PageDTO<T> implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private List<T> items;
+    private String nextToken;
+    private boolean hasMore;
+    
+    // Constructors
+    public PageDTO() {
+    }
+    
+    public PageDTO(List<T> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+        this.hasMore = nextToken != null;
+    }
+    
+    // Business methods
+    
+    /**
+     * Same page with every item converted, keeping the continuation token
+     */
+    public <R> PageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new PageDTO<>(mapped, nextToken);
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextToken() {
+        return nextToken;
+    }
+    
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    @Override
+    public String toString() {
+        return "PageDTO{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object for password hashing load and latency.
+ * Latencies are in milliseconds over the most recent hashes; wait latencies
+ * include time spent queueing for a hashing thread.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class PasswordHashingStatisticsDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private int threads;
+    private int queued;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+    private double hashP50;
+    private double hashP90;
+    private double hashP99;
+    private double hashMax;
+    private double waitP50;
+    private double waitP90;
+    private double waitP99;
+    private double waitMax;
+    
+    // Constructors
+    public PasswordHashingStatisticsDTO() {
+    }
+    
+    public PasswordHashingStatisticsDTO(int threads, int queued, long completed, long rejected, long timedOut,
+                                        double[] hashPercentiles, double[] waitPercentiles) {
+        this.threads = threads;
+        this.queued = queued;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.timedOut = timedOut;
+        this.hashP50 = hashPercentiles[0];
+        this.hashP90 = hashPercentiles[1];
+        this.hashP99 = hashPercentiles[2];
+        this.hashMax = hashPercentiles[3];
+        this.waitP50 = waitPercentiles[0];
+        this.waitP90 = waitPercentiles[1];
+        this.waitP99 = waitPercentiles[2];
+        this.waitMax = waitPercentiles[3];
+    }
+    
+    // Getters and Setters
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getQueued() {
+        return queued;
+    }
+    
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+    
+    public long getCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public long getTimedOut() {
+        return timedOut;
+    }
+    
+    public void setTimedOut(long timedOut) {
+        this.timedOut = timedOut;
+    }
+    
+    public double getHashP50() {
+        return hashP50;
+    }
+    
+    public void setHashP50(double hashP50) {
+        this.hashP50 = hashP50;
+    }
+    
+    public double getHashP90() {
+        return hashP90;
+    }
+    
+    public void setHashP90(double hashP90) {
+        this.hashP90 = hashP90;
+    }
+    
+    public double getHashP99() {
+        return hashP99;
+    }
+    
+    public void setHashP99(double hashP99) {
+        this.hashP99 = hashP99;
+    }
+    
+    public double getHashMax() {
+        return hashMax;
+    }
+    
+    public void setHashMax(double hashMax) {
+        this.hashMax = hashMax;
+    }
+    
+    public double getWaitP50() {
+        return waitP50;
+    }
+    
+    public void setWaitP50(double waitP50) {
+        this.waitP50 = waitP50;
+    }
+    
+    public double getWaitP90() {
+        return waitP90;
+    }
+    
+    public void setWaitP90(double waitP90) {
+        this.waitP90 = waitP90;
+    }
+    
+    public double getWaitP99() {
+        return waitP99;
+    }
+    
+    public void setWaitP99(double waitP99) {
+        this.waitP99 = waitP99;
+    }
+    
+    public double getWaitMax() {
+        return waitMax;
+    }
+    
+    public void setWaitMax(double waitMax) {
+        this.waitMax = waitMax;
+    }
+    
+    @Override
+    public String toString() {
+        return "PasswordHashingStatisticsDTO{" +
+                "threads=" + threads +
+                ", queued=" + queued +
+                ", completed=" + completed +
+                ", rejected=" + rejected +
+                ", timedOut=" + timedOut +
+                ", hashP99=" + hashP99 +
+                ", waitP99=" + waitP99 +
+                '}';
+    }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.healthcare.dto;
 
+import com.healthcare.entity.BloodGroup;
 import com.healthcare.entity.Gender;
+import com.healthcare.entity.UserRole;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.Period;
 
 /**
  * Data Transfer Object for Patient entity.
@@ -41,6 +44,23 @@ public class PatientDTO implements Serializable {
         this.gender = gender;
     }
     
+    /**
+     * Export projection, used by JPQL constructor expressions.
+     * Medical history, allergies and medications are left out as they live in CLOB columns.
+     */
+    public PatientDTO(Long id, Long userId, String email, String firstName, String lastName, String phone,
+                      Boolean isActive, LocalDate dateOfBirth, Gender gender, String city, String state,
+                      String postalCode, BloodGroup bloodGroup) {
+        this(id, new UserDTO(userId, email, firstName, lastName, UserRole.PATIENT), dateOfBirth, gender);
+        this.user.setPhone(phone);
+        this.user.setIsActive(isActive);
+        this.city = city;
+        this.state = state;
+        this.postalCode = postalCode;
+        this.bloodGroup = bloodGroup != null ? bloodGroup.name() : null;
+        this.age = dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : 0;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -42,6 +42,26 @@ public class PrescriptionDTO implements Serializable {
         this.durationDays = durationDays;
     }
     
+    /**
+     * List view projection, used by JPQL constructor expressions.
+     * Instructions and notes are left out as they live in CLOB columns.
+     */
+    public PrescriptionDTO(Long id, Long patientId, String patientName, Long doctorId, String doctorName,
+                           String medicationName, String dosage, String frequency, Integer durationDays,
+                           Integer quantity, LocalDate prescribedDate, LocalDate startDate, LocalDate endDate,
+                           Boolean isActive) {
+        this(id, medicationName, dosage, frequency, durationDays);
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.quantity = quantity;
+        this.prescribedDate = prescribedDate;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.isActive = isActive;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
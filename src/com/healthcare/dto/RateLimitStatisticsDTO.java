@@ -0,0 +1,107 @@
+package com.healthcare.dto;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object for API rate limiter counters, per signed-in user
+ * and per anonymous client IP.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class RateLimitStatisticsDTO implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private int requestsPerMinute;
+    private int trackedUsers;
+    private long userRejections;
+    private long userEvictions;
+    private int trackedClients;
+    private long clientRejections;
+    private long clientEvictions;
+    
+    // Constructors
+    public RateLimitStatisticsDTO() {
+    }
+    
+    public RateLimitStatisticsDTO(int requestsPerMinute,
+                                  int trackedUsers, long userRejections, long userEvictions,
+                                  int trackedClients, long clientRejections, long clientEvictions) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.trackedUsers = trackedUsers;
+        this.userRejections = userRejections;
+        this.userEvictions = userEvictions;
+        this.trackedClients = trackedClients;
+        this.clientRejections = clientRejections;
+        this.clientEvictions = clientEvictions;
+    }
+    
+    // Getters and Setters
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+    
+    public void setRequestsPerMinute(int requestsPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+    }
+    
+    public int getTrackedUsers() {
+        return trackedUsers;
+    }
+    
+    public void setTrackedUsers(int trackedUsers) {
+        this.trackedUsers = trackedUsers;
+    }
+    
+    public long getUserRejections() {
+        return userRejections;
+    }
+    
+    public void setUserRejections(long userRejections) {
+        this.userRejections = userRejections;
+    }
+    
+    public long getUserEvictions() {
+        return userEvictions;
+    }
+    
+    public void setUserEvictions(long userEvictions) {
+        this.userEvictions = userEvictions;
+    }
+    
+    public int getTrackedClients() {
+        return trackedClients;
+    }
+    
+    public void setTrackedClients(int trackedClients) {
+        this.trackedClients = trackedClients;
+    }
+    
+    public long getClientRejections() {
+        return clientRejections;
+    }
+    
+    public void setClientRejections(long clientRejections) {
+        this.clientRejections = clientRejections;
+    }
+    
+    public long getClientEvictions() {
+        return clientEvictions;
+    }
+    
+    public void setClientEvictions(long clientEvictions) {
+        this.clientEvictions = clientEvictions;
+    }
+    
+    @Override
+    public String toString() {
+        return "RateLimitStatisticsDTO{" +
+                "requestsPerMinute=" + requestsPerMinute +
+                ", trackedUsers=" + trackedUsers +
+                ", userRejections=" + userRejections +
+                ", trackedClients=" + trackedClients +
+                ", clientRejections=" + clientRejections +
+                '}';
+    }
+}
\ No newline at end of file
@@ -38,6 +38,13 @@ public class UserDTO implements Serializable {
         this.role = role;
     }
     
+    public UserDTO(Long id, String email, String firstName, String lastName, String phone,
+                   UserRole role, Boolean isActive) {
+        this(id, email, firstName, lastName, role);
+        this.phone = phone;
+        this.isActive = isActive;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
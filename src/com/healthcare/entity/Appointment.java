@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -16,10 +17,63 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "APPOINTMENTS")
+@NamedEntityGraphs({
+    // List views and notification texts: participant names and specialization
+    @NamedEntityGraph(
+        name = "Appointment.participants",
+        attributeNodes = {
+            @NamedAttributeNode(value = "patient", subgraph = "patient"),
+            @NamedAttributeNode(value = "doctor", subgraph = "doctor")
+        },
+        subgraphs = {
+            @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user")),
+            @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("user"))
+        }
+    ),
+    // Detail view: participants plus who cancelled
+    @NamedEntityGraph(
+        name = "Appointment.detail",
+        attributeNodes = {
+            @NamedAttributeNode(value = "patient", subgraph = "patient"),
+            @NamedAttributeNode(value = "doctor", subgraph = "doctor"),
+            @NamedAttributeNode("cancelledBy")
+        },
+        subgraphs = {
+            @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user")),
+            @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("user"))
+        }
+    ),
+    // A doctor's day schedule: the doctor is known, only patient names are shown
+    @NamedEntityGraph(
+        name = "Appointment.schedule",
+        attributeNodes = @NamedAttributeNode(value = "patient", subgraph = "patient"),
+        subgraphs = @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user"))
+    )
+})
 @NamedQueries({
     @NamedQuery(
         name = "Appointment.findAll",
-        query = "SELECT a FROM Appointment a ORDER BY a.appointmentDate DESC, a.appointmentTime DESC"
+        query = "SELECT a FROM Appointment a ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC"
+    ),
+    @NamedQuery(
+        name = "Appointment.findPageAfter",
+        query = "SELECT a FROM Appointment a WHERE a.appointmentDate <= :date AND (a.appointmentDate < :date OR (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id))) ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC"
+    ),
+    @NamedQuery(
+        name = "Appointment.listAll",
+        query = Appointment.LIST_SELECT + "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC"
+    ),
+    @NamedQuery(
+        name = "Appointment.listPageAfter",
+        query = Appointment.LIST_SELECT + "WHERE a.appointmentDate <= :date AND (a.appointmentDate < :date OR (a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id))) ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC"
+    ),
+    @NamedQuery(
+        name = "Appointment.listByPatient",
+        query = Appointment.LIST_SELECT + "WHERE p.id = :patientId ORDER BY a.appointmentDate DESC, a.appointmentTime DESC"
+    ),
+    @NamedQuery(
+        name = "Appointment.listByDoctor",
+        query = Appointment.LIST_SELECT + "WHERE d.id = :doctorId ORDER BY a.appointmentDate DESC, a.appointmentTime DESC"
     ),
     @NamedQuery(
         name = "Appointment.findByPatient",
@@ -44,24 +98,43 @@ import java.util.Objects;
     @NamedQuery(
         name = "Appointment.findDoctorSchedule",
         query = "SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate = :date ORDER BY a.appointmentTime"
+    ),
+    @NamedQuery(
+        name = "Appointment.findDoctorScheduleSlots",
+        query = "SELECT a.id, a.appointmentTime, a.durationMinutes FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate = :date AND a.status <> com.healthcare.entity.AppointmentStatus.CANCELLED ORDER BY a.appointmentTime"
+    ),
+    @NamedQuery(
+        name = "Appointment.findScheduleSlotsInRange",
+        query = "SELECT a.doctor.id, a.appointmentDate, a.id, a.appointmentTime, a.durationMinutes FROM Appointment a WHERE a.doctor.id IN :doctorIds AND a.appointmentDate BETWEEN :fromDate AND :toDate AND a.status <> com.healthcare.entity.AppointmentStatus.CANCELLED"
     )
 })
 public class Appointment implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
+    /**
+     * List view projection; joins only the names it needs instead of loading the entity graph.
+     * Repositories append their own WHERE and ORDER BY clauses.
+     */
+    public static final String LIST_SELECT =
+        "SELECT new com.healthcare.dto.AppointmentDTO(" +
+        "a.id, p.id, CONCAT(pu.firstName, ' ', pu.lastName), d.id, CONCAT(du.firstName, ' ', du.lastName), " +
+        "d.specialization, a.appointmentDate, a.appointmentTime, a.durationMinutes, a.status, a.reason) " +
+        "FROM Appointment a JOIN a.patient p JOIN p.user pu JOIN a.doctor d JOIN d.user du ";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointmentSeq")
+    @SequenceGenerator(name = "appointmentSeq", sequenceName = "APPOINTMENTS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "Patient is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
     
     @NotNull(message = "Doctor is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
     
@@ -109,6 +182,10 @@ public class Appointment implements Serializable {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public Appointment() {
         this.createdAt = LocalDateTime.now();
@@ -248,6 +325,14 @@ public class Appointment implements Serializable {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Utility methods
     public LocalDateTime getAppointmentDateTime() {
         if (appointmentDate != null && appointmentTime != null) {
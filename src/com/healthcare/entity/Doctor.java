@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -15,11 +16,17 @@ import java.util.Objects;
  * @version 1.0
  */
 @Entity
+@Cacheable
 @Table(name = "DOCTORS")
+@NamedEntityGraph(name = "Doctor.withUser", attributeNodes = @NamedAttributeNode("user"))
 @NamedQueries({
     @NamedQuery(
         name = "Doctor.findAll",
-        query = "SELECT d FROM Doctor d ORDER BY d.createdAt DESC"
+        query = "SELECT d FROM Doctor d ORDER BY d.createdAt DESC, d.id DESC"
+    ),
+    @NamedQuery(
+        name = "Doctor.findPageAfter",
+        query = "SELECT d FROM Doctor d WHERE d.createdAt <= :createdAt AND (d.createdAt < :createdAt OR d.id < :id) ORDER BY d.createdAt DESC, d.id DESC"
     ),
     @NamedQuery(
         name = "Doctor.findByUserId",
@@ -51,12 +58,13 @@ public class Doctor implements Serializable {
     private static final long serialVersionUID = 1L;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctorSeq")
+    @SequenceGenerator(name = "doctorSeq", sequenceName = "DOCTORS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "User is required")
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     
@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -15,6 +16,17 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "MEDICAL_RECORDS")
+@NamedEntityGraph(
+    name = "MedicalRecord.participants",
+    attributeNodes = {
+        @NamedAttributeNode(value = "patient", subgraph = "patient"),
+        @NamedAttributeNode(value = "doctor", subgraph = "doctor")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user")),
+        @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("user"))
+    }
+)
 @NamedQueries({
     @NamedQuery(
         name = "MedicalRecord.findAll",
@@ -42,17 +54,18 @@ public class MedicalRecord implements Serializable {
     private static final long serialVersionUID = 1L;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medicalRecordSeq")
+    @SequenceGenerator(name = "medicalRecordSeq", sequenceName = "MEDICAL_RECORDS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "Patient is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
     
     @NotNull(message = "Doctor is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
     
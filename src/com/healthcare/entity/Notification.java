@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -34,6 +35,18 @@ import java.util.Objects;
     @NamedQuery(
         name = "Notification.countUnread",
         query = "SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false"
+    ),
+    @NamedQuery(
+        name = "Notification.countUnreadByUsers",
+        query = "SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.user.id IN :userIds AND n.isRead = false GROUP BY n.user.id"
+    ),
+    @NamedQuery(
+        name = "Notification.markAllRead",
+        query = "UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.user.id = :userId AND n.isRead = false"
+    ),
+    @NamedQuery(
+        name = "Notification.markReadCreatedBefore",
+        query = "UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.user.id = :userId AND n.isRead = false AND n.createdAt <= :createdBefore"
     )
 })
 public class Notification implements Serializable {
@@ -41,12 +54,13 @@ public class Notification implements Serializable {
     private static final long serialVersionUID = 1L;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notificationSeq")
+    @SequenceGenerator(name = "notificationSeq", sequenceName = "NOTIFICATIONS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "User is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
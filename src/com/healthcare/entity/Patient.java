@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -16,11 +17,17 @@ import java.util.Objects;
  * @version 1.0
  */
 @Entity
+@Cacheable
 @Table(name = "PATIENTS")
+@NamedEntityGraph(name = "Patient.withUser", attributeNodes = @NamedAttributeNode("user"))
 @NamedQueries({
     @NamedQuery(
         name = "Patient.findAll",
-        query = "SELECT p FROM Patient p ORDER BY p.createdAt DESC"
+        query = "SELECT p FROM Patient p ORDER BY p.createdAt DESC, p.id DESC"
+    ),
+    @NamedQuery(
+        name = "Patient.findPageAfter",
+        query = "SELECT p FROM Patient p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC"
     ),
     @NamedQuery(
         name = "Patient.findByUserId",
@@ -33,23 +40,30 @@ import java.util.Objects;
     @NamedQuery(
         name = "Patient.findByCity",
         query = "SELECT p FROM Patient p WHERE p.city = :city"
-    ),
-    @NamedQuery(
-        name = "Patient.searchByName",
-        query = "SELECT p FROM Patient p WHERE LOWER(p.user.firstName) LIKE LOWER(:name) OR LOWER(p.user.lastName) LIKE LOWER(:name)"
     )
 })
 public class Patient implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
+    /**
+     * Export projection; contact and demographic columns only, no CLOB history fields.
+     * Repositories append their own WHERE and ORDER BY clauses.
+     */
+    public static final String LIST_SELECT =
+        "SELECT new com.healthcare.dto.PatientDTO(" +
+        "p.id, u.id, u.email, u.firstName, u.lastName, u.phone, u.isActive, " +
+        "p.dateOfBirth, p.gender, p.city, p.state, p.postalCode, p.bloodGroup) " +
+        "FROM Patient p JOIN p.user u ";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patientSeq")
+    @SequenceGenerator(name = "patientSeq", sequenceName = "PATIENTS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "User is required")
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
     
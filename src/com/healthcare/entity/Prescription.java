@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -15,10 +16,57 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "PRESCRIPTIONS")
+@NamedEntityGraphs({
+    // List views and notification texts: participant names
+    @NamedEntityGraph(
+        name = "Prescription.participants",
+        attributeNodes = {
+            @NamedAttributeNode(value = "patient", subgraph = "patient"),
+            @NamedAttributeNode(value = "doctor", subgraph = "doctor")
+        },
+        subgraphs = {
+            @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user")),
+            @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("user"))
+        }
+    ),
+    // Detail view: participants plus the originating appointment
+    @NamedEntityGraph(
+        name = "Prescription.detail",
+        attributeNodes = {
+            @NamedAttributeNode(value = "patient", subgraph = "patient"),
+            @NamedAttributeNode(value = "doctor", subgraph = "doctor"),
+            @NamedAttributeNode("appointment")
+        },
+        subgraphs = {
+            @NamedSubgraph(name = "patient", attributeNodes = @NamedAttributeNode("user")),
+            @NamedSubgraph(name = "doctor", attributeNodes = @NamedAttributeNode("user"))
+        }
+    )
+})
 @NamedQueries({
     @NamedQuery(
         name = "Prescription.findAll",
-        query = "SELECT p FROM Prescription p ORDER BY p.prescribedDate DESC"
+        query = "SELECT p FROM Prescription p ORDER BY p.prescribedDate DESC, p.id DESC"
+    ),
+    @NamedQuery(
+        name = "Prescription.findPageAfter",
+        query = "SELECT p FROM Prescription p WHERE p.prescribedDate <= :date AND (p.prescribedDate < :date OR p.id < :id) ORDER BY p.prescribedDate DESC, p.id DESC"
+    ),
+    @NamedQuery(
+        name = "Prescription.listAll",
+        query = Prescription.LIST_SELECT + "ORDER BY rx.prescribedDate DESC, rx.id DESC"
+    ),
+    @NamedQuery(
+        name = "Prescription.listPageAfter",
+        query = Prescription.LIST_SELECT + "WHERE rx.prescribedDate <= :date AND (rx.prescribedDate < :date OR rx.id < :id) ORDER BY rx.prescribedDate DESC, rx.id DESC"
+    ),
+    @NamedQuery(
+        name = "Prescription.listByPatient",
+        query = Prescription.LIST_SELECT + "WHERE p.id = :patientId ORDER BY rx.prescribedDate DESC, rx.id DESC"
+    ),
+    @NamedQuery(
+        name = "Prescription.listByDoctor",
+        query = Prescription.LIST_SELECT + "WHERE d.id = :doctorId ORDER BY rx.prescribedDate DESC, rx.id DESC"
     ),
     @NamedQuery(
         name = "Prescription.findByPatient",
@@ -35,28 +83,36 @@ import java.util.Objects;
     @NamedQuery(
         name = "Prescription.findActive",
         query = "SELECT p FROM Prescription p WHERE p.patient.id = :patientId AND p.isActive = true ORDER BY p.prescribedDate DESC"
-    ),
-    @NamedQuery(
-        name = "Prescription.findByMedication",
-        query = "SELECT p FROM Prescription p WHERE LOWER(p.medicationName) LIKE LOWER(:medicationName) ORDER BY p.prescribedDate DESC"
     )
 })
 public class Prescription implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
+    /**
+     * List view projection; joins only the names it needs instead of loading the entity graph.
+     * Repositories append their own WHERE and ORDER BY clauses.
+     */
+    public static final String LIST_SELECT =
+        "SELECT new com.healthcare.dto.PrescriptionDTO(" +
+        "rx.id, p.id, CONCAT(pu.firstName, ' ', pu.lastName), d.id, CONCAT(du.firstName, ' ', du.lastName), " +
+        "rx.medicationName, rx.dosage, rx.frequency, rx.durationDays, rx.quantity, " +
+        "rx.prescribedDate, rx.startDate, rx.endDate, rx.isActive) " +
+        "FROM Prescription rx JOIN rx.patient p JOIN p.user pu JOIN rx.doctor d JOIN d.user du ";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prescriptionSeq")
+    @SequenceGenerator(name = "prescriptionSeq", sequenceName = "PRESCRIPTIONS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
     @NotNull(message = "Patient is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
     
     @NotNull(message = "Doctor is required")
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
     
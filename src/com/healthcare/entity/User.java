@@ -1,5 +1,6 @@
 package com.healthcare.entity;
 
+import com.healthcare.config.AppConstants;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -14,11 +15,16 @@ import java.util.Objects;
  * @version 1.0
  */
 @Entity
+@Cacheable
 @Table(name = "USERS")
 @NamedQueries({
     @NamedQuery(
         name = "User.findAll",
-        query = "SELECT u FROM User u ORDER BY u.createdAt DESC"
+        query = "SELECT u FROM User u ORDER BY u.createdAt DESC, u.id DESC"
+    ),
+    @NamedQuery(
+        name = "User.findPageAfter",
+        query = "SELECT u FROM User u WHERE u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.id < :id) ORDER BY u.createdAt DESC, u.id DESC"
     ),
     @NamedQuery(
         name = "User.findByEmail",
@@ -35,6 +41,10 @@ import java.util.Objects;
     @NamedQuery(
         name = "User.countByRole",
         query = "SELECT COUNT(u) FROM User u WHERE u.role = :role"
+    ),
+    @NamedQuery(
+        name = "User.findIdsByRoleAfter",
+        query = "SELECT u.id FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id"
     )
 })
 public class User implements Serializable {
@@ -42,7 +52,8 @@ public class User implements Serializable {
     private static final long serialVersionUID = 1L;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "userSeq")
+    @SequenceGenerator(name = "userSeq", sequenceName = "USERS_SEQ", allocationSize = AppConstants.ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
     
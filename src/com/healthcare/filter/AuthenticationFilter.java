@@ -0,0 +1,121 @@
+package com.healthcare.filter;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.config.SecurityConfig;
+import com.healthcare.repository.UserRepository;
+import com.healthcare.security.ApiRateLimiter;
+import com.healthcare.security.AuthenticatedPrincipal;
+import com.healthcare.security.JWTClaims;
+import com.healthcare.security.JWTProvider;
+import com.healthcare.security.PrincipalCache;
+import jakarta.inject.Inject;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Identifies the caller of each API request and enforces the API rate limit.
+ * A bearer token must verify, or the request is refused with 401; without
+ * one the signed-in session user, if any, is the caller.
+ * <p>
+ * Signed-in callers are limited per user, anonymous ones per client IP.
+ * Requests over the limit get 429 with a Retry-After header.
+ * <p>
+ * A signed-in caller is then resolved to an AuthenticatedPrincipal from
+ * PrincipalCache, so most requests never load the User; deleted users get
+ * 401 and deactivated ones 403. The principal is set as a request attribute
+ * for RoleChecker, along with the caller's id and role under
+ * SESSION_USER_ID_KEY and SESSION_USER_ROLE_KEY.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@WebFilter(urlPatterns = AppConstants.API_BASE_PATH + "/*")
+public class AuthenticationFilter extends HttpFilter {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private static final Logger LOGGER = Logger.getLogger(AuthenticationFilter.class.getName());
+    
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    
+    @Inject
+    private JWTProvider jwtProvider;
+    
+    @Inject
+    private ApiRateLimiter rateLimiter;
+    
+    @Inject
+    private PrincipalCache principalCache;
+    
+    @Inject
+    private UserRepository userRepository;
+    
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        Long userId = null;
+        long expiresAt = Long.MAX_VALUE;
+        
+        String header = request.getHeader(SecurityConfig.JWT_HEADER);
+        if (header != null && header.startsWith(SecurityConfig.JWT_PREFIX)) {
+            Optional<JWTClaims> claims = jwtProvider.verifyToken(header.substring(SecurityConfig.JWT_PREFIX.length()));
+            if (!claims.isPresent()) {
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token");
+                return;
+            }
+            userId = claims.get().getUserId();
+            expiresAt = claims.get().getExpiresAt();
+        } else {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                userId = (Long) session.getAttribute(AppConstants.SESSION_USER_ID_KEY);
+            }
+        }
+        
+        long waitNanos = userId != null
+            ? rateLimiter.acquireForUser(userId)
+            : rateLimiter.acquireForClient(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setHeader("Retry-After", Long.toString(retryAfter));
+            reject(response, SC_TOO_MANY_REQUESTS, "Rate limit exceeded, retry after " + retryAfter + " seconds");
+            return;
+        }
+        
+        if (userId != null) {
+            Optional<AuthenticatedPrincipal> principal =
+                principalCache.resolve(userId, expiresAt, userRepository::findById);
+            if (!principal.isPresent()) {
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, "Unknown user");
+                return;
+            }
+            if (!principal.get().isActive()) {
+                reject(response, HttpServletResponse.SC_FORBIDDEN, "User account is deactivated");
+                return;
+            }
+            request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal.get());
+            request.setAttribute(AppConstants.SESSION_USER_ID_KEY, userId);
+            request.setAttribute(AppConstants.SESSION_USER_ROLE_KEY, principal.get().getRole().name());
+        }
+        chain.doFilter(request, response);
+    }
+    
+    // Private helper methods
+    
+    private void reject(HttpServletResponse response, int status, String message) throws IOException {
+        LOGGER.fine("Rejected API request with " + status + ": " + message);
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
\ No newline at end of file
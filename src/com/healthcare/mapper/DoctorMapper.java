@@ -0,0 +1,42 @@
+package com.healthcare.mapper;
+
+import com.healthcare.dto.DoctorDTO;
+import com.healthcare.entity.Doctor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Mapper for converting Doctor entity to DoctorDTO.
+ * 
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class DoctorMapper {
+    
+    @Inject
+    private UserMapper userMapper;
+    
+    /**
+     * Convert Doctor entity to DoctorDTO
+     */
+    public DoctorDTO toDTO(Doctor doctor) {
+        if (doctor == null) {
+            return null;
+        }
+        
+        DoctorDTO dto = new DoctorDTO();
+        dto.setId(doctor.getId());
+        dto.setUser(userMapper.toDTO(doctor.getUser()));
+        dto.setSpecialization(doctor.getSpecialization());
+        dto.setLicenseNumber(doctor.getLicenseNumber());
+        dto.setYearsExperience(doctor.getYearsExperience());
+        dto.setQualification(doctor.getQualification());
+        dto.setConsultationFee(doctor.getConsultationFee());
+        dto.setAvailabilityStatus(doctor.getAvailabilityStatus());
+        dto.setApprovalStatus(doctor.getApprovalStatus());
+        dto.setBio(doctor.getBio());
+        
+        return dto;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.healthcare.mapper;
+
+import com.healthcare.dto.PrescriptionDTO;
+import com.healthcare.entity.Prescription;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Mapper for converting Prescription entity to PrescriptionDTO.
+ * 
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class PrescriptionMapper {
+    
+    /**
+     * Convert Prescription entity to PrescriptionDTO
+     */
+    public PrescriptionDTO toDTO(Prescription prescription) {
+        if (prescription == null) {
+            return null;
+        }
+        
+        PrescriptionDTO dto = new PrescriptionDTO();
+        dto.setId(prescription.getId());
+        
+        if (prescription.getPatient() != null) {
+            dto.setPatientId(prescription.getPatient().getId());
+            if (prescription.getPatient().getUser() != null) {
+                dto.setPatientName(prescription.getPatient().getUser().getFullName());
+            }
+        }
+        
+        if (prescription.getDoctor() != null) {
+            dto.setDoctorId(prescription.getDoctor().getId());
+            if (prescription.getDoctor().getUser() != null) {
+                dto.setDoctorName(prescription.getDoctor().getUser().getFullName());
+            }
+        }
+        
+        dto.setMedicationName(prescription.getMedicationName());
+        dto.setDosage(prescription.getDosage());
+        dto.setFrequency(prescription.getFrequency());
+        dto.setDurationDays(prescription.getDurationDays());
+        dto.setQuantity(prescription.getQuantity());
+        dto.setInstructions(prescription.getInstructions());
+        dto.setNotes(prescription.getNotes());
+        dto.setPrescribedDate(prescription.getPrescribedDate());
+        dto.setStartDate(prescription.getStartDate());
+        dto.setEndDate(prescription.getEndDate());
+        dto.setIsActive(prescription.getIsActive());
+        
+        return dto;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.healthcare.mdb;
+
+import com.healthcare.config.JMSConfig;
+import com.healthcare.dto.NotificationEvent;
+import com.healthcare.service.NotificationPublisher;
+import com.healthcare.service.NotificationService;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ActivationConfigProperty;
+import jakarta.ejb.EJB;
+import jakarta.ejb.MessageDriven;
+import jakarta.ejb.MessageDrivenContext;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.jms.JMSConnectionFactory;
+import jakarta.jms.JMSConsumer;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.MapMessage;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.Queue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Message-driven bean writing user notifications from the notification queue.
+ * Each delivery drains up to NOTIFICATION_BATCH_SIZE waiting events from the
+ * queue and writes them in one transaction, so a burst of bookings costs one
+ * JDBC batch instead of a flush per notification.
+ * <p>
+ * If the batch write fails, the events are written one at a time so a single
+ * bad event cannot hold back the others. An event that still fails is put
+ * back on the queue with a growing delay, and discarded with a logged error
+ * after NOTIFICATION_MAX_ATTEMPTS tries, so a poison message never blocks the
+ * queue. The consumed messages are acknowledged when this delivery commits.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@MessageDriven(activationConfig = {
+    @ActivationConfigProperty(propertyName = "destinationLookup",
+                              propertyValue = JMSConfig.NOTIFICATION_QUEUE),
+    @ActivationConfigProperty(propertyName = "destinationType",
+                              propertyValue = "jakarta.jms.Queue"),
+    @ActivationConfigProperty(propertyName = "acknowledgeMode",
+                              propertyValue = "Auto-acknowledge")
+})
+@TransactionAttribute(TransactionAttributeType.REQUIRED)
+public class NotificationMDB implements MessageListener {
+    
+    private static final Logger LOGGER = Logger.getLogger(NotificationMDB.class.getName());
+    
+    @EJB
+    private NotificationService notificationService;
+    
+    @Inject
+    private NotificationPublisher notificationPublisher;
+    
+    @Inject
+    @JMSConnectionFactory(JMSConfig.CONNECTION_FACTORY_JNDI)
+    private JMSContext jmsContext;
+    
+    @Resource(lookup = JMSConfig.NOTIFICATION_QUEUE)
+    private Queue notificationQueue;
+    
+    @Resource
+    private MessageDrivenContext context;
+    
+    @Override
+    public void onMessage(Message message) {
+        List<NotificationEvent> events = new ArrayList<>(JMSConfig.NOTIFICATION_BATCH_SIZE);
+        List<Message> sources = new ArrayList<>(JMSConfig.NOTIFICATION_BATCH_SIZE);
+        add(events, sources, message);
+        
+        // Pick up whatever else is already waiting, within this transaction
+        try (JMSConsumer consumer = jmsContext.createConsumer(notificationQueue)) {
+            Message next;
+            while (events.size() < JMSConfig.NOTIFICATION_BATCH_SIZE
+                    && (next = consumer.receiveNoWait()) != null) {
+                add(events, sources, next);
+            }
+        }
+        
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        try {
+            notificationService.createNotificationsSeparately(events);
+            LOGGER.fine("Wrote " + events.size() + " notifications");
+            return;
+        } catch (RuntimeException e) {
+            LOGGER.warning("Failed to write " + events.size() + " notifications, writing them one at a time: "
+                          + e.getMessage());
+        }
+        
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                notificationService.createNotificationsSeparately(Collections.singletonList(events.get(i)));
+            } catch (RuntimeException e) {
+                retryLater(events.get(i), sources.get(i), e);
+            }
+        }
+    }
+    
+    // Private helper methods
+    
+    private void add(List<NotificationEvent> events, List<Message> sources, Message message) {
+        if (!(message instanceof MapMessage)) {
+            LOGGER.warning("Ignoring unexpected message on notification queue: " + message);
+            return;
+        }
+        try {
+            events.add(NotificationPublisher.fromMessage((MapMessage) message));
+            sources.add(message);
+        } catch (JMSException | RuntimeException e) {
+            // A malformed event would be redelivered forever; drop it
+            LOGGER.warning("Dropping malformed notification event: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Put a failed event back on the queue, or discard it once it has used up
+     * its attempts
+     */
+    private void retryLater(NotificationEvent event, Message source, RuntimeException failure) {
+        int attempt;
+        try {
+            attempt = NotificationPublisher.deliveryAttempt(source);
+        } catch (JMSException e) {
+            attempt = JMSConfig.NOTIFICATION_MAX_ATTEMPTS;
+        }
+        
+        if (attempt >= JMSConfig.NOTIFICATION_MAX_ATTEMPTS) {
+            LOGGER.severe("Discarding notification after " + attempt + " failed attempts: " + event
+                         + ": " + failure.getMessage());
+            return;
+        }
+        
+        try {
+            notificationPublisher.republish(event, attempt + 1, JMSConfig.NOTIFICATION_RETRY_DELAY_MS * attempt);
+            LOGGER.warning("Failed to write notification, retrying (attempt " + (attempt + 1) + "): "
+                          + failure.getMessage());
+        } catch (JMSRuntimeException e) {
+            // Cannot requeue; roll back so the broker redelivers the consumed messages
+            LOGGER.severe("Failed to requeue notification: " + e.getMessage());
+            context.setRollbackOnly();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.healthcare.mdb;
+
+import com.healthcare.config.JMSConfig;
+import com.healthcare.service.CacheInvalidationBus;
+import jakarta.ejb.ActivationConfigProperty;
+import jakarta.ejb.MessageDriven;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import java.util.logging.Logger;
+
+/**
+ * Message-driven bean for system-wide events on the system notification topic.
+ * Every node has its own subscription, so each node applies the cache
+ * invalidations published by the others. Evicting a cache is not
+ * transactional, so messages are consumed outside a transaction.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@MessageDriven(activationConfig = {
+    @ActivationConfigProperty(propertyName = "destinationLookup",
+                              propertyValue = JMSConfig.SYSTEM_NOTIFICATION_TOPIC),
+    @ActivationConfigProperty(propertyName = "destinationType",
+                              propertyValue = "jakarta.jms.Topic"),
+    @ActivationConfigProperty(propertyName = "acknowledgeMode",
+                              propertyValue = "Auto-acknowledge")
+})
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class SystemNotificationMDB implements MessageListener {
+    
+    private static final Logger LOGGER = Logger.getLogger(SystemNotificationMDB.class.getName());
+    
+    @Inject
+    private CacheInvalidationBus cacheInvalidation;
+    
+    @Override
+    public void onMessage(Message message) {
+        try {
+            String type = message.getStringProperty(JMSConfig.PROPERTY_NOTIFICATION_TYPE);
+            if (JMSConfig.TYPE_CACHE_INVALIDATION.equals(type) && message instanceof BytesMessage) {
+                cacheInvalidation.receive((BytesMessage) message);
+            } else {
+                LOGGER.warning("Ignoring unexpected message on system notification topic: " + type);
+            }
+        } catch (JMSException | RuntimeException e) {
+            // A malformed message would be redelivered forever; drop it
+            LOGGER.warning("Dropping malformed system notification: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
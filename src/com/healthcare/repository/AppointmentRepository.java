@@ -1,5 +1,7 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.AppointmentDTO;
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.Appointment;
 import com.healthcare.entity.AppointmentStatus;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -7,8 +9,14 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Appointment entity data access operations.
@@ -27,7 +35,8 @@ public class AppointmentRepository {
      */
     public Optional<Appointment> findById(Long id) {
         try {
-            Appointment appointment = entityManager.find(Appointment.class, id);
+            Appointment appointment = entityManager.find(
+                Appointment.class, id, EntityGraphs.hints(entityManager, "Appointment.detail"));
             return Optional.ofNullable(appointment);
         } catch (Exception e) {
             return Optional.empty();
@@ -39,7 +48,50 @@ public class AppointmentRepository {
      */
     public List<Appointment> findAll() {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findAll", Appointment.class);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
+    }
+    
+    /**
+     * Stream all appointments, newest first, without loading the whole table.
+     * Associations are not fetched; consume and close the stream inside the
+     * current transaction.
+     */
+    public Stream<Appointment> streamAll() {
+        TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findAll", Appointment.class);
+        return ResultStreams.stream(entityManager, query);
+    }
+    
+    /**
+     * Stream appointments as list view DTOs for export, newest first.
+     * Null filters are ignored; the date range is inclusive.
+     */
+    public Stream<AppointmentDTO> streamList(LocalDate fromDate, LocalDate toDate, Long doctorId,
+                                             AppointmentStatus status) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (fromDate != null) {
+            conditions.add("a.appointmentDate >= :fromDate");
+            parameters.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            conditions.add("a.appointmentDate <= :toDate");
+            parameters.put("toDate", toDate);
+        }
+        if (doctorId != null) {
+            conditions.add("d.id = :doctorId");
+            parameters.put("doctorId", doctorId);
+        }
+        if (status != null) {
+            conditions.add("a.status = :status");
+            parameters.put("status", status);
+        }
+        
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        TypedQuery<AppointmentDTO> query = entityManager.createQuery(
+            Appointment.LIST_SELECT + where + "ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC",
+            AppointmentDTO.class);
+        parameters.forEach(query::setParameter);
+        return ResultStreams.stream(entityManager, query);
     }
     
     /**
@@ -48,7 +100,7 @@ public class AppointmentRepository {
     public List<Appointment> findByPatient(Long patientId) {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findByPatient", Appointment.class);
         query.setParameter("patientId", patientId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -57,7 +109,7 @@ public class AppointmentRepository {
     public List<Appointment> findByDoctor(Long doctorId) {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findByDoctor", Appointment.class);
         query.setParameter("doctorId", doctorId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -66,7 +118,7 @@ public class AppointmentRepository {
     public List<Appointment> findByStatus(AppointmentStatus status) {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findByStatus", Appointment.class);
         query.setParameter("status", status);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -75,7 +127,7 @@ public class AppointmentRepository {
     public List<Appointment> findByDate(LocalDate date) {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findByDate", Appointment.class);
         query.setParameter("date", date);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -84,7 +136,7 @@ public class AppointmentRepository {
     public List<Appointment> findUpcoming() {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findUpcoming", Appointment.class);
         query.setParameter("today", LocalDate.now());
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -94,6 +146,27 @@ public class AppointmentRepository {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findDoctorSchedule", Appointment.class);
         query.setParameter("doctorId", doctorId);
         query.setParameter("date", date);
+        return EntityGraphs.apply(entityManager, query, "Appointment.schedule", "a").getResultList();
+    }
+    
+    /**
+     * Find the booked slots (id, time, duration) of a doctor's non-cancelled appointments on a date
+     */
+    public List<Object[]> findDoctorScheduleSlots(Long doctorId, LocalDate date) {
+        TypedQuery<Object[]> query = entityManager.createNamedQuery("Appointment.findDoctorScheduleSlots", Object[].class);
+        query.setParameter("doctorId", doctorId);
+        query.setParameter("date", date);
+        return query.getResultList();
+    }
+    
+    /**
+     * Find the booked slots (doctorId, date, id, time, duration) of several doctors over a date range
+     */
+    public List<Object[]> findScheduleSlotsInRange(Collection<Long> doctorIds, LocalDate fromDate, LocalDate toDate) {
+        TypedQuery<Object[]> query = entityManager.createNamedQuery("Appointment.findScheduleSlotsInRange", Object[].class);
+        query.setParameter("doctorIds", doctorIds);
+        query.setParameter("fromDate", fromDate);
+        query.setParameter("toDate", toDate);
         return query.getResultList();
     }
     
@@ -106,6 +179,34 @@ public class AppointmentRepository {
         return appointment;
     }
     
+    /**
+     * Save new appointment without flushing.
+     * The id is assigned from the sequence pool immediately; the INSERT is
+     * sent with the next flush or at commit, batched with other statements.
+     */
+    public Appointment persist(Appointment appointment) {
+        entityManager.persist(appointment);
+        return appointment;
+    }
+    
+    /**
+     * Save several new appointments with a single flush
+     */
+    public List<Appointment> saveAll(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            persist(appointment);
+        }
+        flush();
+        return appointments;
+    }
+    
+    /**
+     * Write pending changes to the database
+     */
+    public void flush() {
+        entityManager.flush();
+    }
+    
     /**
      * Update existing appointment
      */
@@ -137,13 +238,76 @@ public class AppointmentRepository {
     }
     
     /**
-     * Find appointments with pagination
+     * Find a page of appointments by keyset, newest first.
+     * The page token holds the date, time and id of the previous page's last row;
+     * pass null for the first page.
+     */
+    public PageDTO<Appointment> findPage(String pageToken, int pageSize) {
+        TypedQuery<Appointment> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Appointment.findAll", Appointment.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 3);
+            query = entityManager.createNamedQuery("Appointment.findPageAfter", Appointment.class);
+            query.setParameter("date", PageToken.parse(keys[0], LocalDate::parse));
+            query.setParameter("time", PageToken.parse(keys[1], LocalTime::parse));
+            query.setParameter("id", PageToken.parse(keys[2], Long::valueOf));
+        }
+        
+        // One extra row tells whether another page follows
+        EntityGraphs.apply(entityManager, query, "Appointment.participants", "a");
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                a -> PageToken.encode(a.getAppointmentDate(), a.getAppointmentTime(), a.getId()));
+    }
+    
+    /**
+     * Find a keyset page of appointments as list view DTOs, same order and tokens as findPage
+     */
+    public PageDTO<AppointmentDTO> listPage(String pageToken, int pageSize) {
+        TypedQuery<AppointmentDTO> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Appointment.listAll", AppointmentDTO.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 3);
+            query = entityManager.createNamedQuery("Appointment.listPageAfter", AppointmentDTO.class);
+            query.setParameter("date", PageToken.parse(keys[0], LocalDate::parse));
+            query.setParameter("time", PageToken.parse(keys[1], LocalTime::parse));
+            query.setParameter("id", PageToken.parse(keys[2], Long::valueOf));
+        }
+        
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                a -> PageToken.encode(a.getAppointmentDate(), a.getAppointmentTime(), a.getId()));
+    }
+    
+    /**
+     * Find appointments of a patient as list view DTOs
+     */
+    public List<AppointmentDTO> listByPatient(Long patientId) {
+        TypedQuery<AppointmentDTO> query = entityManager.createNamedQuery("Appointment.listByPatient", AppointmentDTO.class);
+        query.setParameter("patientId", patientId);
+        return query.getResultList();
+    }
+    
+    /**
+     * Find appointments of a doctor as list view DTOs
+     */
+    public List<AppointmentDTO> listByDoctor(Long doctorId) {
+        TypedQuery<AppointmentDTO> query = entityManager.createNamedQuery("Appointment.listByDoctor", AppointmentDTO.class);
+        query.setParameter("doctorId", doctorId);
+        return query.getResultList();
+    }
+    
+    /**
+     * Find appointments with pagination.
+     * Offset based; deep pages scan every earlier row, prefer findPage.
      */
     public List<Appointment> findAll(int pageNumber, int pageSize) {
         TypedQuery<Appointment> query = entityManager.createNamedQuery("Appointment.findAll", Appointment.class);
         query.setFirstResult((pageNumber - 1) * pageSize);
         query.setMaxResults(pageSize);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Appointment.participants", "a").getResultList();
     }
     
     /**
@@ -1,12 +1,16 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.ApprovalStatus;
 import com.healthcare.entity.Doctor;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,26 +26,51 @@ public class DoctorRepository {
     @PersistenceContext(unitName = "HealthcarePU")
     private EntityManager entityManager;
     
+    @Inject
+    private EntityCache entityCache;
+    
     /**
      * Find doctor by ID
      */
     public Optional<Doctor> findById(Long id) {
         try {
-            Doctor doctor = entityManager.find(Doctor.class, id);
+            entityCache.beforeFind(Doctor.class, id);
+            Doctor doctor = entityManager.find(
+                Doctor.class, id, EntityGraphs.hints(entityManager, "Doctor.withUser"));
             return Optional.ofNullable(doctor);
         } catch (Exception e) {
             return Optional.empty();
         }
     }
     
+    /**
+     * Lock a doctor's row until the current transaction ends (SELECT ... FOR
+     * UPDATE), serializing that doctor's bookings across all nodes
+     *
+     * @return false if the doctor does not exist
+     */
+    public boolean lockForBooking(Long id) {
+        return entityManager.find(Doctor.class, id, LockModeType.PESSIMISTIC_WRITE) != null;
+    }
+    
     /**
      * Find doctor by user ID
      */
     public Optional<Doctor> findByUserId(Long userId) {
+        Long doctorId = entityCache.idForUser(Doctor.class, userId);
+        if (doctorId != null) {
+            Optional<Doctor> cached = findById(doctorId);
+            if (cached.isPresent() && userId.equals(cached.get().getUser().getId())) {
+                return cached;
+            }
+        }
+        
         try {
             TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findByUserId", Doctor.class);
             query.setParameter("userId", userId);
-            return Optional.of(query.getSingleResult());
+            Doctor doctor = EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getSingleResult();
+            entityCache.putUser(Doctor.class, userId, doctor.getId());
+            return Optional.of(doctor);
         } catch (NoResultException e) {
             return Optional.empty();
         }
@@ -65,7 +94,7 @@ public class DoctorRepository {
      */
     public List<Doctor> findAll() {
         TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findAll", Doctor.class);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getResultList();
     }
     
     /**
@@ -74,7 +103,7 @@ public class DoctorRepository {
     public List<Doctor> findBySpecialization(String specialization) {
         TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findBySpecialization", Doctor.class);
         query.setParameter("specialization", specialization);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getResultList();
     }
     
     /**
@@ -83,7 +112,7 @@ public class DoctorRepository {
     public List<Doctor> findByApprovalStatus(ApprovalStatus status) {
         TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findByApprovalStatus", Doctor.class);
         query.setParameter("status", status);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getResultList();
     }
     
     /**
@@ -91,7 +120,7 @@ public class DoctorRepository {
      */
     public List<Doctor> findAvailable() {
         TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findAvailable", Doctor.class);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getResultList();
     }
     
     /**
@@ -143,13 +172,37 @@ public class DoctorRepository {
     }
     
     /**
-     * Find doctors with pagination
+     * Find a page of doctors by keyset, newest first.
+     * The page token holds the creation time and id of the previous page's last row;
+     * pass null for the first page.
+     */
+    public PageDTO<Doctor> findPage(String pageToken, int pageSize) {
+        TypedQuery<Doctor> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Doctor.findAll", Doctor.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 2);
+            query = entityManager.createNamedQuery("Doctor.findPageAfter", Doctor.class);
+            query.setParameter("createdAt", PageToken.parse(keys[0], LocalDateTime::parse));
+            query.setParameter("id", PageToken.parse(keys[1], Long::valueOf));
+        }
+        
+        // One extra row tells whether another page follows
+        EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d");
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                d -> PageToken.encode(d.getCreatedAt(), d.getId()));
+    }
+    
+    /**
+     * Find doctors with pagination.
+     * Offset based; deep pages scan every earlier row, prefer findPage.
      */
     public List<Doctor> findAll(int pageNumber, int pageSize) {
         TypedQuery<Doctor> query = entityManager.createNamedQuery("Doctor.findAll", Doctor.class);
         query.setFirstResult((pageNumber - 1) * pageSize);
         query.setMaxResults(pageSize);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Doctor.withUser", "d").getResultList();
     }
     
     /**
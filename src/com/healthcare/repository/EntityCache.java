@@ -0,0 +1,242 @@
+package com.healthcare.repository;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.CacheStatisticsDTO;
+import com.healthcare.entity.Doctor;
+import com.healthcare.entity.Patient;
+import com.healthcare.entity.User;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, expiring view over the shared (second-level) entity cache for
+ * reference-like entities: User, Doctor and Patient.
+ * Those entities are @Cacheable, so a find by id is answered from the shared
+ * cache without a database round trip; each persistence context still gets
+ * its own copy, so cached instances are never modified concurrently. This
+ * class adds what the provider cache lacks portably: entries expire after
+ * CACHE_EXPIRATION_SECONDS, each region is kept below MAX_CACHE_SIZE ids,
+ * user id to entity id lookups are remembered, and hits and misses are
+ * counted.
+ * <p>
+ * Services evict entries they change when the transaction completes.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class EntityCache {
+    
+    private static final Logger LOGGER = Logger.getLogger(EntityCache.class.getName());
+    
+    private static final long EXPIRATION_MS = AppConstants.CACHE_EXPIRATION_SECONDS * 1000L;
+    private static final Object PENDING_EVICTIONS_KEY = new Object();
+    
+    @PersistenceUnit(unitName = "HealthcarePU")
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final Map<Class<?>, Region> regions = new LinkedHashMap<>();
+    
+    public EntityCache() {
+        regions.put(User.class, new Region());
+        regions.put(Doctor.class, new Region());
+        regions.put(Patient.class, new Region());
+    }
+    
+    /**
+     * Record a lookup by id about to be made.
+     * An expired entry is evicted first so the lookup reads the database.
+     */
+    public void beforeFind(Class<?> type, Long id) {
+        Region region = region(type);
+        Cache cache = entityManagerFactory.getCache();
+        long now = System.currentTimeMillis();
+        
+        Long loadedAt = region.loadedAt.get(id);
+        if (loadedAt != null && now - loadedAt > EXPIRATION_MS) {
+            cache.evict(type, id);
+            region.loadedAt.remove(id);
+            region.expirations.increment();
+        } else if (cache.contains(type, id)) {
+            region.hits.increment();
+            if (loadedAt == null) {
+                // Read into the shared cache by a query; expire it from now
+                track(type, region, id, now);
+            }
+            return;
+        }
+        region.misses.increment();
+        track(type, region, id, now);
+    }
+    
+    /**
+     * Id of the Doctor or Patient belonging to a user, if known
+     */
+    public Long idForUser(Class<?> type, Long userId) {
+        return region(type).idsByUser.get(userId);
+    }
+    
+    /**
+     * Remember the Doctor or Patient belonging to a user.
+     * When the region is full the least recently used mapping is dropped.
+     */
+    public void putUser(Class<?> type, Long userId, Long id) {
+        region(type).idsByUser.put(userId, id);
+    }
+    
+    /**
+     * Evict an entity now
+     */
+    public void evict(Class<?> type, Long id) {
+        Region region = region(type);
+        entityManagerFactory.getCache().evict(type, id);
+        region.loadedAt.remove(id);
+        region.idsByUser.values().remove(id);
+        region.evictions.increment();
+        
+        // Profiles reference their user; drop them with it
+        if (type == User.class) {
+            for (Class<?> profile : new Class<?>[] {Doctor.class, Patient.class}) {
+                Long profileId = region(profile).idsByUser.remove(id);
+                if (profileId != null) {
+                    evict(profile, profileId);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Evict an entity when the current transaction completes,
+     * or now if there is none
+     */
+    public void evictOnCommit(Class<?> type, Long id) {
+        Map<Class<?>, Set<Long>> pending = pendingEvictions();
+        if (pending != null) {
+            pending.computeIfAbsent(type, t -> new HashSet<>()).add(id);
+        } else {
+            evict(type, id);
+        }
+    }
+    
+    /**
+     * Evict every cached User, Doctor and Patient
+     */
+    public void clear() {
+        Cache cache = entityManagerFactory.getCache();
+        regions.forEach((type, region) -> {
+            cache.evict(type);
+            region.loadedAt.clear();
+            region.idsByUser.clear();
+            region.evictions.increment();
+        });
+    }
+    
+    /**
+     * Hit/miss statistics per entity type
+     */
+    public List<CacheStatisticsDTO> getStatistics() {
+        List<CacheStatisticsDTO> statistics = new ArrayList<>();
+        regions.forEach((type, region) -> statistics.add(new CacheStatisticsDTO(
+            type.getSimpleName(), region.loadedAt.size(),
+            region.hits.sum(), region.misses.sum(), region.expirations.sum(), region.evictions.sum())));
+        return statistics;
+    }
+    
+    // Private helper methods
+    
+    private Region region(Class<?> type) {
+        Region region = regions.get(type);
+        if (region == null) {
+            throw new IllegalArgumentException("Entity type is not cached: " + type.getName());
+        }
+        return region;
+    }
+    
+    private void track(Class<?> type, Region region, Long id, long now) {
+        region.loadedAt.put(id, now);
+        if (region.loadedAt.size() <= AppConstants.MAX_CACHE_SIZE) {
+            return;
+        }
+        
+        // Full: drop the oldest loads down to half the limit, by count so that
+        // ties on the load time cannot leave the region over size
+        int excess = region.loadedAt.size() - AppConstants.MAX_CACHE_SIZE / 2;
+        List<Long> oldest = region.loadedAt.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue())
+            .limit(excess)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        Cache cache = entityManagerFactory.getCache();
+        for (Long oldId : oldest) {
+            region.loadedAt.remove(oldId);
+            cache.evict(type, oldId);
+        }
+        LOGGER.fine("Trimmed " + type.getSimpleName() + " cache to " + region.loadedAt.size() + " entries");
+    }
+    
+    /**
+     * Evictions requested in the current transaction, applied when it completes
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Class<?>, Set<Long>> pendingEvictions() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        Map<Class<?>, Set<Long>> pending =
+            (Map<Class<?>, Set<Long>>) transactionRegistry.getResource(PENDING_EVICTIONS_KEY);
+        if (pending == null) {
+            Map<Class<?>, Set<Long>> evictions = new HashMap<>();
+            transactionRegistry.putResource(PENDING_EVICTIONS_KEY, evictions);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    // Harmless after a rollback; the entry is just reloaded
+                    evictions.forEach((type, ids) -> ids.forEach(id -> evict(type, id)));
+                }
+            });
+            pending = evictions;
+        }
+        return pending;
+    }
+    
+    private static final class Region {
+        private final ConcurrentMap<Long, Long> loadedAt = new ConcurrentHashMap<>();
+        private final Map<Long, Long> idsByUser = Collections.synchronizedMap(
+            new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > AppConstants.MAX_CACHE_SIZE;
+                }
+            });
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder expirations = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+    }
+}
\ No newline at end of file
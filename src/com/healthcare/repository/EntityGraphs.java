@@ -0,0 +1,71 @@
+package com.healthcare.repository;
+
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies named entity graphs to repository lookups.
+ * Associations are lazy by default; each repository method names the graph
+ * its callers actually read, e.g. participant names for a list or a
+ * notification text. For queries the graph's paths are also batch fetched,
+ * so loading them costs one IN query per association instead of one per row.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+final class EntityGraphs {
+    
+    static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
+    
+    private static final String BATCH = "eclipselink.batch";
+    private static final String BATCH_TYPE = "eclipselink.batch.type";
+    private static final String BATCH_TYPE_IN = "IN";
+    
+    private EntityGraphs() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+    
+    /**
+     * Fetch the named graph with the query's results.
+     * The alias is the query's identification variable, e.g. "a" for
+     * "SELECT a FROM Appointment a".
+     */
+    static <T> TypedQuery<T> apply(EntityManager entityManager, TypedQuery<T> query,
+                                   String graphName, String alias) {
+        EntityGraph<?> graph = entityManager.getEntityGraph(graphName);
+        query.setHint(LOAD_GRAPH, graph);
+        query.setHint(BATCH_TYPE, BATCH_TYPE_IN);
+        for (String path : paths(graph.getAttributeNodes(), alias)) {
+            query.setHint(BATCH, path);
+        }
+        return query;
+    }
+    
+    /**
+     * Find hints fetching the named graph with a single entity
+     */
+    static Map<String, Object> hints(EntityManager entityManager, String graphName) {
+        return Collections.singletonMap(LOAD_GRAPH, entityManager.getEntityGraph(graphName));
+    }
+    
+    // Private helper methods
+    
+    private static List<String> paths(List<AttributeNode<?>> nodes, String prefix) {
+        List<String> paths = new ArrayList<>();
+        for (AttributeNode<?> node : nodes) {
+            String path = prefix + "." + node.getAttributeName();
+            paths.add(path);
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                paths.addAll(paths(subgraph.getAttributeNodes(), path));
+            }
+        }
+        return paths;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.healthcare.repository;
+
+import com.healthcare.dto.PageDTO;
+import com.healthcare.exception.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset pagination.
+ * A token carries the sort key of the last row of a page, e.g. date, time
+ * and id, so the next page is fetched with a range predicate on the sort
+ * index instead of an OFFSET that scans and discards every earlier row.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class PageToken {
+    
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    
+    private PageToken() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+    
+    /**
+     * Encode the sort key of the last row of a page
+     */
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            sb.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a token into its sort key parts, rejecting tokens of another shape
+     */
+    public static String[] decode(String token, int keyCount) {
+        String[] parts;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = decoded.split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page token");
+        }
+        
+        if (parts.length != keyCount + 1 || !VERSION.equals(parts[0])) {
+            throw new ValidationException("Invalid page token");
+        }
+        
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+    
+    /**
+     * Parse one decoded key part, rejecting values of the wrong type
+     */
+    public static <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid page token");
+        }
+    }
+    
+    /**
+     * Turn rows fetched with a limit of pageSize + 1 into a page; the extra
+     * row only tells whether another page follows
+     */
+    public static <T> PageDTO<T> toPage(List<T> rows, int pageSize, Function<T, String> tokenOf) {
+        if (rows.size() <= pageSize) {
+            return new PageDTO<>(rows, null);
+        }
+        
+        List<T> page = new ArrayList<>(rows.subList(0, pageSize));
+        return new PageDTO<>(page, tokenOf.apply(page.get(pageSize - 1)));
+    }
+}
\ No newline at end of file
@@ -1,13 +1,23 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.PatientDTO;
 import com.healthcare.entity.Patient;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Patient entity data access operations.
@@ -21,12 +31,17 @@ public class PatientRepository {
     @PersistenceContext(unitName = "HealthcarePU")
     private EntityManager entityManager;
     
+    @Inject
+    private EntityCache entityCache;
+    
     /**
      * Find patient by ID
      */
     public Optional<Patient> findById(Long id) {
         try {
-            Patient patient = entityManager.find(Patient.class, id);
+            entityCache.beforeFind(Patient.class, id);
+            Patient patient = entityManager.find(
+                Patient.class, id, EntityGraphs.hints(entityManager, "Patient.withUser"));
             return Optional.ofNullable(patient);
         } catch (Exception e) {
             return Optional.empty();
@@ -37,10 +52,20 @@ public class PatientRepository {
      * Find patient by user ID
      */
     public Optional<Patient> findByUserId(Long userId) {
+        Long patientId = entityCache.idForUser(Patient.class, userId);
+        if (patientId != null) {
+            Optional<Patient> cached = findById(patientId);
+            if (cached.isPresent() && userId.equals(cached.get().getUser().getId())) {
+                return cached;
+            }
+        }
+        
         try {
             TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.findByUserId", Patient.class);
             query.setParameter("userId", userId);
-            return Optional.of(query.getSingleResult());
+            Patient patient = EntityGraphs.apply(entityManager, query, "Patient.withUser", "p").getSingleResult();
+            entityCache.putUser(Patient.class, userId, patient.getId());
+            return Optional.of(patient);
         } catch (NoResultException e) {
             return Optional.empty();
         }
@@ -51,7 +76,44 @@ public class PatientRepository {
      */
     public List<Patient> findAll() {
         TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.findAll", Patient.class);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Patient.withUser", "p").getResultList();
+    }
+    
+    /**
+     * Stream all patients, newest first, without loading the whole table.
+     * Associations are not fetched; consume and close the stream inside the
+     * current transaction.
+     */
+    public Stream<Patient> streamAll() {
+        TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.findAll", Patient.class);
+        return ResultStreams.stream(entityManager, query);
+    }
+    
+    /**
+     * Stream patients as export DTOs, newest first.
+     * Null filters are ignored; the registration date range is inclusive.
+     */
+    public Stream<PatientDTO> streamList(LocalDate fromDate, LocalDate toDate, Boolean active) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (fromDate != null) {
+            conditions.add("p.createdAt >= :fromTime");
+            parameters.put("fromTime", fromDate.atStartOfDay());
+        }
+        if (toDate != null) {
+            conditions.add("p.createdAt < :toTime");
+            parameters.put("toTime", toDate.plusDays(1).atStartOfDay());
+        }
+        if (active != null) {
+            conditions.add("u.isActive = :active");
+            parameters.put("active", active);
+        }
+        
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        TypedQuery<PatientDTO> query = entityManager.createQuery(
+            Patient.LIST_SELECT + where + "ORDER BY p.createdAt DESC, p.id DESC", PatientDTO.class);
+        parameters.forEach(query::setParameter);
+        return ResultStreams.stream(entityManager, query);
     }
     
     /**
@@ -60,16 +122,17 @@ public class PatientRepository {
     public List<Patient> findByCity(String city) {
         TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.findByCity", Patient.class);
         query.setParameter("city", city);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Patient.withUser", "p").getResultList();
     }
     
     /**
-     * Search patients by name
+     * Find the patients of the given users, in no particular order
      */
-    public List<Patient> searchByName(String searchTerm) {
-        TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.searchByName", Patient.class);
-        query.setParameter("name", "%" + searchTerm + "%");
-        return query.getResultList();
+    public List<Patient> findByUserIds(Collection<Long> userIds) {
+        TypedQuery<Patient> query = entityManager.createQuery(
+            "SELECT p FROM Patient p WHERE p.user.id IN :userIds", Patient.class);
+        query.setParameter("userIds", userIds);
+        return EntityGraphs.apply(entityManager, query, "Patient.withUser", "p").getResultList();
     }
     
     /**
@@ -102,13 +165,37 @@ public class PatientRepository {
     }
     
     /**
-     * Find patients with pagination
+     * Find a page of patients by keyset, newest first.
+     * The page token holds the creation time and id of the previous page's last row;
+     * pass null for the first page.
+     */
+    public PageDTO<Patient> findPage(String pageToken, int pageSize) {
+        TypedQuery<Patient> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Patient.findAll", Patient.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 2);
+            query = entityManager.createNamedQuery("Patient.findPageAfter", Patient.class);
+            query.setParameter("createdAt", PageToken.parse(keys[0], LocalDateTime::parse));
+            query.setParameter("id", PageToken.parse(keys[1], Long::valueOf));
+        }
+        
+        // One extra row tells whether another page follows
+        EntityGraphs.apply(entityManager, query, "Patient.withUser", "p");
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                p -> PageToken.encode(p.getCreatedAt(), p.getId()));
+    }
+    
+    /**
+     * Find patients with pagination.
+     * Offset based; deep pages scan every earlier row, prefer findPage.
      */
     public List<Patient> findAll(int pageNumber, int pageSize) {
         TypedQuery<Patient> query = entityManager.createNamedQuery("Patient.findAll", Patient.class);
         query.setFirstResult((pageNumber - 1) * pageSize);
         query.setMaxResults(pageSize);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Patient.withUser", "p").getResultList();
     }
     
     /**
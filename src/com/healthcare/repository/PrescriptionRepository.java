@@ -1,12 +1,19 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.PrescriptionDTO;
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.Prescription;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Prescription entity data access operations.
@@ -25,7 +32,8 @@ public class PrescriptionRepository {
      */
     public Optional<Prescription> findById(Long id) {
         try {
-            Prescription prescription = entityManager.find(Prescription.class, id);
+            Prescription prescription = entityManager.find(
+                Prescription.class, id, EntityGraphs.hints(entityManager, "Prescription.detail"));
             return Optional.ofNullable(prescription);
         } catch (Exception e) {
             return Optional.empty();
@@ -37,7 +45,50 @@ public class PrescriptionRepository {
      */
     public List<Prescription> findAll() {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findAll", Prescription.class);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
+    }
+    
+    /**
+     * Stream all prescriptions, newest first, without loading the whole table.
+     * Associations are not fetched; consume and close the stream inside the
+     * current transaction.
+     */
+    public Stream<Prescription> streamAll() {
+        TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findAll", Prescription.class);
+        return ResultStreams.stream(entityManager, query);
+    }
+    
+    /**
+     * Stream prescriptions as list view DTOs for export, most recently prescribed first.
+     * Null filters are ignored; the prescribed date range is inclusive.
+     */
+    public Stream<PrescriptionDTO> streamList(LocalDate fromDate, LocalDate toDate, Long doctorId,
+                                              Boolean active) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (fromDate != null) {
+            conditions.add("rx.prescribedDate >= :fromDate");
+            parameters.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            conditions.add("rx.prescribedDate <= :toDate");
+            parameters.put("toDate", toDate);
+        }
+        if (doctorId != null) {
+            conditions.add("d.id = :doctorId");
+            parameters.put("doctorId", doctorId);
+        }
+        if (active != null) {
+            conditions.add("rx.isActive = :active");
+            parameters.put("active", active);
+        }
+        
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+        TypedQuery<PrescriptionDTO> query = entityManager.createQuery(
+            Prescription.LIST_SELECT + where + "ORDER BY rx.prescribedDate DESC, rx.id DESC",
+            PrescriptionDTO.class);
+        parameters.forEach(query::setParameter);
+        return ResultStreams.stream(entityManager, query);
     }
     
     /**
@@ -46,7 +97,7 @@ public class PrescriptionRepository {
     public List<Prescription> findByPatient(Long patientId) {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findByPatient", Prescription.class);
         query.setParameter("patientId", patientId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
     }
     
     /**
@@ -55,7 +106,7 @@ public class PrescriptionRepository {
     public List<Prescription> findByDoctor(Long doctorId) {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findByDoctor", Prescription.class);
         query.setParameter("doctorId", doctorId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
     }
     
     /**
@@ -64,7 +115,7 @@ public class PrescriptionRepository {
     public List<Prescription> findActive(Long patientId) {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findActive", Prescription.class);
         query.setParameter("patientId", patientId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
     }
     
     /**
@@ -73,7 +124,7 @@ public class PrescriptionRepository {
     public List<Prescription> findByAppointment(Long appointmentId) {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findByAppointment", Prescription.class);
         query.setParameter("appointmentId", appointmentId);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
     }
     
     /**
@@ -106,13 +157,87 @@ public class PrescriptionRepository {
     }
     
     /**
-     * Find prescriptions with pagination
+     * Find a page of prescriptions by keyset, newest first.
+     * The page token holds the prescribed date and id of the previous page's last row;
+     * pass null for the first page.
+     */
+    public PageDTO<Prescription> findPage(String pageToken, int pageSize) {
+        TypedQuery<Prescription> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Prescription.findAll", Prescription.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 2);
+            query = entityManager.createNamedQuery("Prescription.findPageAfter", Prescription.class);
+            query.setParameter("date", PageToken.parse(keys[0], LocalDate::parse));
+            query.setParameter("id", PageToken.parse(keys[1], Long::valueOf));
+        }
+        
+        // One extra row tells whether another page follows
+        EntityGraphs.apply(entityManager, query, "Prescription.participants", "p");
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                p -> PageToken.encode(p.getPrescribedDate(), p.getId()));
+    }
+    
+    /**
+     * Find a keyset page of prescriptions as list view DTOs, same order and tokens as findPage
+     */
+    public PageDTO<PrescriptionDTO> listPage(String pageToken, int pageSize) {
+        TypedQuery<PrescriptionDTO> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("Prescription.listAll", PrescriptionDTO.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 2);
+            query = entityManager.createNamedQuery("Prescription.listPageAfter", PrescriptionDTO.class);
+            query.setParameter("date", PageToken.parse(keys[0], LocalDate::parse));
+            query.setParameter("id", PageToken.parse(keys[1], Long::valueOf));
+        }
+        
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                p -> PageToken.encode(p.getPrescribedDate(), p.getId()));
+    }
+    
+    /**
+     * Find prescriptions of a patient as list view DTOs
+     */
+    public List<PrescriptionDTO> listByPatient(Long patientId) {
+        TypedQuery<PrescriptionDTO> query = entityManager.createNamedQuery("Prescription.listByPatient", PrescriptionDTO.class);
+        query.setParameter("patientId", patientId);
+        return query.getResultList();
+    }
+    
+    /**
+     * Find prescriptions of a doctor as list view DTOs
+     */
+    public List<PrescriptionDTO> listByDoctor(Long doctorId) {
+        TypedQuery<PrescriptionDTO> query = entityManager.createNamedQuery("Prescription.listByDoctor", PrescriptionDTO.class);
+        query.setParameter("doctorId", doctorId);
+        return query.getResultList();
+    }
+    
+    /**
+     * Find prescriptions with pagination.
+     * Offset based; deep pages scan every earlier row, prefer findPage.
      */
     public List<Prescription> findAll(int pageNumber, int pageSize) {
         TypedQuery<Prescription> query = entityManager.createNamedQuery("Prescription.findAll", Prescription.class);
         query.setFirstResult((pageNumber - 1) * pageSize);
         query.setMaxResults(pageSize);
-        return query.getResultList();
+        return EntityGraphs.apply(entityManager, query, "Prescription.participants", "p").getResultList();
+    }
+    
+    /**
+     * Number of prescriptions per medication name
+     */
+    public Map<String, Long> countByMedication() {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT p.medicationName, COUNT(p) FROM Prescription p GROUP BY p.medicationName", Object[].class);
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : query.getResultList()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
     }
     
     /**
@@ -0,0 +1,91 @@
+package com.healthcare.repository;
+
+import com.healthcare.config.AppConstants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams query results in constant memory.
+ * Rows are read through a database cursor STREAM_FETCH_SIZE at a time, and
+ * the persistence context is flushed and cleared every STREAM_CLEAR_INTERVAL
+ * rows so managed entities do not pile up. Streams must be consumed and
+ * closed inside the transaction that opened them; entities handed out
+ * before a clear are detached afterwards.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class ResultStreams {
+    
+    private static final String FETCH_SIZE = "eclipselink.jdbc.fetch-size";
+    private static final String CURSOR = "eclipselink.cursor";
+    
+    private ResultStreams() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+    
+    /**
+     * Stream a query's results through a cursor
+     */
+    static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        query.setHint(FETCH_SIZE, AppConstants.STREAM_FETCH_SIZE);
+        query.setHint(CURSOR, Boolean.TRUE);
+        Stream<T> rows = query.getResultStream();
+        return StreamSupport.stream(new ClearingSpliterator<>(entityManager, rows.spliterator()), false)
+            .onClose(rows::close);
+    }
+    
+    /**
+     * Pass every row of a stream to the consumer and close it
+     *
+     * @return number of rows consumed
+     */
+    public static <T> long forEach(Stream<T> stream, Consumer<? super T> consumer) {
+        try (Stream<T> rows = stream) {
+            long[] count = new long[1];
+            rows.forEachOrdered(row -> {
+                consumer.accept(row);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Clears the persistence context after every STREAM_CLEAR_INTERVAL rows,
+     * once the consumer is done with them
+     */
+    private static final class ClearingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final EntityManager entityManager;
+        private final Spliterator<T> rows;
+        private long count;
+        
+        ClearingSpliterator(EntityManager entityManager, Spliterator<T> rows) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.entityManager = entityManager;
+            this.rows = rows;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!rows.tryAdvance(action)) {
+                return false;
+            }
+            if (++count % AppConstants.STREAM_CLEAR_INTERVAL == 0) {
+                // Keep changes a cleanup job made to the rows seen so far
+                if (entityManager.isJoinedToTransaction()) {
+                    entityManager.flush();
+                }
+                entityManager.clear();
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
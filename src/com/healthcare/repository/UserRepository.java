@@ -1,14 +1,20 @@
 package com.healthcare.repository;
 
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.UserDTO;
 import com.healthcare.entity.User;
 import com.healthcare.entity.UserRole;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for User entity data access operations.
@@ -19,14 +25,23 @@ import java.util.Optional;
 @ApplicationScoped
 public class UserRepository {
     
+    /** Projection of the fields covered by the user search index */
+    private static final String SEARCH_SELECT =
+        "SELECT new com.healthcare.dto.UserDTO(u.id, u.email, u.firstName, u.lastName, u.phone, u.role, u.isActive) " +
+        "FROM User u ";
+    
     @PersistenceContext(unitName = "HealthcarePU")
     private EntityManager entityManager;
     
+    @Inject
+    private EntityCache entityCache;
+    
     /**
      * Find user by ID
      */
     public Optional<User> findById(Long id) {
         try {
+            entityCache.beforeFind(User.class, id);
             User user = entityManager.find(User.class, id);
             return Optional.ofNullable(user);
         } catch (Exception e) {
@@ -121,19 +136,57 @@ public class UserRepository {
     }
     
     /**
-     * Search users by name
+     * Find users by ids, in no particular order
      */
-    public List<User> searchByName(String searchTerm) {
+    public List<User> findByIds(Collection<Long> ids) {
         TypedQuery<User> query = entityManager.createQuery(
-            "SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(:search) " +
-            "OR LOWER(u.lastName) LIKE LOWER(:search) ORDER BY u.lastName, u.firstName", 
-            User.class);
-        query.setParameter("search", "%" + searchTerm + "%");
+            "SELECT u FROM User u WHERE u.id IN :ids", User.class);
+        query.setParameter("ids", ids);
+        return query.getResultList();
+    }
+    
+    /**
+     * Stream the search fields of every user
+     */
+    public Stream<UserDTO> streamSearchFields() {
+        TypedQuery<UserDTO> query = entityManager.createQuery(SEARCH_SELECT, UserDTO.class);
+        return ResultStreams.stream(entityManager, query);
+    }
+    
+    /**
+     * Search fields of the given users; deleted users are missing from the result
+     */
+    public List<UserDTO> findSearchFields(Collection<Long> ids) {
+        TypedQuery<UserDTO> query = entityManager.createQuery(SEARCH_SELECT + "WHERE u.id IN :ids", UserDTO.class);
+        query.setParameter("ids", ids);
         return query.getResultList();
     }
     
     /**
-     * Find users with pagination
+     * Find a page of users by keyset, newest first.
+     * The page token holds the creation time and id of the previous page's last row;
+     * pass null for the first page.
+     */
+    public PageDTO<User> findPage(String pageToken, int pageSize) {
+        TypedQuery<User> query;
+        if (pageToken == null || pageToken.isEmpty()) {
+            query = entityManager.createNamedQuery("User.findAll", User.class);
+        } else {
+            String[] keys = PageToken.decode(pageToken, 2);
+            query = entityManager.createNamedQuery("User.findPageAfter", User.class);
+            query.setParameter("createdAt", PageToken.parse(keys[0], LocalDateTime::parse));
+            query.setParameter("id", PageToken.parse(keys[1], Long::valueOf));
+        }
+        
+        // One extra row tells whether another page follows
+        query.setMaxResults(pageSize + 1);
+        return PageToken.toPage(query.getResultList(), pageSize,
+                                u -> PageToken.encode(u.getCreatedAt(), u.getId()));
+    }
+    
+    /**
+     * Find users with pagination.
+     * Offset based; deep pages scan every earlier row, prefer findPage.
      */
     public List<User> findAll(int pageNumber, int pageSize) {
         TypedQuery<User> query = entityManager.createNamedQuery("User.findAll", User.class);
@@ -0,0 +1,16 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.AppConstants;
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.core.Application;
+
+/**
+ * JAX-RS application configuration.
+ * All REST resources are served under the API base path.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationPath(AppConstants.API_BASE_PATH)
+public class ApplicationConfig extends Application {
+}
\ No newline at end of file
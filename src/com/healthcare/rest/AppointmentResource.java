@@ -0,0 +1,207 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.AppointmentDTO;
+import com.healthcare.dto.AvailableSlotDTO;
+import com.healthcare.dto.DayAvailabilityDTO;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.entity.AppointmentStatus;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.security.RoleChecker;
+import com.healthcare.service.AppointmentService;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.PatientService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for appointment scheduling.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/appointments")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class AppointmentResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(AppointmentResource.class.getName());
+    
+    private static final StreamingExport<AppointmentDTO> EXPORT = new StreamingExport<AppointmentDTO>("appointments")
+        .column("id", AppointmentDTO::getId)
+        .column("patientId", AppointmentDTO::getPatientId)
+        .column("patientName", AppointmentDTO::getPatientName)
+        .column("doctorId", AppointmentDTO::getDoctorId)
+        .column("doctorName", AppointmentDTO::getDoctorName)
+        .column("doctorSpecialization", AppointmentDTO::getDoctorSpecialization)
+        .column("appointmentDate", AppointmentDTO::getAppointmentDate)
+        .column("appointmentTime", AppointmentDTO::getAppointmentTime)
+        .column("durationMinutes", AppointmentDTO::getDurationMinutes)
+        .column("status", AppointmentDTO::getStatus)
+        .column("reason", AppointmentDTO::getReason);
+    
+    @Inject
+    private AppointmentService appointmentService;
+    
+    @Inject
+    private PatientService patientService;
+    
+    @Inject
+    private DoctorService doctorService;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * List appointments, latest first, one keyset page at a time.
+     * GET /api/appointments?pageToken=...&size=20
+     * Admin only.
+     */
+    @GET
+    public Response listAppointments(@QueryParam("pageToken") String pageToken,
+                                     @QueryParam("size") Integer size) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: list appointments");
+        
+        PageDTO<AppointmentDTO> page = appointmentService
+            .listPage(pageToken, size != null ? size : AppConstants.DEFAULT_PAGE_SIZE);
+        return Response.ok(page).build();
+    }
+    
+    /**
+     * Export appointments, newest first, streamed as NDJSON or CSV.
+     * GET /api/appointments/export?format=ndjson|csv&from=yyyy-MM-dd&to=yyyy-MM-dd&doctorId=..&status=..
+     * Gzip compressed when the client sends Accept-Encoding: gzip. Admin only.
+     */
+    @GET
+    @Path("/export")
+    public Response exportAppointments(@QueryParam("format") String format,
+                                       @QueryParam("from") String from,
+                                       @QueryParam("to") String to,
+                                       @QueryParam("doctorId") Long doctorId,
+                                       @QueryParam("status") String status,
+                                       @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: export appointments");
+        
+        LocalDate fromDate = from != null ? parseDate(from) : null;
+        LocalDate toDate = to != null ? parseDate(to) : null;
+        AppointmentStatus appointmentStatus = status != null ? parseStatus(status) : null;
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        
+        return EXPORT.response(format, acceptEncoding, sink ->
+            appointmentService.exportList(fromDate, toDate, doctorId, appointmentStatus, sink));
+    }
+    
+    /**
+     * List a patient's appointments.
+     * GET /api/appointments/patient/{patientId}
+     * The patient themself, admins and doctors only.
+     */
+    @GET
+    @Path("/patient/{patientId}")
+    public Response listByPatient(@PathParam("patientId") Long patientId) {
+        RoleChecker.requireRole(request, RoleChecker.ANY);
+        if (!RoleChecker.hasAnyRole(request, RoleChecker.ADMIN | RoleChecker.DOCTOR)) {
+            RoleChecker.requireSelfOrAdmin(request, patientService.findById(patientId).getUser().getId());
+        }
+        return Response.ok(appointmentService.listByPatient(patientId)).build();
+    }
+    
+    /**
+     * List a doctor's appointments.
+     * GET /api/appointments/doctor/{doctorId}
+     * The doctor themself and admins only.
+     */
+    @GET
+    @Path("/doctor/{doctorId}")
+    public Response listByDoctor(@PathParam("doctorId") Long doctorId) {
+        RoleChecker.requireRole(request, RoleChecker.ANY);
+        if (!RoleChecker.hasAnyRole(request, RoleChecker.ADMIN)) {
+            RoleChecker.requireSelfOrAdmin(request, doctorService.findById(doctorId).getUser().getId());
+        }
+        return Response.ok(appointmentService.listByDoctor(doctorId)).build();
+    }
+    
+    /**
+     * Get a doctor's availability calendar.
+     * GET /api/appointments/availability/{doctorId}?from=yyyy-MM-dd&to=yyyy-MM-dd&duration=30
+     */
+    @GET
+    @Path("/availability/{doctorId}")
+    public Response getAvailability(@PathParam("doctorId") Long doctorId,
+                                    @QueryParam("from") String from,
+                                    @QueryParam("to") String to,
+                                    @QueryParam("duration") Integer durationMinutes) {
+        LOGGER.info("REST: availability for doctor ID: " + doctorId);
+        
+        LocalDate fromDate = from != null ? parseDate(from) : LocalDate.now();
+        LocalDate toDate = to != null ? parseDate(to) : fromDate.plusDays(6);
+        
+        List<DayAvailabilityDTO> calendar =
+            appointmentService.getAvailability(doctorId, fromDate, toDate, durationMinutes);
+        return Response.ok(calendar).build();
+    }
+    
+    /**
+     * Find the earliest free slots across doctors of a specialization.
+     * GET /api/appointments/slots?specialization=Cardiology&from=yyyy-MM-dd&to=yyyy-MM-dd
+     */
+    @GET
+    @Path("/slots")
+    public Response findNextAvailableSlots(@QueryParam("specialization") String specialization,
+                                           @QueryParam("from") String from,
+                                           @QueryParam("to") String to,
+                                           @QueryParam("duration") Integer durationMinutes,
+                                           @QueryParam("limit") Integer limit) {
+        LOGGER.info("REST: next available slots for specialization: " + specialization);
+        
+        if (specialization == null || specialization.trim().isEmpty()) {
+            throw new ValidationException("Specialization is required");
+        }
+        
+        List<AvailableSlotDTO> slots = appointmentService.findNextAvailableSlots(
+            specialization,
+            from != null ? parseDate(from) : null,
+            to != null ? parseDate(to) : null,
+            durationMinutes,
+            limit
+        );
+        return Response.ok(slots).build();
+    }
+    
+    // Private helper methods
+    
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date: " + value + ". Expected yyyy-MM-dd");
+        }
+    }
+    
+    private AppointmentStatus parseStatus(String value) {
+        try {
+            return AppointmentStatus.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid appointment status: " + value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.SecurityConfig;
+import com.healthcare.entity.User;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.mapper.UserMapper;
+import com.healthcare.security.JWTProvider;
+import com.healthcare.service.UserService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for signing in.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/auth")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class AuthResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(AuthResource.class.getName());
+    
+    @Inject
+    private UserService userService;
+    
+    @Inject
+    private UserMapper userMapper;
+    
+    @Inject
+    private JWTProvider jwtProvider;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * Sign in and receive a bearer token.
+     * POST /api/auth/login (form: email, password)
+     * Failures count towards the lockout of both the account and the
+     * client address.
+     */
+    @POST
+    @Path("/login")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public Response login(@FormParam("email") String email,
+                          @FormParam("password") String password) {
+        LOGGER.info("REST: login");
+        
+        if (email == null || email.trim().isEmpty() || password == null || password.isEmpty()) {
+            throw new ValidationException("Email and password are required");
+        }
+        
+        User user = userService.authenticate(email, password, request.getRemoteAddr());
+        
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", jwtProvider.createToken(user.getId(), user.getEmail(), user.getRole().name()));
+        body.put("tokenType", SecurityConfig.JWT_PREFIX.trim());
+        body.put("expiresIn", SecurityConfig.JWT_EXPIRATION_MS / 1000);
+        body.put("user", userMapper.toDTO(user));
+        return Response.ok(body).build();
+    }
+}
\ No newline at end of file
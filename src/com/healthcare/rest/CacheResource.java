@@ -0,0 +1,42 @@
+package com.healthcare.rest;
+
+import com.healthcare.repository.EntityCache;
+import com.healthcare.security.RoleChecker;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST resource exposing cache statistics to administrators.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/cache")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class CacheResource {
+    
+    @Inject
+    private EntityCache entityCache;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * Hit/miss statistics of the User, Doctor and Patient caches.
+     * GET /api/cache/statistics
+     */
+    @GET
+    @Path("/statistics")
+    public Response getStatistics() {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        return Response.ok(entityCache.getStatistics()).build();
+    }
+}
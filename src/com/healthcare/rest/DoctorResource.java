@@ -0,0 +1,82 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.DoctorDTO;
+import com.healthcare.dto.DoctorDirectoryDTO;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.mapper.DoctorMapper;
+import com.healthcare.service.DoctorService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.math.BigDecimal;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for doctors.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/doctors")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class DoctorResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(DoctorResource.class.getName());
+    
+    @Inject
+    private DoctorService doctorService;
+    
+    @Inject
+    private DoctorMapper doctorMapper;
+    
+    /**
+     * List doctors, newest first, one keyset page at a time.
+     * GET /api/doctors?pageToken=...&size=20
+     */
+    @GET
+    public Response listDoctors(@QueryParam("pageToken") String pageToken,
+                                @QueryParam("size") Integer size) {
+        LOGGER.info("REST: list doctors");
+        
+        PageDTO<DoctorDTO> page = doctorService
+            .findPage(pageToken, size != null ? size : AppConstants.DEFAULT_PAGE_SIZE)
+            .map(doctorMapper::toDTO);
+        return Response.ok(page).build();
+    }
+    
+    /**
+     * Search approved doctors with facet counts, served from memory.
+     * GET /api/doctors/directory?specialization=Cardiology&available=true&minExperience=5&maxFee=1000
+     */
+    @GET
+    @Path("/directory")
+    public Response searchDirectory(@QueryParam("specialization") String specialization,
+                                    @QueryParam("available") Boolean available,
+                                    @QueryParam("minExperience") Integer minExperience,
+                                    @QueryParam("maxExperience") Integer maxExperience,
+                                    @QueryParam("minFee") BigDecimal minFee,
+                                    @QueryParam("maxFee") BigDecimal maxFee) {
+        LOGGER.info("REST: search doctor directory");
+        
+        DoctorDirectoryDTO directory = doctorService.searchDirectory(
+            specialization, available, minExperience, maxExperience, minFee, maxFee);
+        return Response.ok(directory).build();
+    }
+    
+    /**
+     * Specializations of approved doctors.
+     * GET /api/doctors/specializations
+     */
+    @GET
+    @Path("/specializations")
+    public Response getSpecializations() {
+        return Response.ok(doctorService.getSpecializations()).build();
+    }
+}
\ No newline at end of file
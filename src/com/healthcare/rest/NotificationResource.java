@@ -0,0 +1,122 @@
+package com.healthcare.rest;
+
+import com.healthcare.dto.BroadcastStatusDTO;
+import com.healthcare.entity.UserRole;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.security.RoleChecker;
+import com.healthcare.service.NotificationService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for user notifications.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/notifications")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class NotificationResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(NotificationResource.class.getName());
+    
+    @Inject
+    private NotificationService notificationService;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * Start a system notification broadcast to all users of a role; admin only.
+     * POST /api/notifications/broadcast (form: role, title, message)
+     * Returns 202 with the broadcast status and its Location.
+     */
+    @POST
+    @Path("/broadcast")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public Response startBroadcast(@FormParam("role") String role,
+                                   @FormParam("title") String title,
+                                   @FormParam("message") String message) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: system broadcast to role: " + role);
+        
+        BroadcastStatusDTO status = notificationService.startSystemBroadcast(parseRole(role), title, message);
+        return Response.accepted(status)
+            .location(UriBuilder.fromResource(NotificationResource.class)
+                .path("broadcast").path(status.getId()).build())
+            .build();
+    }
+    
+    /**
+     * Poll the progress of a broadcast; admin only.
+     * GET /api/notifications/broadcast/{broadcastId}
+     */
+    @GET
+    @Path("/broadcast/{broadcastId}")
+    public Response getBroadcastStatus(@PathParam("broadcastId") String broadcastId) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        return Response.ok(notificationService.getBroadcastStatus(broadcastId)).build();
+    }
+    
+    /**
+     * Mark a user's notifications as read in one statement.
+     * POST /api/notifications/user/{userId}/read[?before=yyyy-MM-ddTHH:mm:ss]
+     * The bound is the createdAt of the newest notification the client has
+     * shown. Without a bound every unread notification is marked. Only the
+     * user or an administrator may do this.
+     */
+    @POST
+    @Path("/user/{userId}/read")
+    public Response markRead(@PathParam("userId") Long userId,
+                             @QueryParam("before") String before) {
+        RoleChecker.requireSelfOrAdmin(request, userId);
+        LOGGER.info("REST: mark notifications read for user ID: " + userId);
+        
+        int updated;
+        if (before != null) {
+            updated = notificationService.markReadCreatedBefore(userId, parseDateTime(before));
+        } else {
+            updated = notificationService.markAllAsRead(userId);
+        }
+        return Response.ok(Collections.singletonMap("updated", updated)).build();
+    }
+    
+    // Private helper methods
+    
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid timestamp: " + value);
+        }
+    }
+    
+    private static UserRole parseRole(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new ValidationException("Role is required");
+        }
+        try {
+            return UserRole.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid role: " + value);
+        }
+    }
+}
\ No newline at end of file
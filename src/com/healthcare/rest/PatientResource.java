@@ -0,0 +1,135 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PatientDTO;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.mapper.PatientMapper;
+import com.healthcare.security.RoleChecker;
+import com.healthcare.service.PatientService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for patients.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/patients")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class PatientResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(PatientResource.class.getName());
+    
+    private static final StreamingExport<PatientDTO> EXPORT = new StreamingExport<PatientDTO>("patients")
+        .column("id", PatientDTO::getId)
+        .column("userId", p -> p.getUser().getId())
+        .column("email", p -> p.getUser().getEmail())
+        .column("firstName", p -> p.getUser().getFirstName())
+        .column("lastName", p -> p.getUser().getLastName())
+        .column("phone", p -> p.getUser().getPhone())
+        .column("isActive", p -> p.getUser().getIsActive())
+        .column("dateOfBirth", PatientDTO::getDateOfBirth)
+        .column("age", PatientDTO::getAge)
+        .column("gender", PatientDTO::getGender)
+        .column("city", PatientDTO::getCity)
+        .column("state", PatientDTO::getState)
+        .column("postalCode", PatientDTO::getPostalCode)
+        .column("bloodGroup", PatientDTO::getBloodGroup);
+    
+    @Inject
+    private PatientService patientService;
+    
+    @Inject
+    private PatientMapper patientMapper;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * List patients, newest first, one keyset page at a time.
+     * GET /api/patients?pageToken=...&size=20
+     * Admins and doctors only.
+     */
+    @GET
+    public Response listPatients(@QueryParam("pageToken") String pageToken,
+                                 @QueryParam("size") Integer size) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN | RoleChecker.DOCTOR);
+        LOGGER.info("REST: list patients");
+        
+        PageDTO<PatientDTO> page = patientService
+            .findPage(pageToken, size != null ? size : AppConstants.DEFAULT_PAGE_SIZE)
+            .map(patientMapper::toDTO);
+        return Response.ok(page).build();
+    }
+    
+    /**
+     * Search patients by name, email or phone number, best matches first.
+     * Tolerates typos. GET /api/patients/search?q=smith&pageToken=...&size=20
+     * Admins and doctors only.
+     */
+    @GET
+    @Path("/search")
+    public Response searchPatients(@QueryParam("q") String term,
+                                   @QueryParam("pageToken") String pageToken,
+                                   @QueryParam("size") Integer size) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN | RoleChecker.DOCTOR);
+        LOGGER.info("REST: search patients");
+        
+        PageDTO<PatientDTO> page = patientService
+            .searchByName(term, pageToken, size != null ? size : AppConstants.DEFAULT_PAGE_SIZE)
+            .map(patientMapper::toDTO);
+        return Response.ok(page).build();
+    }
+    
+    /**
+     * Export patients, newest first, streamed as NDJSON or CSV.
+     * GET /api/patients/export?format=ndjson|csv&from=yyyy-MM-dd&to=yyyy-MM-dd&active=true
+     * The date range filters on registration date. Gzip compressed when the
+     * client sends Accept-Encoding: gzip. Admin only.
+     */
+    @GET
+    @Path("/export")
+    public Response exportPatients(@QueryParam("format") String format,
+                                   @QueryParam("from") String from,
+                                   @QueryParam("to") String to,
+                                   @QueryParam("active") Boolean active,
+                                   @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: export patients");
+        
+        LocalDate fromDate = from != null ? parseDate(from) : null;
+        LocalDate toDate = to != null ? parseDate(to) : null;
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        
+        return EXPORT.response(format, acceptEncoding, sink ->
+            patientService.exportList(fromDate, toDate, active, sink));
+    }
+    
+    // Private helper methods
+    
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date: " + value + ". Expected yyyy-MM-dd");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.healthcare.rest;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PrescriptionDTO;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.security.RoleChecker;
+import com.healthcare.service.DoctorService;
+import com.healthcare.service.PatientService;
+import com.healthcare.service.PrescriptionService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+/**
+ * REST resource for prescriptions.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/prescriptions")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class PrescriptionResource {
+    
+    private static final Logger LOGGER = Logger.getLogger(PrescriptionResource.class.getName());
+    
+    private static final StreamingExport<PrescriptionDTO> EXPORT = new StreamingExport<PrescriptionDTO>("prescriptions")
+        .column("id", PrescriptionDTO::getId)
+        .column("patientId", PrescriptionDTO::getPatientId)
+        .column("patientName", PrescriptionDTO::getPatientName)
+        .column("doctorId", PrescriptionDTO::getDoctorId)
+        .column("doctorName", PrescriptionDTO::getDoctorName)
+        .column("medicationName", PrescriptionDTO::getMedicationName)
+        .column("dosage", PrescriptionDTO::getDosage)
+        .column("frequency", PrescriptionDTO::getFrequency)
+        .column("durationDays", PrescriptionDTO::getDurationDays)
+        .column("quantity", PrescriptionDTO::getQuantity)
+        .column("prescribedDate", PrescriptionDTO::getPrescribedDate)
+        .column("startDate", PrescriptionDTO::getStartDate)
+        .column("endDate", PrescriptionDTO::getEndDate)
+        .column("isActive", PrescriptionDTO::getIsActive);
+    
+    @Inject
+    private PrescriptionService prescriptionService;
+    
+    @Inject
+    private PatientService patientService;
+    
+    @Inject
+    private DoctorService doctorService;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * List prescriptions, most recently prescribed first, one keyset page at a time.
+     * GET /api/prescriptions?pageToken=...&size=20
+     * Admin only.
+     */
+    @GET
+    public Response listPrescriptions(@QueryParam("pageToken") String pageToken,
+                                      @QueryParam("size") Integer size) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: list prescriptions");
+        
+        PageDTO<PrescriptionDTO> page = prescriptionService
+            .listPage(pageToken, size != null ? size : AppConstants.DEFAULT_PAGE_SIZE);
+        return Response.ok(page).build();
+    }
+    
+    /**
+     * Medication names starting with the prefix, most prescribed first.
+     * GET /api/prescriptions/medications?prefix=amox&limit=10
+     */
+    @GET
+    @Path("/medications")
+    public Response completeMedication(@QueryParam("prefix") String prefix,
+                                       @QueryParam("limit") Integer limit) {
+        return Response.ok(prescriptionService.completeMedication(
+            prefix, limit != null ? limit : AppConstants.MEDICATION_COMPLETIONS)).build();
+    }
+    
+    /**
+     * Export prescriptions, most recently prescribed first, streamed as NDJSON or CSV.
+     * GET /api/prescriptions/export?format=ndjson|csv&from=yyyy-MM-dd&to=yyyy-MM-dd&doctorId=..&active=true
+     * Gzip compressed when the client sends Accept-Encoding: gzip. Admin only.
+     */
+    @GET
+    @Path("/export")
+    public Response exportPrescriptions(@QueryParam("format") String format,
+                                        @QueryParam("from") String from,
+                                        @QueryParam("to") String to,
+                                        @QueryParam("doctorId") Long doctorId,
+                                        @QueryParam("active") Boolean active,
+                                        @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        LOGGER.info("REST: export prescriptions");
+        
+        LocalDate fromDate = from != null ? parseDate(from) : null;
+        LocalDate toDate = to != null ? parseDate(to) : null;
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        
+        return EXPORT.response(format, acceptEncoding, sink ->
+            prescriptionService.exportList(fromDate, toDate, doctorId, active, sink));
+    }
+    
+    /**
+     * List a patient's prescriptions.
+     * GET /api/prescriptions/patient/{patientId}
+     * The patient themself, admins and doctors only.
+     */
+    @GET
+    @Path("/patient/{patientId}")
+    public Response listByPatient(@PathParam("patientId") Long patientId) {
+        RoleChecker.requireRole(request, RoleChecker.ANY);
+        if (!RoleChecker.hasAnyRole(request, RoleChecker.ADMIN | RoleChecker.DOCTOR)) {
+            RoleChecker.requireSelfOrAdmin(request, patientService.findById(patientId).getUser().getId());
+        }
+        return Response.ok(prescriptionService.listByPatient(patientId)).build();
+    }
+    
+    /**
+     * List a doctor's prescriptions.
+     * GET /api/prescriptions/doctor/{doctorId}
+     * The doctor themself and admins only.
+     */
+    @GET
+    @Path("/doctor/{doctorId}")
+    public Response listByDoctor(@PathParam("doctorId") Long doctorId) {
+        RoleChecker.requireRole(request, RoleChecker.ANY);
+        if (!RoleChecker.hasAnyRole(request, RoleChecker.ADMIN)) {
+            RoleChecker.requireSelfOrAdmin(request, doctorService.findById(doctorId).getUser().getId());
+        }
+        return Response.ok(prescriptionService.listByDoctor(doctorId)).build();
+    }
+    
+    // Private helper methods
+    
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date: " + value + ". Expected yyyy-MM-dd");
+        }
+    }
+}
\ No newline at end of file
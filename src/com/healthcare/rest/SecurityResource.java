@@ -0,0 +1,57 @@
+package com.healthcare.rest;
+
+import com.healthcare.security.ApiRateLimiter;
+import com.healthcare.security.RoleChecker;
+import com.healthcare.util.PasswordUtils;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * REST resource exposing authentication load statistics to administrators.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@Path("/security")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class SecurityResource {
+    
+    @Inject
+    private PasswordUtils passwordUtils;
+    
+    @Inject
+    private ApiRateLimiter rateLimiter;
+    
+    @Context
+    private HttpServletRequest request;
+    
+    /**
+     * Queue depth, rejections and latency percentiles of password hashing.
+     * GET /api/security/password-hashing
+     */
+    @GET
+    @Path("/password-hashing")
+    public Response getPasswordHashingStatistics() {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        return Response.ok(passwordUtils.getStatistics()).build();
+    }
+    
+    /**
+     * Tracked callers, rejections and evictions of the API rate limiter.
+     * GET /api/security/rate-limits
+     */
+    @GET
+    @Path("/rate-limits")
+    public Response getRateLimitStatistics() {
+        RoleChecker.requireRole(request, RoleChecker.ADMIN);
+        return Response.ok(rateLimiter.getStatistics()).build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.healthcare.scheduling;
+
+import com.healthcare.exception.ValidationException;
+import com.healthcare.repository.DoctorRepository;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Locks serializing bookings per doctor and day.
+ * A local stripe is held from the conflict check until the surrounding
+ * transaction completes, so two bookings for the same doctor and day on this
+ * node cannot both pass the check before either is committed. Bookings on
+ * other doctors or days only contend when they hash to the same stripe.
+ * <p>
+ * The stripes only guard one JVM, so the doctor's row is then locked in the
+ * database as well, which serializes bookings from other nodes. Holding the
+ * stripe first keeps local contention off the database lock.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class BookingLocks {
+    
+    private static final Logger LOGGER = Logger.getLogger(BookingLocks.class.getName());
+    
+    private static final int STRIPES = 256;
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+    private static final Object HELD_STRIPES_KEY = new Object();
+    private static final Object LOCKED_DOCTORS_KEY = new Object();
+    
+    @Inject
+    private DoctorRepository doctorRepository;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final Semaphore[] stripes = new Semaphore[STRIPES];
+    
+    public BookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Semaphore(1);
+        }
+    }
+    
+    /**
+     * Lock a doctor's day until the current transaction completes
+     */
+    public void lock(Long doctorId, LocalDate date) {
+        acquire(stripeFor(doctorId, date));
+        lockDoctor(doctorId);
+    }
+    
+    /**
+     * Lock several days of a doctor until the current transaction completes.
+     * Stripes are taken in ascending order so concurrent multi-day bookings
+     * cannot deadlock each other.
+     */
+    public void lockAll(Long doctorId, Collection<LocalDate> dates) {
+        BitSet wanted = new BitSet(STRIPES);
+        for (LocalDate date : dates) {
+            wanted.set(stripeFor(doctorId, date));
+        }
+        for (int stripe = wanted.nextSetBit(0); stripe >= 0; stripe = wanted.nextSetBit(stripe + 1)) {
+            acquire(stripe);
+        }
+        lockDoctor(doctorId);
+    }
+    
+    // Private helper methods
+    
+    private void acquire(int stripe) {
+        BitSet held = heldStripes();
+        if (held.get(stripe)) {
+            return;
+        }
+        
+        try {
+            if (!stripes[stripe].tryAcquire(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warning("Timed out waiting for booking lock stripe " + stripe);
+                throw new ValidationException("Doctor's schedule is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("Booking was interrupted, please try again");
+        }
+        held.set(stripe);
+    }
+    
+    /**
+     * Lock the doctor's row once per transaction; the database releases it
+     * when the transaction ends
+     */
+    @SuppressWarnings("unchecked")
+    private void lockDoctor(Long doctorId) {
+        Set<Long> locked = (Set<Long>) transactionRegistry.getResource(LOCKED_DOCTORS_KEY);
+        if (locked == null) {
+            locked = new HashSet<>();
+            transactionRegistry.putResource(LOCKED_DOCTORS_KEY, locked);
+        }
+        if (locked.add(doctorId) && !doctorRepository.lockForBooking(doctorId)) {
+            throw new ValidationException("Doctor not found with ID: " + doctorId);
+        }
+    }
+    
+    /**
+     * Stripes held by the current transaction, released when it completes
+     */
+    private BitSet heldStripes() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            throw new IllegalStateException("Booking locks require an active transaction");
+        }
+        
+        BitSet held = (BitSet) transactionRegistry.getResource(HELD_STRIPES_KEY);
+        if (held == null) {
+            BitSet acquired = new BitSet(STRIPES);
+            transactionRegistry.putResource(HELD_STRIPES_KEY, acquired);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    for (int i = acquired.nextSetBit(0); i >= 0; i = acquired.nextSetBit(i + 1)) {
+                        stripes[i].release();
+                    }
+                }
+            });
+            held = acquired;
+        }
+        return held;
+    }
+    
+    private static int stripeFor(Long doctorId, LocalDate date) {
+        long h = doctorId * 0x9E3779B97F4A7C15L + date.toEpochDay();
+        h ^= (h >>> 32);
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 56) & (STRIPES - 1);
+    }
+}
\ No newline at end of file
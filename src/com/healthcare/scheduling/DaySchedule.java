@@ -0,0 +1,243 @@
+package com.healthcare.scheduling;
+
+import com.healthcare.config.AppConstants;
+import java.util.Arrays;
+
+/**
+ * Booked intervals of a single doctor on a single day.
+ * Intervals are half-open [start, end) in minutes since midnight and are kept
+ * sorted by start, together with a running maximum of end minutes, so that a
+ * conflict check is a binary search over primitive arrays.
+ * <p>
+ * The day is also kept as a bitset of MIN_APPOINTMENT_DURATION slots, a bit
+ * being set when any booked minute falls into the slot. Free/busy lookups and
+ * runs of consecutive free slots are then word-level bit operations.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class DaySchedule {
+    
+    private static final int INITIAL_CAPACITY = 8;
+    
+    public static final int SLOT_MINUTES = AppConstants.MIN_APPOINTMENT_DURATION;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+    
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] maxEnds = new int[INITIAL_CAPACITY];
+    private int size;
+    private final long[] busy = new long[WORDS];
+    
+    /**
+     * Add (or move) the interval of an appointment
+     */
+    public synchronized void add(long id, int start, int end) {
+        removeInternal(id);
+        
+        if (size == starts.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+        
+        int pos = upperBound(start);
+        int tail = size - pos;
+        System.arraycopy(ids, pos, ids, pos + 1, tail);
+        System.arraycopy(starts, pos, starts, pos + 1, tail);
+        System.arraycopy(ends, pos, ends, pos + 1, tail);
+        ids[pos] = id;
+        starts[pos] = start;
+        ends[pos] = end;
+        size++;
+        recomputeMaxEnds(pos);
+        recomputeBusy();
+    }
+    
+    /**
+     * Remove the interval of an appointment
+     */
+    public synchronized boolean remove(long id) {
+        return removeInternal(id);
+    }
+    
+    /**
+     * Check whether [start, end) overlaps any booked interval
+     */
+    public synchronized boolean hasConflict(int start, int end) {
+        return hasConflict(start, end, Long.MIN_VALUE);
+    }
+    
+    /**
+     * Check whether [start, end) overlaps any booked interval other than excludeId
+     */
+    public synchronized boolean hasConflict(int start, int end, long excludeId) {
+        // Untouched slots guarantee every minute in them is free
+        if (rangeFree(start, end)) {
+            return false;
+        }
+        
+        // Last interval starting before the candidate ends
+        int i = upperBound(end - 1) - 1;
+        
+        // maxEnds is non-decreasing, so once it drops to start nothing earlier can overlap
+        while (i >= 0 && maxEnds[i] > start) {
+            if (ends[i] > start && ids[i] != excludeId) {
+                return true;
+            }
+            i--;
+        }
+        return false;
+    }
+    
+    /**
+     * Find free start minutes of the given duration between from and to,
+     * probing every step minutes
+     */
+    public synchronized int[] freeStarts(int from, int to, int duration, int step) {
+        int[] result = new int[Math.max(0, (to - from) / step + 1)];
+        int count = 0;
+        
+        for (int start = from; start + duration <= to; start += step) {
+            if (!hasConflict(start, start + duration)) {
+                result[count++] = start;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+    
+    /**
+     * Whether a slot has no booked minute
+     */
+    public synchronized boolean isSlotFree(int slot) {
+        return (busy[slot >>> 6] & (1L << slot)) == 0;
+    }
+    
+    /**
+     * Copy of the busy bitset; bit i covers minutes [i * SLOT_MINUTES, (i + 1) * SLOT_MINUTES)
+     */
+    public synchronized long[] busySlots() {
+        return busy.clone();
+    }
+    
+    /**
+     * First slot in [fromSlot, toSlot) starting a run of count free slots, or -1
+     */
+    public synchronized int findFreeRun(int count, int fromSlot, int toSlot) {
+        if (count <= 0 || fromSlot < 0 || toSlot > SLOTS_PER_DAY || toSlot - fromSlot < count) {
+            return -1;
+        }
+        
+        long[] run = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            run[w] = ~busy[w] & rangeMask(w, fromSlot, toSlot);
+        }
+        
+        // After k rounds bit i is set only if slots i..i+k are all free
+        for (int k = 1; k < count; k++) {
+            for (int w = 0; w < WORDS; w++) {
+                long carry = w + 1 < WORDS ? run[w + 1] << 63 : 0L;
+                run[w] &= (run[w] >>> 1) | carry;
+            }
+        }
+        
+        for (int w = 0; w < WORDS; w++) {
+            if (run[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(run[w]);
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Number of booked intervals
+     */
+    public synchronized int size() {
+        return size;
+    }
+    
+    // Private helper methods
+    
+    private boolean removeInternal(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                int tail = size - i - 1;
+                System.arraycopy(ids, i + 1, ids, i, tail);
+                System.arraycopy(starts, i + 1, starts, i, tail);
+                System.arraycopy(ends, i + 1, ends, i, tail);
+                size--;
+                recomputeMaxEnds(i);
+                recomputeBusy();
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Index of the first interval whose start is greater than minute
+     */
+    private int upperBound(int minute) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private void recomputeBusy() {
+        Arrays.fill(busy, 0L);
+        for (int i = 0; i < size; i++) {
+            int first = Math.max(0, starts[i] / SLOT_MINUTES);
+            int last = Math.min(SLOTS_PER_DAY - 1, (ends[i] - 1) / SLOT_MINUTES);
+            for (int slot = first; slot <= last; slot++) {
+                busy[slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+    
+    private boolean rangeFree(int start, int end) {
+        int first = Math.max(0, start / SLOT_MINUTES);
+        int last = Math.min(SLOTS_PER_DAY - 1, (end - 1) / SLOT_MINUTES);
+        if (first > last) {
+            return true;
+        }
+        for (int w = first >>> 6; w <= last >>> 6; w++) {
+            if ((busy[w] & rangeMask(w, first, last + 1)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Bits of word w that fall into slots [from, to)
+     */
+    private static long rangeMask(int w, int from, int to) {
+        int low = Math.max(from - (w << 6), 0);
+        int high = Math.min(to - (w << 6), 64);
+        if (low >= high) {
+            return 0L;
+        }
+        long upper = high == 64 ? -1L : (1L << high) - 1;
+        return upper & (-1L << low);
+    }
+    
+    private void recomputeMaxEnds(int from) {
+        int max = from > 0 ? maxEnds[from - 1] : 0;
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.healthcare.scheduling;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.entity.Appointment;
+import com.healthcare.entity.AppointmentStatus;
+import com.healthcare.repository.AppointmentRepository;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.logging.Logger;
+
+/**
+ * In-memory index of booked appointment intervals per doctor and day.
+ * Days are loaded from the database on first use and then kept up to date by
+ * AppointmentService, so free-slot lookups do not need a database round trip.
+ * A day touched by a rolled back transaction is evicted and reloaded on next
+ * access.
+ * <p>
+ * The index is only a read cache: days expire after CACHE_EXPIRATION_SECONDS,
+ * changes on other nodes evict them through CacheInvalidationBus, and at most
+ * SCHEDULE_INDEX_MAX_DAYS days are kept, the oldest loaded going first.
+ * Bookings reload the days they hold BookingLocks on, so their conflict check
+ * always runs against the database.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class DoctorScheduleIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(DoctorScheduleIndex.class.getName());
+    
+    @Inject
+    private AppointmentRepository appointmentRepository;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(AppConstants.CACHE_EXPIRATION_SECONDS);
+    
+    private final ConcurrentMap<DayKey, CachedDay> days = new ConcurrentHashMap<>();
+    
+    private final AtomicLong lastEvictionDay = new AtomicLong(Long.MIN_VALUE);
+    
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    
+    /**
+     * Check whether a new appointment would overlap the doctor's schedule
+     */
+    public boolean hasConflict(Long doctorId, LocalDate date, LocalTime time, int durationMinutes) {
+        return hasConflict(doctorId, date, time, durationMinutes, null);
+    }
+    
+    /**
+     * Check whether an appointment would overlap the doctor's schedule,
+     * ignoring the appointment being rescheduled
+     */
+    public boolean hasConflict(Long doctorId, LocalDate date, LocalTime time,
+                               int durationMinutes, Long excludeAppointmentId) {
+        int start = toMinute(time);
+        long excludeId = excludeAppointmentId != null ? excludeAppointmentId : Long.MIN_VALUE;
+        return day(doctorId, date).hasConflict(start, start + durationMinutes, excludeId);
+    }
+    
+    /**
+     * Find free start times of the given duration between from and to
+     */
+    public List<LocalTime> findFreeSlots(Long doctorId, LocalDate date, LocalTime from,
+                                         LocalTime to, int durationMinutes, int stepMinutes) {
+        int[] starts = day(doctorId, date).freeStarts(toMinute(from), toMinute(to), durationMinutes, stepMinutes);
+        
+        List<LocalTime> slots = new ArrayList<>(starts.length);
+        for (int start : starts) {
+            slots.add(LocalTime.of(start / 60, start % 60));
+        }
+        return slots;
+    }
+    
+    /**
+     * Find free start minutes of the given duration between from and to
+     */
+    public int[] findFreeStarts(Long doctorId, LocalDate date, int fromMinute, int toMinute,
+                                int durationMinutes, int stepMinutes) {
+        return day(doctorId, date).freeStarts(fromMinute, toMinute, durationMinutes, stepMinutes);
+    }
+    
+    /**
+     * Day schedule of a doctor, loading it on first use
+     */
+    public DaySchedule getDaySchedule(Long doctorId, LocalDate date) {
+        return day(doctorId, date);
+    }
+    
+    /**
+     * Load every uncached day of the given doctors in a date range with a single query
+     */
+    public void preload(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        evictPastDays();
+        
+        long now = System.currentTimeMillis();
+        List<DayKey> missing = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                DayKey key = new DayKey(doctorId, date);
+                CachedDay cached = days.get(key);
+                if (cached == null || cached.isExpired(now)) {
+                    missing.add(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        
+        LOGGER.fine("Preloading " + missing.size() + " schedule days for " + doctorIds.size() + " doctors");
+        for (Map.Entry<DayKey, DaySchedule> entry : loadRange(doctorIds, from, to, missing).entrySet()) {
+            CachedDay loaded = new CachedDay(entry.getValue(), now);
+            days.merge(entry.getKey(), loaded, (cached, fresh) -> cached.isExpired(now) ? fresh : cached);
+        }
+        trimIfFull(now);
+    }
+    
+    /**
+     * Reload a doctor's days from the database, replacing what is cached.
+     * Called while the days are held with BookingLocks, so the conflict check
+     * that follows sees every committed booking, including other nodes'.
+     */
+    public void reload(Long doctorId, LocalDate from, LocalDate to) {
+        List<DayKey> keys = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            keys.add(new DayKey(doctorId, date));
+        }
+        
+        long now = System.currentTimeMillis();
+        for (Map.Entry<DayKey, DaySchedule> entry
+                : loadRange(Collections.singletonList(doctorId), from, to, keys).entrySet()) {
+            days.put(entry.getKey(), new CachedDay(entry.getValue(), now));
+        }
+        trimIfFull(now);
+    }
+    
+    /**
+     * Record an appointment's current date, time and status.
+     * Cancelled appointments free their interval.
+     */
+    public void put(Appointment appointment) {
+        DaySchedule schedule = day(appointment.getDoctor().getId(), appointment.getAppointmentDate());
+        if (blocksSchedule(appointment.getStatus())) {
+            int start = toMinute(appointment.getAppointmentTime());
+            schedule.add(appointment.getId(), start, start + appointment.getDurationMinutes());
+        } else {
+            schedule.remove(appointment.getId());
+        }
+        evictOnRollback(appointment.getDoctor().getId(), appointment.getAppointmentDate());
+    }
+    
+    /**
+     * Remove an appointment from the day it was previously booked on
+     */
+    public void remove(Long doctorId, LocalDate date, Long appointmentId) {
+        CachedDay cached = days.get(new DayKey(doctorId, date));
+        if (cached != null) {
+            cached.schedule.remove(appointmentId);
+            evictOnRollback(doctorId, date);
+        }
+    }
+    
+    /**
+     * Drop a cached day so it is reloaded from the database
+     */
+    public void evict(Long doctorId, LocalDate date) {
+        days.remove(new DayKey(doctorId, date));
+    }
+    
+    /**
+     * Drop all cached days
+     */
+    public void clear() {
+        days.clear();
+    }
+    
+    /**
+     * Whether an appointment in this status occupies the doctor's time
+     */
+    public static boolean blocksSchedule(AppointmentStatus status) {
+        return status != AppointmentStatus.CANCELLED;
+    }
+    
+    // Private helper methods
+    
+    private DaySchedule day(Long doctorId, LocalDate date) {
+        evictPastDays();
+        
+        long now = System.currentTimeMillis();
+        DayKey key = new DayKey(doctorId, date);
+        CachedDay cached = days.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            return cached.schedule;
+        }
+        
+        CachedDay loaded = new CachedDay(load(doctorId, date), now);
+        CachedDay current = days.merge(key, loaded, (existing, fresh) -> existing.isExpired(now) ? fresh : existing);
+        trimIfFull(now);
+        return current.schedule;
+    }
+    
+    private DaySchedule load(Long doctorId, LocalDate date) {
+        LOGGER.fine("Loading schedule index for doctor ID: " + doctorId + " on date: " + date);
+        
+        DaySchedule schedule = new DaySchedule();
+        for (Object[] row : appointmentRepository.findDoctorScheduleSlots(doctorId, date)) {
+            int start = toMinute((LocalTime) row[1]);
+            Integer duration = (Integer) row[2];
+            schedule.add((Long) row[0], start, start + (duration != null ? duration : 0));
+        }
+        return schedule;
+    }
+    
+    /**
+     * Load the given days of a date range with a single query
+     */
+    private Map<DayKey, DaySchedule> loadRange(Collection<Long> doctorIds, LocalDate from, LocalDate to,
+                                               Collection<DayKey> keys) {
+        Map<DayKey, DaySchedule> loaded = new HashMap<>();
+        for (DayKey key : keys) {
+            loaded.put(key, new DaySchedule());
+        }
+        for (Object[] row : appointmentRepository.findScheduleSlotsInRange(doctorIds, from, to)) {
+            DaySchedule schedule = loaded.get(new DayKey((Long) row[0], (LocalDate) row[1]));
+            if (schedule != null) {
+                int start = toMinute((LocalTime) row[3]);
+                Integer duration = (Integer) row[4];
+                schedule.add((Long) row[2], start, start + (duration != null ? duration : 0));
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Keep the index within SCHEDULE_INDEX_MAX_DAYS: drop expired days, then
+     * the oldest loaded ones down to three quarters of the limit
+     */
+    private void trimIfFull(long now) {
+        if (days.size() <= AppConstants.SCHEDULE_INDEX_MAX_DAYS || !trimming.compareAndSet(false, true)) {
+            return;
+        }
+        
+        try {
+            days.values().removeIf(cached -> cached.isExpired(now));
+            int excess = days.size() - AppConstants.SCHEDULE_INDEX_MAX_DAYS * 3 / 4;
+            if (excess > 0) {
+                List<DayKey> oldest = days.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                oldest.forEach(days::remove);
+                LOGGER.fine("Trimmed " + oldest.size() + " schedule days from the index");
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+    
+    private void evictOnRollback(Long doctorId, LocalDate date) {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (status != Status.STATUS_COMMITTED) {
+                    evict(doctorId, date);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Past days can no longer be booked, so drop them once per day
+     */
+    private void evictPastDays() {
+        long today = LocalDate.now().toEpochDay();
+        long last = lastEvictionDay.get();
+        if (last != today && lastEvictionDay.compareAndSet(last, today)) {
+            days.keySet().removeIf(key -> key.epochDay < today);
+        }
+    }
+    
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+    
+    private static final class CachedDay {
+        private final DaySchedule schedule;
+        private final long loadedAt;
+        
+        CachedDay(DaySchedule schedule, long loadedAt) {
+            this.schedule = schedule;
+            this.loadedAt = loadedAt;
+        }
+        
+        boolean isExpired(long now) {
+            return now - loadedAt >= TTL_MILLIS;
+        }
+    }
+    
+    private static final class DayKey {
+        private final long doctorId;
+        private final long epochDay;
+        
+        DayKey(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.epochDay = date.toEpochDay();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DayKey)) return false;
+            DayKey that = (DayKey) o;
+            return doctorId == that.doctorId && epochDay == that.epochDay;
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(doctorId) + Long.hashCode(epochDay);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.healthcare.security;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.RateLimitStatisticsDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * API rate limits: API_RATE_LIMIT requests per minute per signed-in user,
+ * and per client IP for anonymous requests.
+ * <p>
+ * Each caller has a token bucket holding up to a minute of requests and
+ * refilling continuously. The bucket is kept as a single timestamp, the
+ * time at which it will be full again, so taking a token is one
+ * compare-and-set with no lock and no allocation. A caller whose bucket is
+ * full is idle and tracking it changes nothing, so those are evicted first
+ * when more than API_RATE_LIMIT_MAX_KEYS callers are tracked, then those
+ * with the fewest tokens spent; throttled callers are always kept.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class ApiRateLimiter {
+    
+    private static final Logger LOGGER = Logger.getLogger(ApiRateLimiter.class.getName());
+    
+    /** Time to earn one token */
+    private static final long INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1) / AppConstants.API_RATE_LIMIT;
+    
+    /** How far ahead of now a bucket may run: a full bucket's worth of tokens */
+    private static final long CAPACITY_NANOS = INTERVAL_NANOS * AppConstants.API_RATE_LIMIT;
+    
+    private final Buckets<Long> users = new Buckets<>("users");
+    private final Buckets<String> clients = new Buckets<>("clients");
+    
+    /**
+     * Take a request from a signed-in user's allowance
+     *
+     * @return 0 if allowed, otherwise nanoseconds until the next request is
+     */
+    public long acquireForUser(Long userId) {
+        return users.acquire(userId);
+    }
+    
+    /**
+     * Take an anonymous request from a client IP's allowance
+     *
+     * @return 0 if allowed, otherwise nanoseconds until the next request is
+     */
+    public long acquireForClient(String clientIp) {
+        return clients.acquire(clientIp);
+    }
+    
+    /**
+     * Tracked callers, rejections and evictions per limiter
+     */
+    public RateLimitStatisticsDTO getStatistics() {
+        return new RateLimitStatisticsDTO(AppConstants.API_RATE_LIMIT,
+                                          users.buckets.size(), users.rejected.sum(), users.evicted.sum(),
+                                          clients.buckets.size(), clients.rejected.sum(), clients.evicted.sum());
+    }
+    
+    /**
+     * Token buckets of one kind of caller
+     */
+    private static final class Buckets<K> {
+        private final String name;
+        private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+        private final AtomicLong nextEvictionAt = new AtomicLong(System.nanoTime());
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder evicted = new LongAdder();
+        
+        Buckets(String name) {
+            this.name = name;
+        }
+        
+        long acquire(K key) {
+            long now = System.nanoTime();
+            AtomicLong fullAt = buckets.get(key);
+            if (fullAt == null) {
+                if (buckets.size() >= AppConstants.API_RATE_LIMIT_MAX_KEYS) {
+                    evict(now);
+                }
+                fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            
+            while (true) {
+                long current = fullAt.get();
+                long next = (current - now > 0 ? current : now) + INTERVAL_NANOS;
+                long wait = next - now - CAPACITY_NANOS;
+                if (wait > 0) {
+                    rejected.increment();
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0L;
+                }
+            }
+        }
+        
+        /**
+         * Drop idle callers, whose buckets are full. If that is not enough,
+         * drop the callers closest to a full bucket down to three quarters of
+         * the limit; those regain at most the few tokens they had spent.
+         * Throttled callers are never dropped, so cycling through new keys
+         * cannot reset a busy caller's bucket.
+         */
+        private void evict(long now) {
+            if (now - nextEvictionAt.get() < 0 || !evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                int before = buckets.size();
+                buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+                
+                int excess = buckets.size() - AppConstants.API_RATE_LIMIT_MAX_KEYS * 3 / 4;
+                if (excess > 0) {
+                    List<K> lightest = buckets.entrySet().stream()
+                        .filter(entry -> !isThrottled(entry.getValue().get(), now))
+                        .sorted(Comparator.comparingLong(entry -> entry.getValue().get() - now))
+                        .limit(excess)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList());
+                    lightest.forEach(buckets::remove);
+                    if (lightest.size() < excess) {
+                        // Throttled callers only become evictable as time passes
+                        nextEvictionAt.set(now + INTERVAL_NANOS);
+                        LOGGER.warning("Rate limiter for " + name + " is full of throttled callers, tracking "
+                                      + buckets.size() + " callers over the limit");
+                    }
+                }
+                evicted.add(before - buckets.size());
+            } finally {
+                evicting.set(false);
+            }
+        }
+        
+        /**
+         * Whether a caller's next request would be refused
+         */
+        private static boolean isThrottled(long fullAt, long now) {
+            return fullAt - now + INTERVAL_NANOS > CAPACITY_NANOS;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.healthcare.security;
+
+import com.healthcare.entity.UserRole;
+import jakarta.servlet.ServletRequest;
+import java.io.Serializable;
+
+/**
+ * The caller of an API request, as resolved by AuthenticationFilter.
+ * Immutable and compact, so it is cached and shared between the requests of
+ * a user; roles are a bitmask checked by RoleChecker.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class AuthenticatedPrincipal implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /** Request attribute holding the principal of a signed-in caller */
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+    
+    private static final UserRole[] ROLES = UserRole.values();
+    
+    private final Long userId;
+    private final int roleMask;
+    private final boolean active;
+    private final long expiresAt;
+    
+    /**
+     * @param expiresAt expiry of the caller's token, epoch milliseconds
+     */
+    public AuthenticatedPrincipal(Long userId, int roleMask, boolean active, long expiresAt) {
+        this.userId = userId;
+        this.roleMask = roleMask;
+        this.active = active;
+        this.expiresAt = expiresAt;
+    }
+    
+    /**
+     * Principal of the current request, or null for an anonymous caller
+     */
+    public static AuthenticatedPrincipal of(ServletRequest request) {
+        return (AuthenticatedPrincipal) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+    
+    // Business methods
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+    
+    public UserRole getRole() {
+        return roleMask == 0 ? null : ROLES[Integer.numberOfTrailingZeros(roleMask)];
+    }
+    
+    /**
+     * Copy for another token of the same user
+     */
+    AuthenticatedPrincipal withExpiry(long expiresAt) {
+        return expiresAt == this.expiresAt ? this : new AuthenticatedPrincipal(userId, roleMask, active, expiresAt);
+    }
+    
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public int getRoleMask() {
+        return roleMask;
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "AuthenticatedPrincipal{" +
+                "userId=" + userId +
+                ", role=" + getRole() +
+                ", active=" + active +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.healthcare.security;
+
+import java.io.Serializable;
+
+/**
+ * Verified claims of a JSON Web Token.
+ * Immutable, so one instance is shared by every request presenting the token.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class JWTClaims implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String keyId;
+    private final long issuedAt;
+    private final long expiresAt;
+    
+    /**
+     * @param issuedAt issue time, epoch milliseconds
+     * @param expiresAt expiry time, epoch milliseconds
+     */
+    public JWTClaims(Long userId, String email, String role, String keyId, long issuedAt, long expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.keyId = keyId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Business methods
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+    
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public String getKeyId() {
+        return keyId;
+    }
+    
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "JWTClaims{" +
+                "userId=" + userId +
+                ", role='" + role + '\'' +
+                ", keyId='" + keyId + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,537 @@
+package com.healthcare.security;
+
+import com.healthcare.config.SecurityConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Issues and verifies HS256 JSON Web Tokens for the REST API.
+ * Every API request verifies a bearer token, so verification avoids
+ * per-request allocation:
+ * <ul>
+ *   <li>each thread reuses one initialized Mac per signing key;</li>
+ *   <li>Base64URL segments are decoded straight from the token into
+ *       per-thread buffers, without intermediate Strings;</li>
+ *   <li>verified tokens are remembered in a small direct-mapped cache indexed
+ *       by their signature, so a repeated token costs one String comparison.</li>
+ * </ul>
+ * Keys carry an id (kid) in the token header. rotateKey makes a new key
+ * current while tokens signed with older keys stay valid until the key is
+ * retired.
+ * <p>
+ * The signing secret comes from the JWT_SECRET environment variable, or the
+ * JWT_SECRET_JNDI entry when it is not set. The application refuses to start
+ * without one, or with one shorter than JWT_SECRET_MIN_BYTES or equal to a
+ * shipped placeholder, since anyone with the source could otherwise sign
+ * tokens for any user.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class JWTProvider {
+    
+    private static final Logger LOGGER = Logger.getLogger(JWTProvider.class.getName());
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final int SIGNATURE_BYTES = 32;
+    private static final int SIGNATURE_CHARS = 43;
+    
+    /** Base64URL alphabet value of each ASCII character, -1 if not in the alphabet */
+    private static final byte[] DECODE = new byte[128];
+    
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+    
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    
+    /** Verification keys, current key first; replaced as a whole on rotation */
+    private volatile SigningKey[] keys = new SigningKey[0];
+    
+    private final AtomicReferenceArray<VerifiedToken> verified =
+        new AtomicReferenceArray<>(SecurityConfig.JWT_VERIFIED_CACHE_SIZE);
+    
+    /**
+     * Load the configured signing secret
+     *
+     * @throws IllegalStateException if the secret is missing or weak
+     */
+    @PostConstruct
+    void init() {
+        rotateKey(SecurityConfig.JWT_KEY_ID, checkSecret(configuredSecret()));
+    }
+    
+    /**
+     * Create the bean when the application starts, so a missing or weak
+     * secret fails the deployment instead of the first login
+     */
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        LOGGER.fine("JWT provider ready with key " + keys[0].id);
+    }
+    
+    /**
+     * Check that a signing secret is long enough and not a shipped placeholder
+     *
+     * @return the secret's bytes
+     * @throws IllegalStateException if the secret must not be used
+     */
+    public static byte[] checkSecret(String secret) {
+        if (secret == null || secret.trim().isEmpty()) {
+            throw new IllegalStateException("JWT signing secret is not configured; set the "
+                                            + SecurityConfig.JWT_SECRET_ENV + " environment variable");
+        }
+        for (String placeholder : SecurityConfig.JWT_PLACEHOLDER_SECRETS) {
+            if (placeholder.equals(secret.trim())) {
+                throw new IllegalStateException("JWT signing secret is a shipped placeholder; set "
+                                                + SecurityConfig.JWT_SECRET_ENV + " to a random value");
+            }
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < SecurityConfig.JWT_SECRET_MIN_BYTES) {
+            throw new IllegalStateException("JWT signing secret must be at least "
+                                            + SecurityConfig.JWT_SECRET_MIN_BYTES + " bytes");
+        }
+        return bytes;
+    }
+    
+    /**
+     * Issue a token for a user, signed with the current key
+     */
+    public String createToken(Long userId, String email, String role) {
+        SigningKey[] current = keys;
+        if (current.length == 0) {
+            throw new IllegalStateException("No JWT signing key configured");
+        }
+        SigningKey key = current[0];
+        long now = System.currentTimeMillis() / 1000L;
+        long expiresAt = now + SecurityConfig.JWT_EXPIRATION_MS / 1000L;
+        
+        StringBuilder payload = new StringBuilder(192);
+        payload.append("{\"sub\":\"").append(userId).append("\",\"email\":");
+        appendJsonString(payload, email);
+        payload.append(",\"role\":");
+        appendJsonString(payload, role);
+        payload.append(",\"iss\":");
+        appendJsonString(payload, SecurityConfig.JWT_ISSUER);
+        payload.append(",\"aud\":");
+        appendJsonString(payload, SecurityConfig.JWT_AUDIENCE);
+        payload.append(",\"iat\":").append(now).append(",\"exp\":").append(expiresAt).append('}');
+        
+        String signingInput = key.encodedHeader + '.'
+            + ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] signature = sign(key, signingInput, signingInput.length(), SCRATCH.get());
+        return signingInput + '.' + ENCODER.encodeToString(signature);
+    }
+    
+    /**
+     * Verify a token's signature, issuer, audience and expiry
+     *
+     * @return the token's claims, or empty if the token is not valid
+     */
+    public Optional<JWTClaims> verifyToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.length() - secondDot - 1 != SIGNATURE_CHARS) {
+            return Optional.empty();
+        }
+        
+        long now = System.currentTimeMillis();
+        int slot = slot(token, secondDot + 1);
+        VerifiedToken cached = verified.get(slot);
+        byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+        // Constant-time, so timing does not reveal how much of a forged signature matches
+        if (cached != null && MessageDigest.isEqual(cached.token, tokenBytes)) {
+            return cached.claims.isExpired(now) ? Optional.empty() : Optional.of(cached.claims);
+        }
+        
+        SigningKey key = keyFor(token, firstDot);
+        if (key == null) {
+            return Optional.empty();
+        }
+        
+        Scratch scratch = SCRATCH.get();
+        if (decode(token, secondDot + 1, token.length(), scratch.signature) != SIGNATURE_BYTES
+                || !MessageDigest.isEqual(sign(key, token, secondDot, scratch), scratch.signature)) {
+            return Optional.empty();
+        }
+        
+        int payloadLength = decode(token, firstDot + 1, secondDot, scratch.buffer(secondDot - firstDot));
+        JWTClaims claims = payloadLength < 0 ? null : parseClaims(scratch.buffer, payloadLength, key.id);
+        if (claims == null || claims.isExpired(now)
+                || claims.getIssuedAt() > now + SecurityConfig.JWT_CLOCK_SKEW_MS) {
+            return Optional.empty();
+        }
+        
+        verified.set(slot, new VerifiedToken(tokenBytes, claims));
+        return Optional.of(claims);
+    }
+    
+    /**
+     * Sign new tokens with a new key. Tokens signed with earlier keys stay
+     * valid until those keys are retired.
+     */
+    public synchronized void rotateKey(String keyId, byte[] secret) {
+        SigningKey key = new SigningKey(keyId, secret);
+        SigningKey[] rotated = new SigningKey[keys.length + 1];
+        rotated[0] = key;
+        int next = 1;
+        for (SigningKey existing : keys) {
+            if (!existing.id.equals(keyId)) {
+                rotated[next++] = existing;
+            }
+        }
+        keys = Arrays.copyOf(rotated, next);
+        LOGGER.info("JWT signing key is now " + keyId);
+    }
+    
+    /**
+     * Reject tokens signed with a key. The current key cannot be retired.
+     */
+    public synchronized void retireKey(String keyId) {
+        if (keys[0].id.equals(keyId)) {
+            throw new IllegalArgumentException("Cannot retire the current JWT key: " + keyId);
+        }
+        keys = Arrays.stream(keys).filter(key -> !key.id.equals(keyId)).toArray(SigningKey[]::new);
+        
+        // Forget tokens verified with the retired key
+        for (int i = 0; i < verified.length(); i++) {
+            VerifiedToken cached = verified.get(i);
+            if (cached != null && cached.claims.getKeyId().equals(keyId)) {
+                verified.compareAndSet(i, cached, null);
+            }
+        }
+        LOGGER.info("JWT key retired: " + keyId);
+    }
+    
+    // Private helper methods
+    
+    private static String configuredSecret() {
+        String secret = System.getenv(SecurityConfig.JWT_SECRET_ENV);
+        if (secret != null && !secret.isEmpty()) {
+            return secret;
+        }
+        try {
+            return (String) new InitialContext().lookup(SecurityConfig.JWT_SECRET_JNDI);
+        } catch (NamingException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Cache slot of a token. Signatures are uniformly random, so their first
+     * characters index the cache well.
+     */
+    private static int slot(String token, int signatureStart) {
+        int hash = 0;
+        for (int i = signatureStart; i < signatureStart + 8; i++) {
+            hash = hash * 64 + token.charAt(i);
+        }
+        return (hash ^ (hash >>> 16)) & (SecurityConfig.JWT_VERIFIED_CACHE_SIZE - 1);
+    }
+    
+    /**
+     * Key whose header the token carries. Only headers issued here are
+     * accepted, which also pins the algorithm.
+     */
+    private SigningKey keyFor(String token, int headerEnd) {
+        for (SigningKey key : keys) {
+            if (key.encodedHeader.length() == headerEnd && token.regionMatches(0, key.encodedHeader, 0, headerEnd)) {
+                return key;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * HMAC of the first length characters of the token, into the thread's buffer
+     */
+    private static byte[] sign(SigningKey key, String token, int length, Scratch scratch) {
+        byte[] input = scratch.buffer(length);
+        for (int i = 0; i < length; i++) {
+            input[i] = (byte) token.charAt(i);
+        }
+        
+        Mac mac = key.mac.get();
+        try {
+            mac.update(input, 0, length);
+            mac.doFinal(scratch.expected, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign JWT", e);
+        }
+        return scratch.expected;
+    }
+    
+    /**
+     * Decode unpadded Base64URL characters into the target
+     *
+     * @return the number of bytes decoded, or -1 if the input is not canonical Base64URL or does not fit
+     */
+    private static int decode(String token, int from, int to, byte[] target) {
+        int bits = 0;
+        int bitCount = 0;
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? DECODE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (length == target.length) {
+                    return -1;
+                }
+                target[length++] = (byte) (bits >> bitCount);
+            }
+        }
+        // Leftover bits must be zero, so each byte sequence has one encoding
+        return (bits & ((1 << bitCount) - 1)) == 0 ? length : -1;
+    }
+    
+    /**
+     * Read the claims of a decoded payload, or null if they are malformed or
+     * not issued for this application
+     */
+    private static JWTClaims parseClaims(byte[] json, int length, String keyId) {
+        ClaimsReader reader = new ClaimsReader(json, length);
+        try {
+            reader.expect('{');
+            String subject = null;
+            String email = null;
+            String role = null;
+            String issuer = null;
+            String audience = null;
+            long issuedAt = -1L;
+            long expiresAt = -1L;
+            while (!reader.next('}')) {
+                String name = reader.string();
+                reader.expect(':');
+                switch (name) {
+                    case "sub": subject = reader.string(); break;
+                    case "email": email = reader.string(); break;
+                    case "role": role = reader.string(); break;
+                    case "iss": issuer = reader.string(); break;
+                    case "aud": audience = reader.string(); break;
+                    case "iat": issuedAt = reader.number(); break;
+                    case "exp": expiresAt = reader.number(); break;
+                    default: reader.skipValue(); break;
+                }
+                reader.next(',');
+            }
+            
+            if (subject == null || role == null || issuedAt < 0 || expiresAt < 0
+                    || !SecurityConfig.JWT_ISSUER.equals(issuer) || !SecurityConfig.JWT_AUDIENCE.equals(audience)) {
+                return null;
+            }
+            return new JWTClaims(Long.valueOf(subject), email, role, keyId, issuedAt * 1000L, expiresAt * 1000L);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static void appendJsonString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+    
+    /**
+     * A signing key and each thread's Mac initialized with it
+     */
+    private static final class SigningKey {
+        private final String id;
+        private final String encodedHeader;
+        private final ThreadLocal<Mac> mac;
+        
+        SigningKey(String id, byte[] secret) {
+            SecretKeySpec spec = new SecretKeySpec(secret, SecurityConfig.JWT_MAC_ALGORITHM);
+            StringBuilder header = new StringBuilder("{\"alg\":\"").append(SecurityConfig.JWT_ALGORITHM)
+                .append("\",\"typ\":\"JWT\",\"kid\":");
+            appendJsonString(header, id);
+            header.append('}');
+            
+            this.id = id;
+            this.encodedHeader = ENCODER.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8));
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance(SecurityConfig.JWT_MAC_ALGORITHM);
+                    instance.init(spec);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("JWT MAC algorithm unavailable", e);
+                }
+            });
+        }
+    }
+    
+    private static final class VerifiedToken {
+        private final byte[] token;
+        private final JWTClaims claims;
+        
+        VerifiedToken(byte[] token, JWTClaims claims) {
+            this.token = token;
+            this.claims = claims;
+        }
+    }
+    
+    /**
+     * Per-thread buffers for verification
+     */
+    private static final class Scratch {
+        private final byte[] signature = new byte[SIGNATURE_BYTES];
+        private final byte[] expected = new byte[SIGNATURE_BYTES];
+        private byte[] buffer = new byte[1024];
+        
+        byte[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new byte[Integer.highestOneBit(length) << 1];
+            }
+            return buffer;
+        }
+    }
+    
+    /**
+     * Reads the flat JSON object of a token payload
+     */
+    private static final class ClaimsReader {
+        private final byte[] json;
+        private final int length;
+        private int position;
+        
+        ClaimsReader(byte[] json, int length) {
+            this.json = json;
+            this.length = length;
+        }
+        
+        void expect(char c) {
+            if (!next(c)) {
+                throw new IllegalArgumentException("Expected " + c);
+            }
+        }
+        
+        boolean next(char c) {
+            skipWhitespace();
+            if (position < length && json[position] == c) {
+                position++;
+                return true;
+            }
+            if (position >= length) {
+                throw new IllegalArgumentException("Unexpected end of claims");
+            }
+            return false;
+        }
+        
+        String string() {
+            expect('"');
+            int start = position;
+            boolean escaped = false;
+            while (position < length && json[position] != '"') {
+                escaped |= json[position] == '\\';
+                position += json[position] == '\\' ? 2 : 1;
+            }
+            if (position >= length) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            String value = new String(json, start, position - start, StandardCharsets.UTF_8);
+            position++;
+            return escaped ? unescape(value) : value;
+        }
+        
+        long number() {
+            skipWhitespace();
+            long value = 0;
+            int start = position;
+            while (position < length && json[position] >= '0' && json[position] <= '9') {
+                value = Math.multiplyExact(value, 10L) + (json[position++] - '0');
+            }
+            if (position == start) {
+                throw new IllegalArgumentException("Expected a number");
+            }
+            return value;
+        }
+        
+        void skipValue() {
+            skipWhitespace();
+            if (position < length && json[position] == '"') {
+                string();
+                return;
+            }
+            // Numbers and literals; nested values never occur in our tokens
+            while (position < length && json[position] != ',' && json[position] != '}') {
+                if (json[position] == '{' || json[position] == '[') {
+                    throw new IllegalArgumentException("Nested claims are not supported");
+                }
+                position++;
+            }
+        }
+        
+        private void skipWhitespace() {
+            while (position < length && (json[position] == ' ' || json[position] == '\t'
+                    || json[position] == '\n' || json[position] == '\r')) {
+                position++;
+            }
+        }
+        
+        private static String unescape(String value) {
+            StringBuilder unescaped = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c != '\\') {
+                    unescaped.append(c);
+                    continue;
+                }
+                char escape = value.charAt(++i);
+                switch (escape) {
+                    case 'b': unescaped.append('\b'); break;
+                    case 'f': unescaped.append('\f'); break;
+                    case 'n': unescaped.append('\n'); break;
+                    case 'r': unescaped.append('\r'); break;
+                    case 't': unescaped.append('\t'); break;
+                    case 'u':
+                        unescaped.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default: unescaped.append(escape); break;
+                }
+            }
+            return unescaped.toString();
+        }
+    }
+}
\ No newline at end of file
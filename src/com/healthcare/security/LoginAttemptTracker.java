@@ -0,0 +1,211 @@
+package com.healthcare.security;
+
+import com.healthcare.config.SecurityConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+/**
+ * Failed login attempts per account and per client IP, for account lockout.
+ * Checked before the password is verified, so credential stuffing is turned
+ * away without spending a BCrypt hash on it.
+ * <p>
+ * Failures are counted in fixed-size tables of atomic counters, so an
+ * attacker cycling through random emails cannot grow memory. Each key maps
+ * to one counter in each of two rows. Counters are tagged with a
+ * fingerprint of their key, so colliding keys overwrite each other rather
+ * than add up: under a flood of distinct keys lockout fails open instead of
+ * locking out every account. Every counter holds one count per time bucket
+ * of the lockout window; old buckets drop out of the sum, so failures decay
+ * rather than being reset by a sweeper.
+ * Keys are hashed with a per-node random seed so collisions cannot be
+ * aimed at an account.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class LoginAttemptTracker {
+    
+    private static final Logger LOGGER = Logger.getLogger(LoginAttemptTracker.class.getName());
+    
+    private static final long BUCKET_MS =
+        SecurityConfig.LOCKOUT_DURATION_MINUTES * 60_000L / SecurityConfig.LOGIN_ATTEMPT_BUCKETS;
+    
+    private final long seed = new SecureRandom().nextLong();
+    private final Clock clock;
+    
+    private final AttemptTable accounts = new AttemptTable(SecurityConfig.MAX_LOGIN_ATTEMPTS);
+    private final AttemptTable clients = new AttemptTable(SecurityConfig.MAX_LOGIN_ATTEMPTS_PER_IP);
+    
+    public LoginAttemptTracker() {
+        this(Clock.systemUTC());
+    }
+    
+    /**
+     * @param clock time source for the decay buckets
+     */
+    public LoginAttemptTracker(Clock clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Whether logins for the account, or from the client, are locked out
+     *
+     * @param clientIp null if unknown
+     */
+    public boolean isBlocked(String email, String clientIp) {
+        if (!SecurityConfig.ENABLE_ACCOUNT_LOCKOUT) {
+            return false;
+        }
+        long bucket = currentBucket();
+        return accounts.isLocked(hash(normalize(email)), bucket)
+            || clientIp != null && clients.isLocked(hash(clientIp), bucket);
+    }
+    
+    /**
+     * Count a failed login, whether the account exists or not
+     */
+    public void loginFailed(String email, String clientIp) {
+        long bucket = currentBucket();
+        if (accounts.record(hash(normalize(email)), bucket)) {
+            LOGGER.warning("Account locked after " + SecurityConfig.MAX_LOGIN_ATTEMPTS + " failed logins: " + email);
+        }
+        if (clientIp != null && clients.record(hash(clientIp), bucket)) {
+            LOGGER.warning("Client locked after " + SecurityConfig.MAX_LOGIN_ATTEMPTS_PER_IP
+                           + " failed logins: " + clientIp);
+        }
+    }
+    
+    /**
+     * Forget the account's failed logins. Client failures keep counting, so
+     * one valid account does not unlock an IP trying many others.
+     */
+    public void loginSucceeded(String email) {
+        accounts.clear(hash(normalize(email)));
+    }
+    
+    // Private helper methods
+    
+    private long currentBucket() {
+        return clock.millis() / BUCKET_MS;
+    }
+    
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Seeded FNV-1a with a final avalanche
+     */
+    private long hash(String key) {
+        long hash = seed ^ 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+    
+    /**
+     * Two rows of counters; each counter is LOGIN_ATTEMPT_BUCKETS cells, one per
+     * time bucket. A cell packs a fingerprint of the key it counts (high 24
+     * bits), its bucket (next 24 bits) and its count (low 16 bits).
+     */
+    private static final class AttemptTable {
+        private static final int ROWS = 2;
+        private static final int BUCKETS = SecurityConfig.LOGIN_ATTEMPT_BUCKETS;
+        private static final int SLOTS = SecurityConfig.LOGIN_ATTEMPT_SLOTS;
+        private static final long COUNT_MASK = 0xFFFFL;
+        private static final long FIELD_MASK = 0xFFFFFFL;
+        
+        private final int threshold;
+        private final AtomicLongArray cells = new AtomicLongArray(ROWS * SLOTS * BUCKETS);
+        
+        AttemptTable(int threshold) {
+            this.threshold = threshold;
+        }
+        
+        boolean isLocked(long hash, long bucket) {
+            return count(hash, bucket) >= threshold;
+        }
+        
+        /**
+         * Count a failure in the current bucket. A cell held by another key
+         * is taken over, which can only forgive that key's failures.
+         *
+         * @return whether this failure reached the threshold
+         */
+        boolean record(long hash, long bucket) {
+            long owner = fingerprint(hash) << 40 | (bucket & FIELD_MASK) << 16;
+            for (int row = 0; row < ROWS; row++) {
+                int cell = counterStart(hash, row) + (int) (bucket % BUCKETS);
+                while (true) {
+                    long value = cells.get(cell);
+                    long updated;
+                    if ((value & ~COUNT_MASK) != owner) {
+                        updated = owner | 1L;
+                    } else if ((value & COUNT_MASK) == COUNT_MASK) {
+                        break;
+                    } else {
+                        updated = value + 1;
+                    }
+                    if (cells.compareAndSet(cell, value, updated)) {
+                        break;
+                    }
+                }
+            }
+            return count(hash, bucket) == threshold;
+        }
+        
+        void clear(long hash) {
+            long fingerprint = fingerprint(hash);
+            for (int row = 0; row < ROWS; row++) {
+                int start = counterStart(hash, row);
+                for (int i = 0; i < BUCKETS; i++) {
+                    long value = cells.get(start + i);
+                    if (value >>> 40 == fingerprint) {
+                        cells.compareAndSet(start + i, value, 0L);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Failures of the key within the lockout window. Cells are only ever
+         * lost to other keys, so the larger of the two counters is the closer.
+         */
+        private int count(long hash, long bucket) {
+            long fingerprint = fingerprint(hash);
+            int count = 0;
+            for (int row = 0; row < ROWS; row++) {
+                int start = counterStart(hash, row);
+                int sum = 0;
+                for (int i = 0; i < BUCKETS; i++) {
+                    long value = cells.get(start + i);
+                    if (value >>> 40 == fingerprint && (bucket - (value >>> 16) & FIELD_MASK) < BUCKETS) {
+                        sum += (int) (value & COUNT_MASK);
+                    }
+                }
+                count = Math.max(count, sum);
+            }
+            return count;
+        }
+        
+        /**
+         * Hash bits 16 to 39, which neither row uses for its slot
+         */
+        private static long fingerprint(long hash) {
+            return hash >>> 16 & FIELD_MASK;
+        }
+        
+        private static int counterStart(long hash, int row) {
+            int slot = (int) (row == 0 ? hash : hash >>> 32) & (SLOTS - 1);
+            return (row * SLOTS + slot) * BUCKETS;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.healthcare.security;
+
+import com.healthcare.config.SecurityConfig;
+import com.healthcare.entity.User;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Authenticated principals per user, so that authenticating a request does
+ * not load the User. Entries live for PRINCIPAL_CACHE_TTL_MS, and the oldest
+ * are dropped beyond PRINCIPAL_CACHE_MAX_SIZE; UserService invalidates a
+ * user when its activation or details change, and other nodes' changes
+ * arrive through CacheInvalidationBus.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class PrincipalCache {
+    
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final ConcurrentHashMap<Long, Entry> principals = new ConcurrentHashMap<>();
+    
+    /** Bumped by every invalidation, so a load racing one is not cached */
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    
+    /**
+     * Principal of a user for a token expiring at the given time
+     *
+     * @param loader loads the user on a miss
+     * @return empty if the user no longer exists
+     */
+    public Optional<AuthenticatedPrincipal> resolve(Long userId, long expiresAt,
+                                                    Function<Long, Optional<User>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = principals.get(userId);
+        if (entry != null && now - entry.loadedAt < SecurityConfig.PRINCIPAL_CACHE_TTL_MS) {
+            AuthenticatedPrincipal principal = entry.principal.withExpiry(expiresAt);
+            if (principal != entry.principal) {
+                principals.replace(userId, entry, new Entry(principal, entry.loadedAt));
+            }
+            return Optional.of(principal);
+        }
+        
+        long stamp = invalidations.get();
+        Optional<User> user = loader.apply(userId);
+        if (!user.isPresent()) {
+            principals.remove(userId);
+            return Optional.empty();
+        }
+        
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(
+            userId, RoleChecker.mask(user.get().getRole()), Boolean.TRUE.equals(user.get().getIsActive()), expiresAt);
+        if (invalidations.get() == stamp) {
+            principals.put(userId, new Entry(principal, now));
+            if (principals.size() > SecurityConfig.PRINCIPAL_CACHE_MAX_SIZE) {
+                trim(now);
+            }
+        }
+        return Optional.of(principal);
+    }
+    
+    /**
+     * Forget a user's principal when the current transaction commits, or
+     * immediately if there is none
+     */
+    public void invalidateOnCommit(Long userId) {
+        Set<Long> pending = pendingChanges();
+        if (pending != null) {
+            pending.add(userId);
+        } else {
+            invalidate(userId);
+        }
+    }
+    
+    /**
+     * Forget a user's principal
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        principals.remove(userId);
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Drop expired principals, then the oldest loaded ones down to three
+     * quarters of PRINCIPAL_CACHE_MAX_SIZE, so new users always get cached
+     */
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        
+        try {
+            principals.values().removeIf(cached -> now - cached.loadedAt >= SecurityConfig.PRINCIPAL_CACHE_TTL_MS);
+            int excess = principals.size() - SecurityConfig.PRINCIPAL_CACHE_MAX_SIZE * 3 / 4;
+            if (excess > 0) {
+                principals.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(principals::remove);
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+    
+    /**
+     * Users changed in the current transaction, invalidated when it commits
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        Set<Long> pending = (Set<Long>) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            Set<Long> changes = new HashSet<>();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        changes.forEach(PrincipalCache.this::invalidate);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private static final class Entry {
+        private final AuthenticatedPrincipal principal;
+        private final long loadedAt;
+        
+        Entry(AuthenticatedPrincipal principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.healthcare.security;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.entity.UserRole;
+import jakarta.servlet.ServletRequest;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+
+/**
+ * Role-based authorization of API callers.
+ * Checks are a bitmask test against the request's AuthenticatedPrincipal,
+ * with no database access. The require methods are for REST resources: an
+ * anonymous caller gets 401 and a caller without the role 403.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class RoleChecker {
+    
+    public static final int ADMIN = mask(UserRole.ADMIN);
+    public static final int DOCTOR = mask(UserRole.DOCTOR);
+    public static final int PATIENT = mask(UserRole.PATIENT);
+    public static final int ANY = mask(UserRole.values());
+    
+    private RoleChecker() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+    
+    /**
+     * Bitmask of the given roles
+     */
+    public static int mask(UserRole... roles) {
+        int mask = 0;
+        for (UserRole role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+        return mask;
+    }
+    
+    /**
+     * Whether the principal is active and has one of the roles in the mask
+     */
+    public static boolean hasAnyRole(AuthenticatedPrincipal principal, int roleMask) {
+        return principal != null && principal.isActive() && (principal.getRoleMask() & roleMask) != 0;
+    }
+    
+    /**
+     * Whether the caller of the request is active and has one of the roles in the mask
+     */
+    public static boolean hasAnyRole(ServletRequest request, int roleMask) {
+        return hasAnyRole(AuthenticatedPrincipal.of(request), roleMask);
+    }
+    
+    /**
+     * Whether the caller is the given user, or an administrator
+     */
+    public static boolean isSelfOrAdmin(ServletRequest request, Long userId) {
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.of(request);
+        return hasAnyRole(principal, ADMIN) || principal != null && principal.isActive()
+            && principal.getUserId().equals(userId);
+    }
+    
+    /**
+     * Require the caller to have one of the roles in the mask
+     *
+     * @throws NotAuthorizedException if the caller is anonymous
+     * @throws ForbiddenException if the caller has none of the roles
+     */
+    public static AuthenticatedPrincipal requireRole(ServletRequest request, int roleMask) {
+        AuthenticatedPrincipal principal = requirePrincipal(request);
+        if (!hasAnyRole(principal, roleMask)) {
+            throw new ForbiddenException(AppConstants.ERROR_UNAUTHORIZED);
+        }
+        return principal;
+    }
+    
+    /**
+     * Require the caller to be the given user, or an administrator
+     *
+     * @throws NotAuthorizedException if the caller is anonymous
+     * @throws ForbiddenException if the caller is another, non-admin user
+     */
+    public static AuthenticatedPrincipal requireSelfOrAdmin(ServletRequest request, Long userId) {
+        AuthenticatedPrincipal principal = requirePrincipal(request);
+        if (!isSelfOrAdmin(request, userId)) {
+            throw new ForbiddenException(AppConstants.ERROR_UNAUTHORIZED);
+        }
+        return principal;
+    }
+    
+    // Private helper methods
+    
+    private static AuthenticatedPrincipal requirePrincipal(ServletRequest request) {
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.of(request);
+        if (principal == null) {
+            throw new NotAuthorizedException("Authentication required", "Bearer");
+        }
+        return principal;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.AppointmentDTO;
+import com.healthcare.dto.AvailableSlotDTO;
+import com.healthcare.dto.DayAvailabilityDTO;
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.Appointment;
 import com.healthcare.entity.AppointmentStatus;
 import com.healthcare.entity.Doctor;
@@ -8,13 +13,25 @@ import com.healthcare.entity.User;
 import com.healthcare.exception.NotFoundException;
 import com.healthcare.exception.ValidationException;
 import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.ResultStreams;
+import com.healthcare.scheduling.BookingLocks;
+import com.healthcare.scheduling.DaySchedule;
+import com.healthcare.scheduling.DoctorScheduleIndex;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 
 /**
@@ -41,6 +58,15 @@ public class AppointmentService {
     @Inject
     private NotificationService notificationService;
     
+    @Inject
+    private DoctorScheduleIndex scheduleIndex;
+    
+    @Inject
+    private BookingLocks bookingLocks;
+    
+    @Inject
+    private CacheInvalidationBus cacheInvalidation;
+    
     /**
      * Find appointment by ID
      */
@@ -58,6 +84,32 @@ public class AppointmentService {
         return appointmentRepository.findAll();
     }
     
+    /**
+     * Pass every appointment to the consumer in constant memory, for exports and batch jobs
+     *
+     * @return number of appointments streamed
+     */
+    public long streamAll(Consumer<? super Appointment> consumer) {
+        LOGGER.info("Streaming all appointments");
+        return ResultStreams.forEach(appointmentRepository.streamAll(), consumer);
+    }
+    
+    /**
+     * Pass appointments matching the export filters to the consumer as list view DTOs,
+     * newest first, in constant memory. Null filters are ignored.
+     *
+     * @return number of appointments exported
+     */
+    public long exportList(LocalDate fromDate, LocalDate toDate, Long doctorId, AppointmentStatus status,
+                           Consumer<? super AppointmentDTO> consumer) {
+        LOGGER.info("Exporting appointments from " + fromDate + " to " + toDate);
+        
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        return ResultStreams.forEach(appointmentRepository.streamList(fromDate, toDate, doctorId, status), consumer);
+    }
+    
     /**
      * Find appointments by patient
      */
@@ -74,6 +126,22 @@ public class AppointmentService {
         return appointmentRepository.findByDoctor(doctorId);
     }
     
+    /**
+     * List appointments of a patient for display, without loading entities
+     */
+    public List<AppointmentDTO> listByPatient(Long patientId) {
+        LOGGER.info("Listing appointments for patient ID: " + patientId);
+        return appointmentRepository.listByPatient(patientId);
+    }
+    
+    /**
+     * List appointments of a doctor for display, without loading entities
+     */
+    public List<AppointmentDTO> listByDoctor(Long doctorId) {
+        LOGGER.info("Listing appointments for doctor ID: " + doctorId);
+        return appointmentRepository.listByDoctor(doctorId);
+    }
+    
     /**
      * Find upcoming appointments
      */
@@ -101,25 +169,16 @@ public class AppointmentService {
         
         // Get patient and doctor
         Patient patient = patientService.findById(patientId);
-        Doctor doctor = doctorService.findById(doctorId);
+        Doctor doctor = findBookableDoctor(doctorId);
         
-        // Verify doctor is approved and available
-        if (!doctor.isApproved()) {
-            throw new ValidationException("Doctor is not approved");
-        }
+        int duration = durationMinutes != null ? durationMinutes : AppConstants.DEFAULT_APPOINTMENT_DURATION;
         
-        if (!doctor.isAvailable()) {
-            throw new ValidationException("Doctor is not available");
-        }
-        
-        // Check for scheduling conflicts
-        List<Appointment> existingAppointments = appointmentRepository
-            .findDoctorSchedule(doctorId, appointmentDate);
-        
-        for (Appointment existing : existingAppointments) {
-            if (hasTimeConflict(existing, appointmentTime, durationMinutes)) {
-                throw new ValidationException("Time slot is not available");
-            }
+        // Serialize bookings for this doctor and day until commit, then check for conflicts
+        // against the day as committed in the database
+        bookingLocks.lock(doctorId, appointmentDate);
+        scheduleIndex.reload(doctorId, appointmentDate, appointmentDate);
+        if (scheduleIndex.hasConflict(doctorId, appointmentDate, appointmentTime, duration)) {
+            throw new ValidationException("Time slot is not available");
         }
         
         // Create appointment
@@ -128,11 +187,13 @@ public class AppointmentService {
         appointment.setDoctor(doctor);
         appointment.setAppointmentDate(appointmentDate);
         appointment.setAppointmentTime(appointmentTime);
-        appointment.setDurationMinutes(durationMinutes != null ? durationMinutes : 30);
+        appointment.setDurationMinutes(duration);
         appointment.setReason(reason);
         appointment.setStatus(AppointmentStatus.SCHEDULED);
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        scheduleIndex.put(savedAppointment);
+        cacheInvalidation.scheduleChanged(doctorId, appointmentDate);
         LOGGER.info("Appointment created successfully with ID: " + savedAppointment.getId());
         
         // Send notification to doctor
@@ -141,6 +202,106 @@ public class AppointmentService {
         return savedAppointment;
     }
     
+    /**
+     * Create a recurring series of appointments, e.g. weekly follow-up care
+     */
+    public List<Appointment> createRecurringAppointments(Long patientId, Long doctorId,
+                                                         LocalDate firstDate, LocalTime appointmentTime,
+                                                         Integer durationMinutes, String reason,
+                                                         int intervalDays, int occurrences) {
+        LOGGER.info("Creating recurring appointments: " + occurrences + " every " + intervalDays + " days");
+        
+        if (firstDate == null) {
+            throw new ValidationException("First appointment date is required");
+        }
+        
+        if (intervalDays < 1) {
+            throw new ValidationException("Recurrence interval must be at least 1 day");
+        }
+        
+        if (occurrences < 1 || occurrences > AppConstants.MAX_RECURRING_OCCURRENCES) {
+            throw new ValidationException("Occurrences must be between 1 and " + AppConstants.MAX_RECURRING_OCCURRENCES);
+        }
+        
+        List<LocalDate> dates = new ArrayList<>(occurrences);
+        for (int i = 0; i < occurrences; i++) {
+            dates.add(firstDate.plusDays((long) i * intervalDays));
+        }
+        
+        return createAppointments(patientId, doctorId, dates, appointmentTime, durationMinutes, reason);
+    }
+    
+    /**
+     * Create appointments on several dates in one transaction.
+     * Every date is validated against the doctor's schedule before anything is
+     * saved, all rows are written with a single flush, and each participant
+     * receives one summarized notification.
+     */
+    public List<Appointment> createAppointments(Long patientId, Long doctorId, List<LocalDate> dates,
+                                                LocalTime appointmentTime, Integer durationMinutes,
+                                                String reason) {
+        LOGGER.info("Creating appointments in bulk");
+        
+        // Validate inputs
+        if (dates == null || dates.isEmpty() || appointmentTime == null) {
+            throw new ValidationException("Appointment dates and time are required");
+        }
+        
+        if (dates.size() > AppConstants.MAX_RECURRING_OCCURRENCES) {
+            throw new ValidationException("Cannot create more than " + AppConstants.MAX_RECURRING_OCCURRENCES + " appointments at once");
+        }
+        
+        TreeSet<LocalDate> sortedDates = new TreeSet<>();
+        for (LocalDate date : dates) {
+            if (date == null) {
+                throw new ValidationException("Appointment date is required");
+            }
+            if (!sortedDates.add(date)) {
+                throw new ValidationException("Duplicate appointment date: " + date);
+            }
+        }
+        
+        if (sortedDates.first().isBefore(LocalDate.now())) {
+            throw new ValidationException("Appointment date cannot be in the past");
+        }
+        
+        // Get patient and doctor once for the whole series
+        Patient patient = patientService.findById(patientId);
+        Doctor doctor = findBookableDoctor(doctorId);
+        
+        int duration = durationMinutes != null ? durationMinutes : AppConstants.DEFAULT_APPOINTMENT_DURATION;
+        
+        // Lock every affected day, load the range in one query and check all occurrences
+        bookingLocks.lockAll(doctorId, sortedDates);
+        scheduleIndex.reload(doctorId, sortedDates.first(), sortedDates.last());
+        for (LocalDate date : sortedDates) {
+            if (scheduleIndex.hasConflict(doctorId, date, appointmentTime, duration)) {
+                throw new ValidationException("Time slot is not available on " + date);
+            }
+        }
+        
+        List<Appointment> appointments = new ArrayList<>(sortedDates.size());
+        for (LocalDate date : sortedDates) {
+            Appointment appointment = new Appointment(patient, doctor, date, appointmentTime);
+            appointment.setDurationMinutes(duration);
+            appointment.setReason(reason);
+            appointment.setStatus(AppointmentStatus.SCHEDULED);
+            appointments.add(appointment);
+        }
+        
+        List<Appointment> savedAppointments = appointmentRepository.saveAll(appointments);
+        for (Appointment appointment : savedAppointments) {
+            scheduleIndex.put(appointment);
+            cacheInvalidation.scheduleChanged(doctorId, appointment.getAppointmentDate());
+        }
+        LOGGER.info(savedAppointments.size() + " appointments created successfully");
+        
+        // One summary notification per participant
+        notificationService.sendAppointmentSeriesNotification(savedAppointments);
+        
+        return savedAppointments;
+    }
+    
     /**
      * Update appointment
      */
@@ -156,6 +317,22 @@ public class AppointmentService {
             throw new ValidationException("Can only update scheduled appointments");
         }
         
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDate previousDate = appointment.getAppointmentDate();
+        
+        // Check the new slot against the doctor's schedule, ignoring this appointment
+        if (appointmentDate != null || appointmentTime != null || durationMinutes != null) {
+            LocalDate newDate = appointmentDate != null ? appointmentDate : previousDate;
+            LocalTime newTime = appointmentTime != null ? appointmentTime : appointment.getAppointmentTime();
+            int newDuration = durationMinutes != null ? durationMinutes : appointment.getDurationMinutes();
+            
+            bookingLocks.lockAll(doctorId, Arrays.asList(previousDate, newDate));
+            scheduleIndex.reload(doctorId, newDate, newDate);
+            if (scheduleIndex.hasConflict(doctorId, newDate, newTime, newDuration, appointmentId)) {
+                throw new ValidationException("Time slot is not available");
+            }
+        }
+        
         // Update fields
         if (appointmentDate != null) {
             appointment.setAppointmentDate(appointmentDate);
@@ -173,7 +350,13 @@ public class AppointmentService {
             appointment.setNotes(notes);
         }
         
-        Appointment updatedAppointment = appointmentRepository.update(appointment);
+        Appointment updatedAppointment = updateChecked(appointment);
+        if (!previousDate.equals(updatedAppointment.getAppointmentDate())) {
+            scheduleIndex.remove(doctorId, previousDate, appointmentId);
+            cacheInvalidation.scheduleChanged(doctorId, previousDate);
+        }
+        scheduleIndex.put(updatedAppointment);
+        cacheInvalidation.scheduleChanged(doctorId, updatedAppointment.getAppointmentDate());
         LOGGER.info("Appointment updated successfully");
         
         return updatedAppointment;
@@ -197,7 +380,9 @@ public class AppointmentService {
         cancelledBy.setId(userId);
         appointment.cancel(cancelledBy, reason);
         
-        appointmentRepository.update(appointment);
+        updateChecked(appointment);
+        scheduleIndex.put(appointment);
+        cacheInvalidation.scheduleChanged(appointment.getDoctor().getId(), appointment.getAppointmentDate());
         
         // Send cancellation notification
         notificationService.sendAppointmentCancellationNotification(appointment);
@@ -213,7 +398,8 @@ public class AppointmentService {
         
         Appointment appointment = findById(appointmentId);
         appointment.setStatus(AppointmentStatus.COMPLETED);
-        appointmentRepository.update(appointment);
+        updateChecked(appointment);
+        scheduleIndex.put(appointment);
         
         LOGGER.info("Appointment marked as completed");
     }
@@ -226,7 +412,8 @@ public class AppointmentService {
         
         Appointment appointment = findById(appointmentId);
         appointment.setStatus(AppointmentStatus.NO_SHOW);
-        appointmentRepository.update(appointment);
+        updateChecked(appointment);
+        scheduleIndex.put(appointment);
         
         LOGGER.info("Appointment marked as no-show");
     }
@@ -239,6 +426,157 @@ public class AppointmentService {
         return appointmentRepository.findDoctorSchedule(doctorId, date);
     }
     
+    /**
+     * Get a doctor's free start times on a date within business hours
+     */
+    public List<LocalTime> getAvailableSlots(Long doctorId, LocalDate date, Integer durationMinutes) {
+        LOGGER.info("Getting available slots for doctor ID: " + doctorId + " on date: " + date);
+        
+        int duration = durationMinutes != null ? durationMinutes : AppConstants.DEFAULT_APPOINTMENT_DURATION;
+        return scheduleIndex.findFreeSlots(doctorId, date,
+            LocalTime.parse(AppConstants.BUSINESS_START_TIME),
+            LocalTime.parse(AppConstants.BUSINESS_END_TIME),
+            duration, AppConstants.MIN_APPOINTMENT_DURATION);
+    }
+    
+    /**
+     * Find the earliest free slots across all approved, available doctors of a specialization.
+     * Schedules for the whole range are loaded with one query and searched in memory.
+     */
+    public List<AvailableSlotDTO> findNextAvailableSlots(String specialization, LocalDate fromDate,
+                                                         LocalDate toDate, Integer durationMinutes,
+                                                         Integer limit) {
+        LOGGER.info("Finding next available slots for specialization: " + specialization);
+        
+        LocalDate today = LocalDate.now();
+        LocalDate from = fromDate != null && fromDate.isAfter(today) ? fromDate : today;
+        LocalDate to = toDate != null ? toDate : from.plusDays(6);
+        
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        
+        if (ChronoUnit.DAYS.between(from, to) >= AppConstants.MAX_SLOT_SEARCH_DAYS) {
+            throw new ValidationException("Search range cannot exceed " + AppConstants.MAX_SLOT_SEARCH_DAYS + " days");
+        }
+        
+        int duration = durationMinutes != null ? durationMinutes : AppConstants.DEFAULT_APPOINTMENT_DURATION;
+        int maxResults = limit != null && limit > 0
+            ? Math.min(limit, AppConstants.MAX_PAGE_SIZE)
+            : AppConstants.DEFAULT_SLOT_SEARCH_LIMIT;
+        
+        List<Doctor> doctors = doctorService.findBySpecialization(specialization);
+        if (doctors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<Long> doctorIds = new ArrayList<>(doctors.size());
+        for (Doctor doctor : doctors) {
+            doctorIds.add(doctor.getId());
+        }
+        scheduleIndex.preload(doctorIds, from, to);
+        
+        int step = AppConstants.MIN_APPOINTMENT_DURATION;
+        int openMinute = LocalTime.parse(AppConstants.BUSINESS_START_TIME).toSecondOfDay() / 60;
+        int closeMinute = LocalTime.parse(AppConstants.BUSINESS_END_TIME).toSecondOfDay() / 60;
+        
+        List<AvailableSlotDTO> slots = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to) && slots.size() < maxResults; date = date.plusDays(1)) {
+            if (!isWorkingDay(date)) {
+                continue;
+            }
+            
+            // Today only offers slots that have not started yet
+            int firstMinute = openMinute;
+            if (date.equals(today)) {
+                int nowMinute = LocalTime.now().toSecondOfDay() / 60;
+                if (nowMinute > openMinute) {
+                    firstMinute = openMinute + ((nowMinute - openMinute + step - 1) / step) * step;
+                }
+            }
+            
+            int remaining = maxResults - slots.size();
+            List<AvailableSlotDTO> daySlots = new ArrayList<>();
+            for (Doctor doctor : doctors) {
+                int[] starts = scheduleIndex.findFreeStarts(doctor.getId(), date, firstMinute,
+                                                            closeMinute, duration, step);
+                for (int i = 0; i < starts.length && i < remaining; i++) {
+                    daySlots.add(new AvailableSlotDTO(
+                        doctor.getId(),
+                        doctor.getUser().getFullName(),
+                        doctor.getSpecialization(),
+                        date,
+                        LocalTime.of(starts[i] / 60, starts[i] % 60),
+                        duration
+                    ));
+                }
+            }
+            
+            daySlots.sort(Comparator.comparing(AvailableSlotDTO::getTime));
+            slots.addAll(daySlots.subList(0, Math.min(daySlots.size(), remaining)));
+        }
+        
+        return slots;
+    }
+    
+    /**
+     * Get a doctor's availability calendar for a date range
+     */
+    public List<DayAvailabilityDTO> getAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        return getAvailability(doctorId, from, to, null);
+    }
+    
+    /**
+     * Get a doctor's availability calendar for a date range, listing the start
+     * times of free runs long enough for the given duration
+     */
+    public List<DayAvailabilityDTO> getAvailability(Long doctorId, LocalDate from, LocalDate to,
+                                                    Integer durationMinutes) {
+        LOGGER.info("Getting availability for doctor ID: " + doctorId + " from " + from + " to " + to);
+        
+        if (from == null || to == null) {
+            throw new ValidationException("Start and end dates are required");
+        }
+        
+        if (to.isBefore(from)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        
+        if (ChronoUnit.DAYS.between(from, to) >= AppConstants.MAX_SLOT_SEARCH_DAYS) {
+            throw new ValidationException("Search range cannot exceed " + AppConstants.MAX_SLOT_SEARCH_DAYS + " days");
+        }
+        
+        // Verify doctor exists
+        doctorService.findById(doctorId);
+        scheduleIndex.preload(Collections.singletonList(doctorId), from, to);
+        
+        int duration = durationMinutes != null ? durationMinutes : AppConstants.MIN_APPOINTMENT_DURATION;
+        int runLength = (duration + DaySchedule.SLOT_MINUTES - 1) / DaySchedule.SLOT_MINUTES;
+        int openSlot = LocalTime.parse(AppConstants.BUSINESS_START_TIME).toSecondOfDay() / 60 / DaySchedule.SLOT_MINUTES;
+        int closeSlot = LocalTime.parse(AppConstants.BUSINESS_END_TIME).toSecondOfDay() / 60 / DaySchedule.SLOT_MINUTES;
+        
+        List<DayAvailabilityDTO> calendar = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DaySchedule day = scheduleIndex.getDaySchedule(doctorId, date);
+            boolean workingDay = isWorkingDay(date);
+            
+            List<LocalTime> freeSlots = new ArrayList<>();
+            if (workingDay) {
+                int slot = day.findFreeRun(runLength, openSlot, closeSlot);
+                while (slot >= 0) {
+                    int minute = slot * DaySchedule.SLOT_MINUTES;
+                    freeSlots.add(LocalTime.of(minute / 60, minute % 60));
+                    slot = day.findFreeRun(runLength, slot + 1, closeSlot);
+                }
+            }
+            
+            calendar.add(new DayAvailabilityDTO(date, workingDay, DaySchedule.SLOT_MINUTES,
+                                                day.busySlots(), freeSlots));
+        }
+        
+        return calendar;
+    }
+    
     /**
      * Count appointments by status
      */
@@ -254,6 +592,24 @@ public class AppointmentService {
         return appointmentRepository.findAll(pageNumber, pageSize);
     }
     
+    /**
+     * Find a page of appointments by keyset; pass the previous page's nextToken to continue
+     */
+    public PageDTO<Appointment> findPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Finding appointments page - Size: " + size);
+        return appointmentRepository.findPage(pageToken, size);
+    }
+    
+    /**
+     * List a keyset page of appointments for display, without loading entities
+     */
+    public PageDTO<AppointmentDTO> listPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Listing appointments page - Size: " + size);
+        return appointmentRepository.listPage(pageToken, size);
+    }
+    
     /**
      * Count total appointments
      */
@@ -263,12 +619,34 @@ public class AppointmentService {
     
     // Private helper methods
     
-    private boolean hasTimeConflict(Appointment existing, LocalTime newTime, Integer newDuration) {
-        LocalTime existingStart = existing.getAppointmentTime();
-        LocalTime existingEnd = existingStart.plusMinutes(existing.getDurationMinutes());
-        LocalTime newEnd = newTime.plusMinutes(newDuration);
+    private Doctor findBookableDoctor(Long doctorId) {
+        Doctor doctor = doctorService.findById(doctorId);
+        
+        // Verify doctor is approved and available
+        if (!doctor.isApproved()) {
+            throw new ValidationException("Doctor is not approved");
+        }
         
-        // Check if times overlap
-        return (newTime.isBefore(existingEnd) && newEnd.isAfter(existingStart));
+        if (!doctor.isAvailable()) {
+            throw new ValidationException("Doctor is not available");
+        }
+        
+        return doctor;
+    }
+    
+    private boolean isWorkingDay(LocalDate date) {
+        int dayOfWeek = date.getDayOfWeek().getValue();
+        return dayOfWeek >= AppConstants.WORKING_DAYS_START && dayOfWeek <= AppConstants.WORKING_DAYS_END;
+    }
+    
+    /**
+     * Update an appointment, turning a concurrent modification into a validation error
+     */
+    private Appointment updateChecked(Appointment appointment) {
+        try {
+            return appointmentRepository.update(appointment);
+        } catch (OptimisticLockException e) {
+            throw new ValidationException("Appointment was modified by another user, please reload and try again");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.healthcare.service;
+
+import com.healthcare.dto.BroadcastStatusDTO;
+import com.healthcare.entity.UserRole;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of running and recently finished system notification broadcasts.
+ * Broadcasts run asynchronously in chunks; each chunk reports the number of
+ * notifications it inserted so clients can poll the progress by broadcast id.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class BroadcastTracker {
+    
+    private static final int MAX_TRACKED = 100;
+    private static final long RETENTION_HOURS = 24;
+    
+    private final ConcurrentMap<String, Progress> broadcasts = new ConcurrentHashMap<>();
+    
+    /**
+     * Register a new broadcast and return its id
+     */
+    public String start(UserRole role, String title, long totalRecipients) {
+        evictFinished();
+        
+        String id = UUID.randomUUID().toString();
+        broadcasts.put(id, new Progress(role, title, totalRecipients));
+        return id;
+    }
+    
+    /**
+     * Add the notifications inserted by one chunk
+     */
+    public void addSent(String id, long count) {
+        Progress progress = broadcasts.get(id);
+        if (progress != null) {
+            progress.sent.addAndGet(count);
+        }
+    }
+    
+    public void complete(String id) {
+        finish(id, BroadcastStatusDTO.STATE_COMPLETED, null);
+    }
+    
+    public void fail(String id, String error) {
+        finish(id, BroadcastStatusDTO.STATE_FAILED, error);
+    }
+    
+    /**
+     * Snapshot of a broadcast's progress, or null if unknown
+     */
+    public BroadcastStatusDTO getStatus(String id) {
+        Progress progress = broadcasts.get(id);
+        if (progress == null) {
+            return null;
+        }
+        return new BroadcastStatusDTO(id, progress.role, progress.title, progress.state,
+                                      progress.total, progress.sent.get(),
+                                      progress.startedAt, progress.finishedAt, progress.error);
+    }
+    
+    // Private helper methods
+    
+    private void finish(String id, String state, String error) {
+        Progress progress = broadcasts.get(id);
+        if (progress != null) {
+            progress.error = error;
+            progress.finishedAt = LocalDateTime.now();
+            progress.state = state;
+        }
+    }
+    
+    /**
+     * Drop finished broadcasts past retention, or the oldest finished ones
+     * when too many are tracked
+     */
+    private void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(RETENTION_HOURS);
+        broadcasts.values().removeIf(p -> p.finishedAt != null && p.finishedAt.isBefore(cutoff));
+        
+        while (broadcasts.size() >= MAX_TRACKED) {
+            String oldest = null;
+            LocalDateTime oldestFinish = null;
+            for (Map.Entry<String, Progress> entry : broadcasts.entrySet()) {
+                LocalDateTime finishedAt = entry.getValue().finishedAt;
+                if (finishedAt != null && (oldestFinish == null || finishedAt.isBefore(oldestFinish))) {
+                    oldest = entry.getKey();
+                    oldestFinish = finishedAt;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            broadcasts.remove(oldest);
+        }
+    }
+    
+    private static final class Progress {
+        private final UserRole role;
+        private final String title;
+        private final long total;
+        private final AtomicLong sent = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile String state = BroadcastStatusDTO.STATE_RUNNING;
+        private volatile String error;
+        
+        Progress(UserRole role, String title, long total) {
+            this.role = role;
+            this.title = title;
+            this.total = total;
+        }
+    }
+}
\ No newline at end of file
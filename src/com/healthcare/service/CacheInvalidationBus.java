@@ -0,0 +1,282 @@
+package com.healthcare.service;
+
+import com.healthcare.config.JMSConfig;
+import com.healthcare.entity.Doctor;
+import com.healthcare.entity.Patient;
+import com.healthcare.entity.User;
+import com.healthcare.repository.EntityCache;
+import com.healthcare.scheduling.DoctorScheduleIndex;
+import com.healthcare.security.PrincipalCache;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.Topic;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the entity caches of every node in the cluster consistent.
+ * Services report the User, Doctor and Patient changes they make; when the
+ * transaction commits the local caches are evicted at once and the change is
+ * published on the system notification topic, where SystemNotificationMDB
+ * evicts it on every other node. Remote user changes are also reloaded into
+ * the user search index and drop the user's cached principal.
+ * <p>
+ * Booked days of a doctor travel the same way, so every node's
+ * DoctorScheduleIndex drops a day another node has booked on.
+ * <p>
+ * Changes committed within INVALIDATION_COALESCE_MS are coalesced into one
+ * message of up to INVALIDATION_BATCH_SIZE compact events (type, id), each
+ * entity at most once. Events carry no version: eviction is idempotent and
+ * the next read loads the current row, so their order does not matter. A
+ * lost message only leaves an entry stale until CACHE_EXPIRATION_SECONDS.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+    
+    private static final Logger LOGGER = Logger.getLogger(CacheInvalidationBus.class.getName());
+    
+    /** Identifies this node, so it ignores its own messages */
+    private static final String NODE_ID = UUID.randomUUID().toString();
+    
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    
+    /** Entity types in wire order; an event carries the index */
+    private static final Class<?>[] TYPES = {User.class, Doctor.class, Patient.class};
+    
+    /** Event type of a doctor's schedule day, following the entity types */
+    private static final int SCHEDULE_DAY = TYPES.length;
+    
+    /** Low bits of a schedule day event id holding the epoch day; the doctor id is above them */
+    private static final int EPOCH_DAY_BITS = 24;
+    
+    @Inject
+    private EntityCache entityCache;
+    
+    @Inject
+    private DoctorDirectory doctorDirectory;
+    
+    @Inject
+    private UserSearchIndex userSearchIndex;
+    
+    @Inject
+    private PrincipalCache principalCache;
+    
+    @Inject
+    private DoctorScheduleIndex scheduleIndex;
+    
+    @Resource(lookup = JMSConfig.CONNECTION_FACTORY_JNDI)
+    private ConnectionFactory connectionFactory;
+    
+    @Resource(lookup = JMSConfig.SYSTEM_NOTIFICATION_TOPIC)
+    private Topic systemTopic;
+    
+    @Resource
+    private ManagedScheduledExecutorService executor;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    /** Ids of committed changes waiting to be published, per event type */
+    private final List<Set<Long>> outbox = newOutbox();
+    
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    
+    /**
+     * Report a changed or deleted entity.
+     * It is evicted here and published to the other nodes when the current
+     * transaction commits, or immediately if there is none.
+     */
+    public void entityChanged(Class<?> type, Long id) {
+        entityCache.evictOnCommit(type, id);
+        publishOnCommit(typeIndex(type), id);
+    }
+    
+    /**
+     * Report a change to a doctor's booked appointments on a day.
+     * Other nodes evict the day from their schedule index when the current
+     * transaction commits.
+     */
+    public void scheduleChanged(Long doctorId, LocalDate date) {
+        publishOnCommit(SCHEDULE_DAY, doctorId << EPOCH_DAY_BITS | date.toEpochDay());
+    }
+    
+    /**
+     * Apply an invalidation message published by a node
+     */
+    public void receive(BytesMessage message) throws JMSException {
+        if (NODE_ID.equals(message.getStringProperty(JMSConfig.PROPERTY_NODE_ID))) {
+            return;
+        }
+        
+        int count = message.readInt();
+        boolean doctorsChanged = false;
+        for (int i = 0; i < count; i++) {
+            int typeIndex = message.readByte();
+            long id = message.readLong();
+            
+            if (typeIndex == SCHEDULE_DAY) {
+                scheduleIndex.evict(id >>> EPOCH_DAY_BITS, LocalDate.ofEpochDay(id & ((1L << EPOCH_DAY_BITS) - 1)));
+                continue;
+            }
+            Class<?> type = TYPES[typeIndex];
+            entityCache.evict(type, id);
+            if (type == Doctor.class) {
+                doctorsChanged = true;
+            } else if (type == User.class) {
+                doctorDirectory.invalidateUser(id);
+                userSearchIndex.refresh(id);
+                principalCache.invalidate(id);
+            }
+        }
+        
+        // The directory cannot be patched from an id; reload it once per batch
+        if (doctorsChanged) {
+            doctorDirectory.invalidate();
+        }
+        LOGGER.fine("Applied " + count + " cache invalidations from node "
+                   + message.getStringProperty(JMSConfig.PROPERTY_NODE_ID));
+    }
+    
+    // Private helper methods
+    
+    private void publishOnCommit(int typeIndex, Long id) {
+        Map<Integer, Set<Long>> pending = pendingChanges();
+        if (pending != null) {
+            pending.computeIfAbsent(typeIndex, t -> new HashSet<>()).add(id);
+        } else {
+            enqueue(typeIndex, id);
+        }
+    }
+    
+    private void enqueue(int typeIndex, Long id) {
+        outbox.get(typeIndex).add(id);
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, JMSConfig.INVALIDATION_COALESCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void flush() {
+        flushScheduled.set(false);
+        
+        // Drain the outbox into batches of (type, id) pairs
+        long[] batch = new long[JMSConfig.INVALIDATION_BATCH_SIZE * 2];
+        int count = 0;
+        int sent = 0;
+        try (JMSContext context = connectionFactory.createContext()) {
+            for (int typeIndex = 0; typeIndex < outbox.size(); typeIndex++) {
+                Iterator<Long> ids = outbox.get(typeIndex).iterator();
+                while (ids.hasNext()) {
+                    Long id = ids.next();
+                    ids.remove();
+                    batch[count * 2] = typeIndex;
+                    batch[count * 2 + 1] = id;
+                    
+                    if (++count == JMSConfig.INVALIDATION_BATCH_SIZE) {
+                        send(context, batch, count);
+                        sent += count;
+                        count = 0;
+                    }
+                }
+            }
+            if (count > 0) {
+                send(context, batch, count);
+                sent += count;
+            }
+        } catch (JMSException | JMSRuntimeException e) {
+            // Other nodes catch up when their entries expire
+            LOGGER.warning("Failed to publish cache invalidations: " + e.getMessage());
+        }
+        LOGGER.fine("Published " + sent + " cache invalidations");
+    }
+    
+    private void send(JMSContext context, long[] batch, int count) throws JMSException {
+        BytesMessage message = context.createBytesMessage();
+        message.setStringProperty(JMSConfig.PROPERTY_NOTIFICATION_TYPE, JMSConfig.TYPE_CACHE_INVALIDATION);
+        message.setStringProperty(JMSConfig.PROPERTY_NODE_ID, NODE_ID);
+        message.setLongProperty(JMSConfig.PROPERTY_TIMESTAMP, System.currentTimeMillis());
+        message.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            message.writeByte((byte) batch[i * 2]);
+            message.writeLong(batch[i * 2 + 1]);
+        }
+        
+        context.createProducer()
+            .setDeliveryMode(DeliveryMode.NON_PERSISTENT)
+            .setPriority(JMSConfig.PRIORITY_HIGH)
+            .setTimeToLive(JMSConfig.URGENT_TIME_TO_LIVE)
+            .setProperty(JMSConfig.PROPERTY_SENDER, CacheInvalidationBus.class.getSimpleName())
+            .send(systemTopic, message);
+    }
+    
+    private static int typeIndex(Class<?> type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i] == type) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Entity type is not cached: " + type.getName());
+    }
+    
+    private static List<Set<Long>> newOutbox() {
+        List<Set<Long>> outbox = new ArrayList<>(TYPES.length + 1);
+        for (int i = 0; i <= TYPES.length; i++) {
+            outbox.add(ConcurrentHashMap.newKeySet());
+        }
+        return outbox;
+    }
+    
+    /**
+     * Changes reported in the current transaction, published when it commits
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Integer, Set<Long>> pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        Map<Integer, Set<Long>> pending = (Map<Integer, Set<Long>>) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            Map<Integer, Set<Long>> changes = new HashMap<>();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        changes.forEach((typeIndex, ids) -> ids.forEach(id -> enqueue(typeIndex, id)));
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,339 @@
+package com.healthcare.service;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.DoctorDTO;
+import com.healthcare.dto.DoctorDirectoryDTO;
+import com.healthcare.dto.UserDTO;
+import com.healthcare.entity.ApprovalStatus;
+import com.healthcare.entity.Doctor;
+import com.healthcare.entity.User;
+import com.healthcare.mapper.DoctorMapper;
+import com.healthcare.mapper.UserMapper;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory directory of approved doctors for the doctor search page.
+ * The directory is loaded once and then kept current by DoctorService:
+ * approvals and profile changes replace single entries when their
+ * transaction commits. Searches filter by specialization, availability,
+ * years of experience and consultation fee and return facet counts, all
+ * without a database query.
+ * <p>
+ * The snapshot is immutable and swapped on change, so searches never lock.
+ * As a safety net it is reloaded after CACHE_EXPIRATION_SECONDS.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class DoctorDirectory {
+    
+    private static final Logger LOGGER = Logger.getLogger(DoctorDirectory.class.getName());
+    
+    private static final long EXPIRATION_MS = AppConstants.CACHE_EXPIRATION_SECONDS * 1000L;
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    
+    /** Lower bounds of the experience (years) and fee facet buckets */
+    private static final int[] EXPERIENCE_BUCKETS = {0, 5, 10, 20};
+    private static final int[] FEE_BUCKETS = {0, 500, 1000, 2000};
+    private static final String FEE_NOT_SET = "Not set";
+    private static final String AVAILABLE = "available";
+    private static final String UNAVAILABLE = "unavailable";
+    
+    private static final Comparator<DoctorDTO> BY_NAME = Comparator
+        .comparing((DoctorDTO d) -> d.getUser().getLastName(), String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(d -> d.getUser().getFirstName(), String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(DoctorDTO::getId);
+    
+    @Inject
+    private DoctorMapper doctorMapper;
+    
+    @Inject
+    private UserMapper userMapper;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private volatile Snapshot snapshot;
+    
+    /** Bumped by every change, so a load can tell it raced with one */
+    private final AtomicLong modifications = new AtomicLong();
+    
+    /**
+     * Search approved doctors. Null filters are ignored; ranges are inclusive.
+     *
+     * @param loader reads every approved doctor, used when the directory is not loaded
+     */
+    public DoctorDirectoryDTO search(String specialization, Boolean available,
+                                     Integer minExperience, Integer maxExperience,
+                                     BigDecimal minFee, BigDecimal maxFee,
+                                     Supplier<List<Doctor>> loader) {
+        List<DoctorDTO> doctors = new ArrayList<>();
+        Map<String, Integer> specializations = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Integer> availability = new LinkedHashMap<>();
+        Map<String, Integer> experience = buckets(EXPERIENCE_BUCKETS, " years");
+        Map<String, Integer> fees = buckets(FEE_BUCKETS, "");
+        availability.put(AVAILABLE, 0);
+        availability.put(UNAVAILABLE, 0);
+        
+        for (DoctorDTO doctor : snapshot(loader).doctors) {
+            boolean bySpecialization = specialization == null
+                || specialization.equalsIgnoreCase(doctor.getSpecialization());
+            boolean byAvailability = available == null || available.equals(doctor.getAvailabilityStatus());
+            boolean byExperience = inRange(doctor.getYearsExperience(), minExperience, maxExperience);
+            boolean byFee = inRange(doctor.getConsultationFee(), minFee, maxFee);
+            
+            if (bySpecialization && byAvailability && byExperience && byFee) {
+                doctors.add(doctor);
+            }
+            
+            // Each facet counts the doctors matching all other filters
+            if (byAvailability && byExperience && byFee) {
+                specializations.merge(doctor.getSpecialization(), 1, Integer::sum);
+            }
+            if (bySpecialization && byExperience && byFee) {
+                availability.merge(Boolean.TRUE.equals(doctor.getAvailabilityStatus()) ? AVAILABLE : UNAVAILABLE,
+                                   1, Integer::sum);
+            }
+            if (bySpecialization && byAvailability && byFee) {
+                int years = doctor.getYearsExperience() != null ? doctor.getYearsExperience() : 0;
+                experience.merge(bucket(EXPERIENCE_BUCKETS, years, " years"), 1, Integer::sum);
+            }
+            if (bySpecialization && byAvailability && byExperience) {
+                BigDecimal fee = doctor.getConsultationFee();
+                fees.merge(fee != null ? bucket(FEE_BUCKETS, fee.intValue(), "") : FEE_NOT_SET, 1, Integer::sum);
+            }
+        }
+        
+        return new DoctorDirectoryDTO(doctors, specializations, availability, experience, fees);
+    }
+    
+    /**
+     * Specializations of approved doctors, in alphabetical order
+     */
+    public List<String> getSpecializations(Supplier<List<Doctor>> loader) {
+        return snapshot(loader).specializations;
+    }
+    
+    /**
+     * Add or replace a doctor when the current transaction commits.
+     * Doctors that are not approved are removed instead.
+     */
+    public void putOnCommit(Doctor doctor) {
+        Long doctorId = doctor.getId();
+        if (doctor.getApprovalStatus() != ApprovalStatus.APPROVED) {
+            removeOnCommit(doctorId);
+            return;
+        }
+        DoctorDTO entry = doctorMapper.toDTO(doctor);
+        change(doctors -> doctors.put(doctorId, entry));
+    }
+    
+    /**
+     * Remove a doctor when the current transaction commits
+     */
+    public void removeOnCommit(Long doctorId) {
+        change(doctors -> doctors.remove(doctorId));
+    }
+    
+    /**
+     * Refresh the account details of a listed doctor when the current
+     * transaction commits
+     */
+    public void updateUserOnCommit(User user) {
+        Long userId = user.getId();
+        UserDTO account = userMapper.toDTO(user);
+        change(doctors -> doctors.replaceAll((id, doctor) -> userId.equals(doctor.getUser().getId())
+            ? withUser(doctor, account)
+            : doctor));
+    }
+    
+    /**
+     * Remove the doctor of a user account when the current transaction commits
+     */
+    public void removeUserOnCommit(Long userId) {
+        change(doctors -> doctors.values().removeIf(doctor -> userId.equals(doctor.getUser().getId())));
+    }
+    
+    /**
+     * Drop the directory so the next search reloads it
+     */
+    public synchronized void invalidate() {
+        modifications.incrementAndGet();
+        snapshot = null;
+    }
+    
+    /**
+     * Drop the directory if it lists the doctor of the given user account
+     */
+    public void invalidateUser(Long userId) {
+        Snapshot current = snapshot;
+        if (current != null && current.doctors.stream().anyMatch(doctor -> userId.equals(doctor.getUser().getId()))) {
+            invalidate();
+        }
+    }
+    
+    // Private helper methods
+    
+    private Snapshot snapshot(Supplier<List<Doctor>> loader) {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt <= EXPIRATION_MS) {
+            return current;
+        }
+        
+        // Only keep the loaded directory if no change committed meanwhile
+        long stamp = modifications.get();
+        Map<Long, DoctorDTO> doctors = new HashMap<>();
+        for (Doctor doctor : loader.get()) {
+            doctors.put(doctor.getId(), doctorMapper.toDTO(doctor));
+        }
+        Snapshot loaded = new Snapshot(doctors, System.currentTimeMillis());
+        synchronized (this) {
+            if (modifications.get() == stamp) {
+                snapshot = loaded;
+            }
+        }
+        LOGGER.info("Loaded doctor directory with " + doctors.size() + " approved doctors");
+        return loaded;
+    }
+    
+    private void change(Consumer<Map<Long, DoctorDTO>> change) {
+        List<Consumer<Map<Long, DoctorDTO>>> pending = pendingChanges();
+        if (pending != null) {
+            pending.add(change);
+        } else {
+            apply(Collections.singletonList(change));
+        }
+    }
+    
+    private synchronized void apply(List<Consumer<Map<Long, DoctorDTO>>> changes) {
+        modifications.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        
+        Map<Long, DoctorDTO> doctors = new HashMap<>(current.byId);
+        changes.forEach(change -> change.accept(doctors));
+        snapshot = new Snapshot(doctors, current.loadedAt);
+    }
+    
+    /**
+     * Directory changes of the current transaction, applied when it commits
+     */
+    @SuppressWarnings("unchecked")
+    private List<Consumer<Map<Long, DoctorDTO>>> pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        List<Consumer<Map<Long, DoctorDTO>>> pending =
+            (List<Consumer<Map<Long, DoctorDTO>>>) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            List<Consumer<Map<Long, DoctorDTO>>> changes = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private static DoctorDTO withUser(DoctorDTO doctor, UserDTO user) {
+        DoctorDTO copy = new DoctorDTO();
+        copy.setId(doctor.getId());
+        copy.setUser(user);
+        copy.setSpecialization(doctor.getSpecialization());
+        copy.setLicenseNumber(doctor.getLicenseNumber());
+        copy.setYearsExperience(doctor.getYearsExperience());
+        copy.setQualification(doctor.getQualification());
+        copy.setConsultationFee(doctor.getConsultationFee());
+        copy.setAvailabilityStatus(doctor.getAvailabilityStatus());
+        copy.setApprovalStatus(doctor.getApprovalStatus());
+        copy.setBio(doctor.getBio());
+        return copy;
+    }
+    
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+    
+    private static boolean inRange(BigDecimal value, BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value.compareTo(min) >= 0) && (max == null || value.compareTo(max) <= 0);
+    }
+    
+    private static Map<String, Integer> buckets(int[] bounds, String unit) {
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        for (int bound : bounds) {
+            buckets.put(bucket(bounds, bound, unit), 0);
+        }
+        return buckets;
+    }
+    
+    private static String bucket(int[] bounds, int value, String unit) {
+        for (int i = bounds.length - 1; i > 0; i--) {
+            if (value >= bounds[i]) {
+                return i == bounds.length - 1
+                    ? bounds[i] + "+" + unit
+                    : bounds[i] + "-" + (bounds[i + 1] - 1) + unit;
+            }
+        }
+        return bounds[0] + "-" + (bounds[1] - 1) + unit;
+    }
+    
+    /**
+     * Immutable directory contents
+     */
+    private static final class Snapshot {
+        private final Map<Long, DoctorDTO> byId;
+        private final List<DoctorDTO> doctors;
+        private final List<String> specializations;
+        private final long loadedAt;
+        
+        Snapshot(Map<Long, DoctorDTO> byId, long loadedAt) {
+            List<DoctorDTO> sorted = new ArrayList<>(byId.values());
+            sorted.sort(BY_NAME);
+            List<String> names = sorted.stream()
+                .map(DoctorDTO::getSpecialization).distinct().sorted().collect(Collectors.toList());
+            this.byId = Collections.unmodifiableMap(byId);
+            this.doctors = Collections.unmodifiableList(sorted);
+            this.specializations = Collections.unmodifiableList(names);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
\ No newline at end of file
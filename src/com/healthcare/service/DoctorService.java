@@ -1,5 +1,8 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.DoctorDirectoryDTO;
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.ApprovalStatus;
 import com.healthcare.entity.Doctor;
 import com.healthcare.entity.User;
@@ -11,6 +14,7 @@ import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -29,6 +33,12 @@ public class DoctorService {
     @Inject
     private DoctorRepository doctorRepository;
     
+    @Inject
+    private CacheInvalidationBus cacheInvalidation;
+    
+    @Inject
+    private DoctorDirectory doctorDirectory;
+    
     @Inject
     private UserService userService;
     
@@ -142,9 +152,11 @@ public class DoctorService {
         // Approve doctor
         doctor.approve(approver);
         doctorRepository.update(doctor);
+        cacheInvalidation.entityChanged(Doctor.class, doctor.getId());
         
         // Activate user account
         userService.activateUser(doctor.getUser().getId());
+        doctorDirectory.putOnCommit(doctor);
         
         // Send notification to doctor
         notificationService.sendDoctorApprovalNotification(doctor);
@@ -169,6 +181,8 @@ public class DoctorService {
         // Reject doctor
         doctor.reject(rejecter);
         doctorRepository.update(doctor);
+        cacheInvalidation.entityChanged(Doctor.class, doctor.getId());
+        doctorDirectory.removeOnCommit(doctor.getId());
         
         // TODO: Send rejection notification to doctor
         
@@ -200,6 +214,8 @@ public class DoctorService {
         existingDoctor.setBio(doctor.getBio());
         
         Doctor updatedDoctor = doctorRepository.update(existingDoctor);
+        cacheInvalidation.entityChanged(Doctor.class, existingDoctor.getId());
+        doctorDirectory.putOnCommit(updatedDoctor);
         LOGGER.info("Doctor updated successfully");
         
         return updatedDoctor;
@@ -214,6 +230,8 @@ public class DoctorService {
         Doctor doctor = findById(doctorId);
         doctor.setAvailabilityStatus(available);
         doctorRepository.update(doctor);
+        cacheInvalidation.entityChanged(Doctor.class, doctor.getId());
+        doctorDirectory.putOnCommit(doctor);
         
         LOGGER.info("Doctor availability updated successfully");
     }
@@ -228,14 +246,34 @@ public class DoctorService {
         findById(id);
         
         doctorRepository.delete(id);
+        cacheInvalidation.entityChanged(Doctor.class, id);
+        doctorDirectory.removeOnCommit(id);
         LOGGER.info("Doctor deleted successfully");
     }
     
     /**
-     * Get distinct specializations
+     * Get distinct specializations of approved doctors, from the directory
      */
     public List<String> getSpecializations() {
-        return doctorRepository.getDistinctSpecializations();
+        return doctorDirectory.getSpecializations(this::findApproved);
+    }
+    
+    /**
+     * Search the directory of approved doctors with facet counts.
+     * Null filters are ignored; ranges are inclusive.
+     */
+    public DoctorDirectoryDTO searchDirectory(String specialization, Boolean available,
+                                              Integer minExperience, Integer maxExperience,
+                                              BigDecimal minFee, BigDecimal maxFee) {
+        if (minExperience != null && maxExperience != null && minExperience > maxExperience) {
+            throw new ValidationException("Minimum experience cannot be above maximum experience");
+        }
+        if (minFee != null && maxFee != null && minFee.compareTo(maxFee) > 0) {
+            throw new ValidationException("Minimum fee cannot be above maximum fee");
+        }
+        
+        return doctorDirectory.search(specialization, available, minExperience, maxExperience,
+                                      minFee, maxFee, this::findApproved);
     }
     
     /**
@@ -253,6 +291,15 @@ public class DoctorService {
         return doctorRepository.findAll(pageNumber, pageSize);
     }
     
+    /**
+     * Find a page of doctors by keyset; pass the previous page's nextToken to continue
+     */
+    public PageDTO<Doctor> findPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Finding doctors page - Size: " + size);
+        return doctorRepository.findPage(pageToken, size);
+    }
+    
     /**
      * Count total doctors
      */
@@ -262,6 +309,10 @@ public class DoctorService {
     
     // Private helper methods
     
+    private List<Doctor> findApproved() {
+        return doctorRepository.findByApprovalStatus(ApprovalStatus.APPROVED);
+    }
+    
     private void validateDoctor(Doctor doctor) {
         if (doctor == null) {
             throw new ValidationException("Doctor cannot be null");
@@ -0,0 +1,297 @@
+package com.healthcare.service;
+
+import com.healthcare.config.AppConstants;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Medication names for prescription form autocomplete.
+ * Names are held in a prefix trie whose nodes each keep the
+ * MEDICATION_COMPLETIONS most prescribed names below them, so completing a
+ * prefix costs one step per typed character plus copying the answer,
+ * whatever the size of the dictionary. Names are matched ignoring case and
+ * extra whitespace; the most prescribed spelling is the one suggested.
+ * <p>
+ * The dictionary is seeded from prescription counts per medication on first
+ * use and counts every prescription written on this node when its
+ * transaction commits. PrescriptionService reloads it periodically to pick
+ * up other nodes and deletions.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class MedicationDictionary {
+    
+    private static final Logger LOGGER = Logger.getLogger(MedicationDictionary.class.getName());
+    
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /** Null until first use; guarded by lock */
+    private Trie trie;
+    
+    /**
+     * Most prescribed medications starting with the prefix, most prescribed first
+     *
+     * @param limit at most MEDICATION_COMPLETIONS
+     * @param loader prescription count per medication name, used on first use
+     */
+    public List<String> complete(String prefix, int limit, Supplier<Map<String, Long>> loader) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            if (trie != null) {
+                return trie.complete(key, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        load(loader, false);
+        lock.readLock().lock();
+        try {
+            return trie.complete(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Reload prescription counts, if the dictionary is in use
+     */
+    public void reload(Supplier<Map<String, Long>> loader) {
+        load(loader, true);
+    }
+    
+    /**
+     * Count a prescription of the medication when the current transaction
+     * commits, adding the name if it is new
+     */
+    public void countOnCommit(String medicationName) {
+        List<String> pending = pendingChanges();
+        if (pending != null) {
+            pending.add(medicationName);
+        } else {
+            count(Collections.singletonList(medicationName));
+        }
+    }
+    
+    // Private helper methods
+    
+    private void load(Supplier<Map<String, Long>> loader, boolean reload) {
+        lock.readLock().lock();
+        try {
+            // Load once on first use; reload only a dictionary in use
+            boolean inUse = trie != null;
+            if (inUse != reload) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // Add the most prescribed spelling of each name first
+        long start = System.nanoTime();
+        List<Map.Entry<String, Long>> frequencies = new ArrayList<>(loader.get().entrySet());
+        frequencies.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Trie loaded = new Trie();
+        for (Map.Entry<String, Long> frequency : frequencies) {
+            loaded.add(frequency.getKey(), frequency.getValue());
+        }
+        
+        lock.writeLock().lock();
+        try {
+            trie = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info("Loaded " + loaded.names.size() + " medications, " + loaded.nodes + " trie nodes in "
+                    + (System.nanoTime() - start) / 1_000_000L + " ms");
+    }
+    
+    private void count(List<String> medicationNames) {
+        lock.writeLock().lock();
+        try {
+            // Not loaded yet: the seed query will count them
+            if (trie != null) {
+                medicationNames.forEach(name -> trie.add(name, 1L));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Prescribed medications of the current transaction, counted when it commits
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        List<String> pending = (List<String>) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            List<String> changes = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        count(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Prefix trie over normalized names. Children are kept in sorted parallel
+     * arrays and looked up by binary search.
+     */
+    private static final class Trie {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_TERMS = new int[0];
+        
+        private final Node root = new Node();
+        private final Map<String, Integer> termsByKey = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private long[] counts = new long[64];
+        private int nodes = 1;
+        
+        List<String> complete(String key, int limit) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            
+            int size = Math.min(limit, node.top.length);
+            List<String> completions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                completions.add(names.get(node.top[i]));
+            }
+            return completions;
+        }
+        
+        void add(String name, long count) {
+            String key = normalize(name);
+            if (key.isEmpty()) {
+                return;
+            }
+            
+            Integer term = termsByKey.get(key);
+            if (term == null) {
+                term = names.size();
+                termsByKey.put(key, term);
+                names.add(name.trim());
+                if (term == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+            }
+            counts[term] += count;
+            
+            // Counts only grow, so each node's top list stays exact
+            Node node = root;
+            rank(node, term);
+            for (int i = 0; i < key.length(); i++) {
+                node = node.childOrAdd(key.charAt(i), this);
+                rank(node, term);
+            }
+        }
+        
+        /**
+         * Move a term whose count grew to its place in a node's top list
+         */
+        private void rank(Node node, int term) {
+            int[] top = node.top;
+            int at = 0;
+            while (at < top.length && top[at] != term) {
+                at++;
+            }
+            if (at == top.length) {
+                if (top.length < AppConstants.MEDICATION_COMPLETIONS) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                } else if (counts[term] <= counts[top[top.length - 1]]) {
+                    return;
+                }
+                at = top.length - 1;
+                top[at] = term;
+            }
+            while (at > 0 && counts[top[at]] > counts[top[at - 1]]) {
+                int swap = top[at - 1];
+                top[at - 1] = top[at];
+                top[at] = swap;
+                at--;
+            }
+            node.top = top;
+        }
+        
+        private static final class Node {
+            private char[] labels = NO_LABELS;
+            private Node[] children = NO_CHILDREN;
+            
+            /** Most prescribed terms below this node, most prescribed first */
+            private int[] top = NO_TERMS;
+            
+            Node child(char label) {
+                int at = Arrays.binarySearch(labels, label);
+                return at >= 0 ? children[at] : null;
+            }
+            
+            Node childOrAdd(char label, Trie trie) {
+                int at = Arrays.binarySearch(labels, label);
+                if (at >= 0) {
+                    return children[at];
+                }
+                
+                at = -at - 1;
+                Node child = new Node();
+                char[] grownLabels = new char[labels.length + 1];
+                Node[] grownChildren = new Node[children.length + 1];
+                System.arraycopy(labels, 0, grownLabels, 0, at);
+                System.arraycopy(children, 0, grownChildren, 0, at);
+                grownLabels[at] = label;
+                grownChildren[at] = child;
+                System.arraycopy(labels, at, grownLabels, at + 1, labels.length - at);
+                System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+                labels = grownLabels;
+                children = grownChildren;
+                trie.nodes++;
+                return child;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.healthcare.service;
+
+import com.healthcare.config.JMSConfig;
+import com.healthcare.dto.NotificationEvent;
+import com.healthcare.entity.NotificationType;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.jms.JMSConnectionFactory;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.MapMessage;
+import jakarta.jms.Message;
+import jakarta.jms.Queue;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Publishes notification events to the notification queue.
+ * Sends are enlisted in the caller's transaction, so an event is only
+ * delivered if the business change that raised it commits. NotificationMDB
+ * consumes the events and writes the notifications in batches.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class NotificationPublisher {
+    
+    private static final Logger LOGGER = Logger.getLogger(NotificationPublisher.class.getName());
+    
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_REFERENCE_ID = "referenceId";
+    private static final String FIELD_REFERENCE_TYPE = "referenceType";
+    
+    @Inject
+    @JMSConnectionFactory(JMSConfig.CONNECTION_FACTORY_JNDI)
+    private JMSContext jmsContext;
+    
+    @Resource(lookup = JMSConfig.NOTIFICATION_QUEUE)
+    private Queue notificationQueue;
+    
+    /**
+     * Publish notification events with normal priority
+     */
+    public void publish(List<NotificationEvent> events) {
+        publish(events, JMSConfig.PRIORITY_NORMAL);
+    }
+    
+    /**
+     * Publish notification events with the given JMS priority
+     */
+    public void publish(List<NotificationEvent> events, int priority) {
+        for (NotificationEvent event : events) {
+            try {
+                jmsContext.createProducer()
+                    .setPriority(priority)
+                    .setTimeToLive(priority >= JMSConfig.PRIORITY_URGENT
+                                   ? JMSConfig.URGENT_TIME_TO_LIVE : JMSConfig.DEFAULT_TIME_TO_LIVE)
+                    .setProperty(JMSConfig.PROPERTY_SENDER, NotificationPublisher.class.getSimpleName())
+                    .send(notificationQueue, toMessage(event));
+            } catch (JMSException e) {
+                throw new JMSRuntimeException("Failed to build notification message: " + e.getMessage(),
+                                              e.getErrorCode(), e);
+            }
+        }
+        LOGGER.fine("Published " + events.size() + " notification events");
+    }
+    
+    /**
+     * Publish an event again after its write failed, delayed by delayMillis.
+     * The attempt number travels with the message, see deliveryAttempt.
+     */
+    public void republish(NotificationEvent event, int attempt, long delayMillis) {
+        try {
+            MapMessage message = toMessage(event);
+            message.setIntProperty(JMSConfig.PROPERTY_DELIVERY_ATTEMPT, attempt);
+            jmsContext.createProducer()
+                .setDeliveryDelay(delayMillis)
+                .setProperty(JMSConfig.PROPERTY_SENDER, NotificationPublisher.class.getSimpleName())
+                .send(notificationQueue, message);
+        } catch (JMSException e) {
+            throw new JMSRuntimeException("Failed to build notification message: " + e.getMessage(),
+                                          e.getErrorCode(), e);
+        }
+    }
+    
+    /**
+     * Number of times the event in a queue message has been tried, starting at 1
+     */
+    public static int deliveryAttempt(Message message) throws JMSException {
+        return message.propertyExists(JMSConfig.PROPERTY_DELIVERY_ATTEMPT)
+            ? message.getIntProperty(JMSConfig.PROPERTY_DELIVERY_ATTEMPT) : 1;
+    }
+    
+    /**
+     * Read a notification event back from a queue message
+     */
+    public static NotificationEvent fromMessage(MapMessage message) throws JMSException {
+        NotificationEvent event = new NotificationEvent(
+            message.getLongProperty(JMSConfig.PROPERTY_USER_ID),
+            NotificationType.valueOf(message.getStringProperty(JMSConfig.PROPERTY_NOTIFICATION_TYPE)),
+            message.getString(FIELD_TITLE),
+            message.getString(FIELD_MESSAGE)
+        );
+        if (message.itemExists(FIELD_REFERENCE_ID)) {
+            event.setReferenceId(message.getLong(FIELD_REFERENCE_ID));
+            event.setReferenceType(message.getString(FIELD_REFERENCE_TYPE));
+        }
+        return event;
+    }
+    
+    // Private helper methods
+    
+    private MapMessage toMessage(NotificationEvent event) throws JMSException {
+        MapMessage message = jmsContext.createMapMessage();
+        message.setLongProperty(JMSConfig.PROPERTY_USER_ID, event.getUserId());
+        message.setStringProperty(JMSConfig.PROPERTY_NOTIFICATION_TYPE, event.getType().name());
+        message.setLongProperty(JMSConfig.PROPERTY_TIMESTAMP, System.currentTimeMillis());
+        message.setString(FIELD_TITLE, event.getTitle());
+        message.setString(FIELD_MESSAGE, event.getMessage());
+        if (event.getReferenceId() != null) {
+            message.setLong(FIELD_REFERENCE_ID, event.getReferenceId());
+            message.setString(FIELD_REFERENCE_TYPE, event.getReferenceType());
+        }
+        return message;
+    }
+}
\ No newline at end of file
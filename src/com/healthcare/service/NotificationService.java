@@ -1,15 +1,31 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.config.JMSConfig;
+import com.healthcare.dto.BroadcastStatusDTO;
+import com.healthcare.dto.NotificationEvent;
 import com.healthcare.entity.*;
 import com.healthcare.exception.NotFoundException;
+import com.healthcare.exception.ValidationException;
+import jakarta.annotation.Resource;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.SessionContext;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.inject.Inject;
+import jakarta.jms.JMSRuntimeException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -25,9 +41,35 @@ public class NotificationService {
     
     private static final Logger LOGGER = Logger.getLogger(NotificationService.class.getName());
     
+    private static final String REFERENCE_APPOINTMENT = "APPOINTMENT";
+    private static final String REFERENCE_PRESCRIPTION = "PRESCRIPTION";
+    
+    /**
+     * Set-based insert of one SYSTEM notification per user of a role within an id range.
+     * Each row takes its own NEXT VALUE from NOTIFICATIONS_SEQ; a value hands out a whole
+     * allocation block, so these ids can never collide with blocks preallocated by JPA.
+     */
+    private static final String INSERT_SYSTEM_NOTIFICATIONS_SQL =
+        "INSERT INTO NOTIFICATIONS (id, user_id, type, title, message, is_read, created_at) " +
+        "SELECT NEXT VALUE FOR NOTIFICATIONS_SEQ, u.id, 'SYSTEM', " +
+        "CAST(?1 AS VARCHAR(255)), CAST(?2 AS CLOB), FALSE, CURRENT_TIMESTAMP " +
+        "FROM USERS u WHERE u.role = ?3 AND u.id > ?4 AND u.id <= ?5";
+    
     @PersistenceContext(unitName = "HealthcarePU")
     private EntityManager entityManager;
     
+    @Resource
+    private SessionContext sessionContext;
+    
+    @Inject
+    private BroadcastTracker broadcastTracker;
+    
+    @Inject
+    private UnreadCounterCache unreadCounters;
+    
+    @Inject
+    private NotificationPublisher notificationPublisher;
+    
     /**
      * Find notification by ID
      */
@@ -63,17 +105,32 @@ public class NotificationService {
     }
     
     /**
-     * Count unread notifications for user
+     * Count unread notifications for user.
+     * Served from the in-memory counter, loaded with a COUNT query on a miss.
      */
     public Long countUnread(Long userId) {
-        TypedQuery<Long> query = entityManager.createNamedQuery(
-            "Notification.countUnread", Long.class);
-        query.setParameter("userId", userId);
-        return query.getSingleResult();
+        return unreadCounters.get(userId, () -> {
+            TypedQuery<Long> query = entityManager.createNamedQuery(
+                "Notification.countUnread", Long.class);
+            query.setParameter("userId", userId);
+            return query.getSingleResult();
+        });
+    }
+    
+    /**
+     * Recount cached unread counters against the database so they cannot drift
+     */
+    @Schedule(minute = "*/10", hour = "*", persistent = false)
+    public void reconcileUnreadCounters() {
+        int corrected = unreadCounters.reconcile(this::countUnreadByUsers);
+        LOGGER.fine("Unread counter reconciliation corrected " + corrected + " of " +
+                   unreadCounters.size() + " counters");
     }
     
     /**
-     * Create notification
+     * Create notification.
+     * The id comes from the sequence pool, so the INSERT is left to the next
+     * flush or commit where it is batched with the surrounding statements.
      */
     public Notification createNotification(User user, NotificationType type, 
                                           String title, String message) {
@@ -81,7 +138,7 @@ public class NotificationService {
         
         Notification notification = new Notification(user, type, title, message);
         entityManager.persist(notification);
-        entityManager.flush();
+        unreadCounters.add(user.getId(), 1L);
         
         LOGGER.info("Notification created successfully");
         return notification;
@@ -94,6 +151,9 @@ public class NotificationService {
         LOGGER.info("Marking notification as read: " + notificationId);
         
         Notification notification = findById(notificationId);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounters.add(notification.getUser().getId(), -1L);
+        }
         notification.markAsRead();
         entityManager.merge(notification);
         
@@ -101,18 +161,44 @@ public class NotificationService {
     }
     
     /**
-     * Mark all notifications as read for user
+     * Mark all notifications as read for user.
+     * A single UPDATE over the (user_id, is_read) index; returns the number marked.
      */
-    public void markAllAsRead(Long userId) {
+    public int markAllAsRead(Long userId) {
         LOGGER.info("Marking all notifications as read for user ID: " + userId);
         
-        List<Notification> unreadNotifications = findUnreadByUser(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.markAsRead();
-            entityManager.merge(notification);
+        int updated = entityManager.createNamedQuery("Notification.markAllRead")
+            .setParameter("userId", userId)
+            .setParameter("readAt", LocalDateTime.now())
+            .executeUpdate();
+        unreadCounters.add(userId, -updated);
+        
+        LOGGER.info(updated + " notifications marked as read");
+        return updated;
+    }
+    
+    /**
+     * Mark the user's unread notifications created at or before a timestamp as read,
+     * so a client can acknowledge everything up to the newest one it has shown.
+     * Bounded by creation time rather than ID: pooled sequences hand out IDs
+     * out of creation order across servers.
+     */
+    public int markReadCreatedBefore(Long userId, LocalDateTime createdBefore) {
+        LOGGER.info("Marking notifications created before " + createdBefore + " as read for user ID: " + userId);
+        
+        if (createdBefore == null) {
+            throw new ValidationException("Timestamp is required");
         }
         
-        LOGGER.info("All notifications marked as read");
+        int updated = entityManager.createNamedQuery("Notification.markReadCreatedBefore")
+            .setParameter("userId", userId)
+            .setParameter("createdBefore", createdBefore)
+            .setParameter("readAt", LocalDateTime.now())
+            .executeUpdate();
+        unreadCounters.add(userId, -updated);
+        
+        LOGGER.info(updated + " notifications marked as read");
+        return updated;
     }
     
     /**
@@ -122,6 +208,9 @@ public class NotificationService {
         LOGGER.info("Deleting notification ID: " + id);
         
         Notification notification = findById(id);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounters.add(notification.getUser().getId(), -1L);
+        }
         entityManager.remove(notification);
         
         LOGGER.info("Notification deleted successfully");
@@ -133,6 +222,8 @@ public class NotificationService {
     public void sendAppointmentNotification(Appointment appointment) {
         LOGGER.info("Sending appointment notification");
         
+        List<NotificationEvent> events = new ArrayList<>(2);
+        
         // Notify doctor
         String doctorMessage = String.format(
             "New appointment scheduled with patient %s on %s at %s",
@@ -141,12 +232,14 @@ public class NotificationService {
             appointment.getAppointmentTime()
         );
         
-        createNotification(
-            appointment.getDoctor().getUser(),
+        events.add(new NotificationEvent(
+            appointment.getDoctor().getUser().getId(),
             NotificationType.NEW_APPOINTMENT,
             "New Appointment",
-            doctorMessage
-        );
+            doctorMessage,
+            appointment.getId(),
+            REFERENCE_APPOINTMENT
+        ));
         
         // Notify patient
         String patientMessage = String.format(
@@ -156,12 +249,71 @@ public class NotificationService {
             appointment.getAppointmentTime()
         );
         
-        createNotification(
-            appointment.getPatient().getUser(),
+        events.add(new NotificationEvent(
+            appointment.getPatient().getUser().getId(),
             NotificationType.APPOINTMENT_CONFIRMATION,
             "Appointment Confirmed",
-            patientMessage
+            patientMessage,
+            appointment.getId(),
+            REFERENCE_APPOINTMENT
+        ));
+        
+        publish(events, JMSConfig.PRIORITY_NORMAL);
+    }
+    
+    /**
+     * Send one summary notification per participant for a series of appointments
+     */
+    public void sendAppointmentSeriesNotification(List<Appointment> appointments) {
+        LOGGER.info("Sending appointment series notification");
+        
+        if (appointments.isEmpty()) {
+            return;
+        }
+        
+        Appointment first = appointments.get(0);
+        Appointment last = appointments.get(appointments.size() - 1);
+        List<NotificationEvent> events = new ArrayList<>(2);
+        
+        // Notify doctor
+        String doctorMessage = String.format(
+            "%d appointments scheduled with patient %s from %s to %s at %s",
+            appointments.size(),
+            first.getPatient().getUser().getFullName(),
+            first.getAppointmentDate(),
+            last.getAppointmentDate(),
+            first.getAppointmentTime()
+        );
+        
+        events.add(new NotificationEvent(
+            first.getDoctor().getUser().getId(),
+            NotificationType.NEW_APPOINTMENT,
+            "New Appointments",
+            doctorMessage,
+            first.getId(),
+            REFERENCE_APPOINTMENT
+        ));
+        
+        // Notify patient
+        String patientMessage = String.format(
+            "%d appointments with Dr. %s have been scheduled from %s to %s at %s",
+            appointments.size(),
+            first.getDoctor().getUser().getFullName(),
+            first.getAppointmentDate(),
+            last.getAppointmentDate(),
+            first.getAppointmentTime()
         );
+        
+        events.add(new NotificationEvent(
+            first.getPatient().getUser().getId(),
+            NotificationType.APPOINTMENT_CONFIRMATION,
+            "Appointments Confirmed",
+            patientMessage,
+            first.getId(),
+            REFERENCE_APPOINTMENT
+        ));
+        
+        publish(events, JMSConfig.PRIORITY_NORMAL);
     }
     
     /**
@@ -177,21 +329,29 @@ public class NotificationService {
             appointment.getCancellationReason()
         );
         
+        List<NotificationEvent> events = new ArrayList<>(2);
+        
         // Notify patient
-        createNotification(
-            appointment.getPatient().getUser(),
+        events.add(new NotificationEvent(
+            appointment.getPatient().getUser().getId(),
             NotificationType.APPOINTMENT_CANCELLATION,
             "Appointment Cancelled",
-            message
-        );
+            message,
+            appointment.getId(),
+            REFERENCE_APPOINTMENT
+        ));
         
         // Notify doctor
-        createNotification(
-            appointment.getDoctor().getUser(),
+        events.add(new NotificationEvent(
+            appointment.getDoctor().getUser().getId(),
             NotificationType.APPOINTMENT_CANCELLATION,
             "Appointment Cancelled",
-            message
-        );
+            message,
+            appointment.getId(),
+            REFERENCE_APPOINTMENT
+        ));
+        
+        publish(events, JMSConfig.PRIORITY_HIGH);
     }
     
     /**
@@ -206,12 +366,14 @@ public class NotificationService {
             appointment.getAppointmentTime()
         );
         
-        createNotification(
-            appointment.getPatient().getUser(),
+        publish(Collections.singletonList(new NotificationEvent(
+            appointment.getPatient().getUser().getId(),
             NotificationType.APPOINTMENT_REMINDER,
             "Appointment Reminder",
-            message
-        );
+            message,
+            appointment.getId(),
+            REFERENCE_APPOINTMENT
+        )), JMSConfig.PRIORITY_NORMAL);
     }
     
     /**
@@ -226,12 +388,14 @@ public class NotificationService {
             prescription.getMedicationName()
         );
         
-        createNotification(
-            prescription.getPatient().getUser(),
+        publish(Collections.singletonList(new NotificationEvent(
+            prescription.getPatient().getUser().getId(),
             NotificationType.PRESCRIPTION_READY,
             "New Prescription",
-            message
-        );
+            message,
+            prescription.getId(),
+            REFERENCE_PRESCRIPTION
+        )), JMSConfig.PRIORITY_NORMAL);
     }
     
     /**
@@ -243,28 +407,184 @@ public class NotificationService {
         String message = "Congratulations! Your doctor application has been approved. " +
                         "You can now log in and start managing appointments.";
         
-        createNotification(
-            doctor.getUser(),
+        publish(Collections.singletonList(new NotificationEvent(
+            doctor.getUser().getId(),
             NotificationType.SYSTEM,
             "Application Approved",
             message
-        );
+        )), JMSConfig.PRIORITY_NORMAL);
+    }
+    
+    /**
+     * Write a batch of notification events, as consumed by NotificationMDB.
+     * Recipients are referenced by id only, and all rows go out in one flush.
+     */
+    public void createNotifications(List<NotificationEvent> events) {
+        LOGGER.fine("Creating " + events.size() + " notifications");
+        
+        for (NotificationEvent event : events) {
+            Notification notification = new Notification(
+                entityManager.getReference(User.class, event.getUserId()),
+                event.getType(), event.getTitle(), event.getMessage());
+            notification.setReferenceId(event.getReferenceId());
+            notification.setReferenceType(event.getReferenceType());
+            entityManager.persist(notification);
+            unreadCounters.add(event.getUserId(), 1L);
+        }
+        entityManager.flush();
+    }
+    
+    /**
+     * Write a batch of notification events in a transaction of its own, so
+     * NotificationMDB can retry a failed batch one event at a time
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public void createNotificationsSeparately(List<NotificationEvent> events) {
+        createNotifications(events);
     }
     
     /**
-     * Send system notification to all users of a role
+     * Send system notification to all users of a role.
+     * Runs as a single INSERT ... SELECT in the caller's transaction; use
+     * startSystemBroadcast for large audiences.
      */
     public void sendSystemNotification(UserRole role, String title, String message) {
+        validateSystemNotification(role, title, message);
         LOGGER.info("Sending system notification to all " + role + " users");
         
-        TypedQuery<User> query = entityManager.createNamedQuery("User.findByRole", User.class);
-        query.setParameter("role", role);
-        List<User> users = query.getResultList();
+        int sent = insertSystemNotificationRange(role, title, message, 0L, Long.MAX_VALUE);
+        unreadCounters.clearOnCommit();
+        
+        LOGGER.info("System notification sent to " + sent + " users");
+    }
+    
+    /**
+     * Start an asynchronous system notification broadcast to all users of a role.
+     * Recipients are processed in chunks of BROADCAST_CHUNK_SIZE users, each in its
+     * own short transaction; progress can be polled with getBroadcastStatus.
+     */
+    public BroadcastStatusDTO startSystemBroadcast(UserRole role, String title, String message) {
+        validateSystemNotification(role, title, message);
+        
+        TypedQuery<Long> countQuery = entityManager.createNamedQuery("User.countByRole", Long.class);
+        countQuery.setParameter("role", role);
+        long total = countQuery.getSingleResult();
+        
+        String broadcastId = broadcastTracker.start(role, title, total);
+        LOGGER.info("Starting system broadcast " + broadcastId + " to " + total + " " + role + " users");
+        
+        sessionContext.getBusinessObject(NotificationService.class)
+            .runSystemBroadcast(broadcastId, role, title, message);
+        return broadcastTracker.getStatus(broadcastId);
+    }
+    
+    /**
+     * Progress of a system notification broadcast
+     */
+    public BroadcastStatusDTO getBroadcastStatus(String broadcastId) {
+        BroadcastStatusDTO status = broadcastTracker.getStatus(broadcastId);
+        if (status == null) {
+            throw new NotFoundException("Broadcast not found with ID: " + broadcastId);
+        }
+        return status;
+    }
+    
+    /**
+     * Broadcast worker; walks the role's user ids in keyset order and commits one chunk at a time
+     */
+    @Asynchronous
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void runSystemBroadcast(String broadcastId, UserRole role, String title, String message) {
+        NotificationService self = sessionContext.getBusinessObject(NotificationService.class);
+        TypedQuery<Long> idQuery = entityManager.createNamedQuery("User.findIdsByRoleAfter", Long.class);
+        idQuery.setParameter("role", role);
+        idQuery.setMaxResults(AppConstants.BROADCAST_CHUNK_SIZE);
         
-        for (User user : users) {
-            createNotification(user, NotificationType.SYSTEM, title, message);
+        try {
+            long afterId = 0L;
+            while (true) {
+                idQuery.setParameter("afterId", afterId);
+                List<Long> ids = idQuery.getResultList();
+                if (ids.isEmpty()) {
+                    break;
+                }
+                
+                long lastId = ids.get(ids.size() - 1);
+                int inserted = self.insertSystemNotificationChunk(role, title, message, afterId, lastId);
+                broadcastTracker.addSent(broadcastId, inserted);
+                
+                // The chunk has committed, so its recipients' counters can move now
+                unreadCounters.incrementAll(ids);
+                
+                if (ids.size() < AppConstants.BROADCAST_CHUNK_SIZE) {
+                    break;
+                }
+                afterId = lastId;
+            }
+            broadcastTracker.complete(broadcastId);
+            LOGGER.info("System broadcast " + broadcastId + " completed");
+        } catch (RuntimeException e) {
+            LOGGER.severe("System broadcast " + broadcastId + " failed: " + e.getMessage());
+            broadcastTracker.fail(broadcastId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Insert one broadcast chunk, users with afterId < id <= lastId, in its own transaction
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public int insertSystemNotificationChunk(UserRole role, String title, String message,
+                                             long afterId, long lastId) {
+        return insertSystemNotificationRange(role, title, message, afterId, lastId);
+    }
+    
+    // Private helper methods
+    
+    private static void validateSystemNotification(UserRole role, String title, String message) {
+        if (role == null) {
+            throw new ValidationException("Role is required");
+        }
+        if (title == null || title.trim().isEmpty() || title.length() > 255) {
+            throw new ValidationException("Title must be between 1 and 255 characters");
         }
+        if (message == null || message.trim().isEmpty()) {
+            throw new ValidationException("Message is required");
+        }
+    }
+    
+    /**
+     * Hand events to NotificationMDB; the send commits with the caller's transaction.
+     * If the queue is unavailable the notifications are written inline instead.
+     */
+    private void publish(List<NotificationEvent> events, int priority) {
+        try {
+            notificationPublisher.publish(events, priority);
+        } catch (JMSRuntimeException e) {
+            LOGGER.warning("Notification queue unavailable, writing notifications inline: " + e.getMessage());
+            createNotifications(events);
+        }
+    }
+    
+    private Map<Long, Long> countUnreadByUsers(Collection<Long> userIds) {
+        List<Object[]> rows = entityManager.createNamedQuery("Notification.countUnreadByUsers", Object[].class)
+            .setParameter("userIds", userIds)
+            .getResultList();
         
-        LOGGER.info("System notification sent to " + users.size() + " users");
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    private int insertSystemNotificationRange(UserRole role, String title, String message,
+                                              long afterId, long lastId) {
+        return entityManager.createNativeQuery(INSERT_SYSTEM_NOTIFICATIONS_SQL)
+            .setParameter(1, title)
+            .setParameter(2, message)
+            .setParameter(3, role.name())
+            .setParameter(4, afterId)
+            .setParameter(5, lastId)
+            .executeUpdate();
     }
 }
\ No newline at end of file
@@ -1,16 +1,25 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.PatientDTO;
 import com.healthcare.entity.Patient;
 import com.healthcare.entity.User;
 import com.healthcare.entity.UserRole;
 import com.healthcare.exception.NotFoundException;
 import com.healthcare.exception.ValidationException;
 import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.ResultStreams;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -28,9 +37,15 @@ public class PatientService {
     @Inject
     private PatientRepository patientRepository;
     
+    @Inject
+    private CacheInvalidationBus cacheInvalidation;
+    
     @Inject
     private UserService userService;
     
+    @Inject
+    private UserSearchIndex searchIndex;
+    
     /**
      * Find patient by ID
      */
@@ -57,6 +72,32 @@ public class PatientService {
         return patientRepository.findAll();
     }
     
+    /**
+     * Pass every patient to the consumer in constant memory, for exports and batch jobs
+     *
+     * @return number of patients streamed
+     */
+    public long streamAll(Consumer<? super Patient> consumer) {
+        LOGGER.info("Streaming all patients");
+        return ResultStreams.forEach(patientRepository.streamAll(), consumer);
+    }
+    
+    /**
+     * Pass patients matching the export filters to the consumer as export DTOs,
+     * newest first, in constant memory. Null filters are ignored.
+     *
+     * @return number of patients exported
+     */
+    public long exportList(LocalDate fromDate, LocalDate toDate, Boolean active,
+                           Consumer<? super PatientDTO> consumer) {
+        LOGGER.info("Exporting patients from " + fromDate + " to " + toDate);
+        
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        return ResultStreams.forEach(patientRepository.streamList(fromDate, toDate, active), consumer);
+    }
+    
     /**
      * Create new patient
      */
@@ -113,6 +154,7 @@ public class PatientService {
         existingPatient.setCurrentMedications(patient.getCurrentMedications());
         
         Patient updatedPatient = patientRepository.update(existingPatient);
+        cacheInvalidation.entityChanged(Patient.class, existingPatient.getId());
         LOGGER.info("Patient updated successfully");
         
         return updatedPatient;
@@ -129,15 +171,34 @@ public class PatientService {
         
         // Delete patient (cascade will handle user deletion)
         patientRepository.delete(id);
+        cacheInvalidation.entityChanged(Patient.class, id);
         LOGGER.info("Patient deleted successfully");
     }
     
     /**
-     * Search patients by name
+     * Search patients by name, email or phone number, best matches first.
+     * Served from the in-memory user search index; pass the previous page's
+     * nextToken to continue.
      */
-    public List<Patient> searchByName(String searchTerm) {
-        LOGGER.info("Searching patients by name: " + searchTerm);
-        return patientRepository.searchByName(searchTerm);
+    public PageDTO<Patient> searchByName(String searchTerm, String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Searching patients: " + searchTerm);
+        
+        PageDTO<Long> userIds = searchIndex.search(searchTerm, UserRole.PATIENT, pageToken, size);
+        Map<Long, Patient> patients = new HashMap<>();
+        if (!userIds.getItems().isEmpty()) {
+            patientRepository.findByUserIds(userIds.getItems())
+                .forEach(patient -> patients.put(patient.getUser().getId(), patient));
+        }
+        
+        // Keep the rank order; a patient deleted since indexing is skipped
+        List<Patient> ranked = new ArrayList<>(patients.size());
+        for (Long userId : userIds.getItems()) {
+            if (patients.containsKey(userId)) {
+                ranked.add(patients.get(userId));
+            }
+        }
+        return new PageDTO<>(ranked, userIds.getNextToken());
     }
     
     /**
@@ -156,6 +217,15 @@ public class PatientService {
         return patientRepository.findAll(pageNumber, pageSize);
     }
     
+    /**
+     * Find a page of patients by keyset; pass the previous page's nextToken to continue
+     */
+    public PageDTO<Patient> findPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Finding patients page - Size: " + size);
+        return patientRepository.findPage(pageToken, size);
+    }
+    
     /**
      * Count total patients
      */
@@ -172,6 +242,7 @@ public class PatientService {
         Patient patient = findById(patientId);
         patient.setMedicalHistory(medicalHistory);
         patientRepository.update(patient);
+        cacheInvalidation.entityChanged(Patient.class, patient.getId());
         
         LOGGER.info("Medical history updated successfully");
     }
@@ -185,6 +256,7 @@ public class PatientService {
         Patient patient = findById(patientId);
         patient.setAllergies(allergies);
         patientRepository.update(patient);
+        cacheInvalidation.entityChanged(Patient.class, patient.getId());
         
         LOGGER.info("Allergies updated successfully");
     }
@@ -1,17 +1,23 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.PrescriptionDTO;
 import com.healthcare.entity.Doctor;
 import com.healthcare.entity.Patient;
 import com.healthcare.entity.Prescription;
 import com.healthcare.exception.NotFoundException;
 import com.healthcare.exception.ValidationException;
 import com.healthcare.repository.PrescriptionRepository;
+import com.healthcare.repository.ResultStreams;
+import jakarta.ejb.Schedule;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
@@ -38,6 +44,9 @@ public class PrescriptionService {
     @Inject
     private NotificationService notificationService;
     
+    @Inject
+    private MedicationDictionary medicationDictionary;
+    
     /**
      * Find prescription by ID
      */
@@ -55,6 +64,32 @@ public class PrescriptionService {
         return prescriptionRepository.findAll();
     }
     
+    /**
+     * Pass every prescription to the consumer in constant memory, for exports and batch jobs
+     *
+     * @return number of prescriptions streamed
+     */
+    public long streamAll(Consumer<? super Prescription> consumer) {
+        LOGGER.info("Streaming all prescriptions");
+        return ResultStreams.forEach(prescriptionRepository.streamAll(), consumer);
+    }
+    
+    /**
+     * Pass prescriptions matching the export filters to the consumer as list view DTOs,
+     * most recently prescribed first, in constant memory. Null filters are ignored.
+     *
+     * @return number of prescriptions exported
+     */
+    public long exportList(LocalDate fromDate, LocalDate toDate, Long doctorId, Boolean active,
+                           Consumer<? super PrescriptionDTO> consumer) {
+        LOGGER.info("Exporting prescriptions from " + fromDate + " to " + toDate);
+        
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        return ResultStreams.forEach(prescriptionRepository.streamList(fromDate, toDate, doctorId, active), consumer);
+    }
+    
     /**
      * Find prescriptions by patient
      */
@@ -71,6 +106,22 @@ public class PrescriptionService {
         return prescriptionRepository.findByDoctor(doctorId);
     }
     
+    /**
+     * List prescriptions of a patient for display, without loading entities
+     */
+    public List<PrescriptionDTO> listByPatient(Long patientId) {
+        LOGGER.info("Listing prescriptions for patient ID: " + patientId);
+        return prescriptionRepository.listByPatient(patientId);
+    }
+    
+    /**
+     * List prescriptions of a doctor for display, without loading entities
+     */
+    public List<PrescriptionDTO> listByDoctor(Long doctorId) {
+        LOGGER.info("Listing prescriptions for doctor ID: " + doctorId);
+        return prescriptionRepository.listByDoctor(doctorId);
+    }
+    
     /**
      * Find active prescriptions for patient
      */
@@ -115,6 +166,7 @@ public class PrescriptionService {
         prescription.setIsActive(true);
         
         Prescription savedPrescription = prescriptionRepository.save(prescription);
+        medicationDictionary.countOnCommit(medicationName);
         LOGGER.info("Prescription created successfully with ID: " + savedPrescription.getId());
         
         // Send notification to patient
@@ -123,6 +175,24 @@ public class PrescriptionService {
         return savedPrescription;
     }
     
+    /**
+     * Suggest medication names starting with the prefix, most prescribed first.
+     * Served from the in-memory medication dictionary.
+     */
+    public List<String> completeMedication(String prefix, int limit) {
+        int size = limit > 0 ? Math.min(limit, AppConstants.MEDICATION_COMPLETIONS) : AppConstants.MEDICATION_COMPLETIONS;
+        return medicationDictionary.complete(prefix, size, prescriptionRepository::countByMedication);
+    }
+    
+    /**
+     * Reload medication frequencies so prescriptions written on other nodes
+     * and deleted prescriptions are reflected
+     */
+    @Schedule(minute = "0", hour = "*", persistent = false)
+    public void reloadMedicationDictionary() {
+        medicationDictionary.reload(prescriptionRepository::countByMedication);
+    }
+    
     /**
      * Update prescription
      */
@@ -131,6 +201,9 @@ public class PrescriptionService {
         
         // Verify prescription exists
         Prescription existingPrescription = findById(prescription.getId());
+        if (!existingPrescription.getMedicationName().equals(prescription.getMedicationName())) {
+            medicationDictionary.countOnCommit(prescription.getMedicationName());
+        }
         
         // Update fields
         existingPrescription.setMedicationName(prescription.getMedicationName());
@@ -182,6 +255,24 @@ public class PrescriptionService {
         return prescriptionRepository.findAll(pageNumber, pageSize);
     }
     
+    /**
+     * Find a page of prescriptions by keyset; pass the previous page's nextToken to continue
+     */
+    public PageDTO<Prescription> findPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Finding prescriptions page - Size: " + size);
+        return prescriptionRepository.findPage(pageToken, size);
+    }
+    
+    /**
+     * List a keyset page of prescriptions for display, without loading entities
+     */
+    public PageDTO<PrescriptionDTO> listPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Listing prescriptions page - Size: " + size);
+        return prescriptionRepository.listPage(pageToken, size);
+    }
+    
     /**
      * Count total prescriptions
      */
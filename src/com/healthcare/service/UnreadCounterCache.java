@@ -0,0 +1,262 @@
+package com.healthcare.service;
+
+import com.healthcare.config.AppConstants;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Per-user unread notification counters.
+ * A counter is loaded from the database on first read and then kept current
+ * by NotificationService: changes made inside a transaction are collected and
+ * applied when it commits, and discarded when it rolls back.
+ * <p>
+ * Entries idle for CACHE_EXPIRATION_SECONDS are evicted, the cache is kept
+ * below MAX_CACHE_SIZE users, and a reconciliation pass recounts cached users
+ * so that a missed update cannot leave a badge wrong for long.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class UnreadCounterCache {
+    
+    private static final Logger LOGGER = Logger.getLogger(UnreadCounterCache.class.getName());
+    
+    private static final long EXPIRATION_MS = AppConstants.CACHE_EXPIRATION_SECONDS * 1000L;
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    private static final int STRIPES = 64;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    
+    /** Modification stamps per user stripe, so a load can tell it raced with an update */
+    private final AtomicLongArray modifications = new AtomicLongArray(STRIPES);
+    
+    /**
+     * Unread count of a user, loading it with the given query on a miss
+     */
+    public long get(Long userId, LongSupplier loader) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.lastAccess = now;
+            return Math.max(0L, counter.count.get());
+        }
+        
+        // Only cache the loaded count if no update for this user landed meanwhile
+        int stripe = stripeFor(userId);
+        long stamp = modifications.get(stripe);
+        long loaded = loader.getAsLong();
+        counter = new Counter(loaded, now);
+        if (modifications.get(stripe) == stamp) {
+            Counter existing = counters.putIfAbsent(userId, counter);
+            if (existing == null) {
+                evictIfFull();
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Adjust a user's counter when the current transaction commits,
+     * or immediately if there is none
+     */
+    public void add(Long userId, long delta) {
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.deltas.merge(userId, delta, Long::sum);
+        } else {
+            apply(userId, delta);
+        }
+    }
+    
+    /**
+     * Add one unread notification to each of the given users
+     */
+    public void incrementAll(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            add(userId, 1L);
+        }
+    }
+    
+    /**
+     * Drop a user's counter so it is reloaded on next read
+     */
+    public void evict(Long userId) {
+        modifications.incrementAndGet(stripeFor(userId));
+        counters.remove(userId);
+    }
+    
+    /**
+     * Drop every counter, e.g. after a bulk insert with unknown recipients
+     */
+    public void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            modifications.incrementAndGet(i);
+        }
+        counters.clear();
+    }
+    
+    /**
+     * Drop every counter when the current transaction commits,
+     * or immediately if there is none
+     */
+    public void clearOnCommit() {
+        PendingChanges pending = pendingChanges();
+        if (pending != null) {
+            pending.clear = true;
+        } else {
+            clear();
+        }
+    }
+    
+    /**
+     * Recount cached users and correct drifted counters.
+     * The recount function receives a batch of user ids and returns their
+     * unread counts; users missing from the result have none.
+     */
+    public int reconcile(Function<Collection<Long>, Map<Long, Long>> recount) {
+        evictExpired();
+        
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += AppConstants.MAX_PAGE_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(userIds.size(), from + AppConstants.MAX_PAGE_SIZE));
+            
+            Map<Long, Long> versions = new HashMap<>();
+            for (Long userId : batch) {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    versions.put(userId, counter.version.get());
+                }
+            }
+            
+            Map<Long, Long> actual = recount.apply(batch);
+            for (Map.Entry<Long, Long> entry : versions.entrySet()) {
+                Counter counter = counters.get(entry.getKey());
+                long expected = actual.getOrDefault(entry.getKey(), 0L);
+                
+                // Only correct counters nobody touched while recounting
+                if (counter != null && counter.version.get() == entry.getValue()
+                        && counter.count.get() != expected) {
+                    counter.count.set(expected);
+                    counter.version.incrementAndGet();
+                    corrected++;
+                }
+            }
+        }
+        
+        if (corrected > 0) {
+            LOGGER.warning("Reconciled " + corrected + " drifted unread notification counters");
+        }
+        return corrected;
+    }
+    
+    /**
+     * Number of cached counters
+     */
+    public int size() {
+        return counters.size();
+    }
+    
+    // Private helper methods
+    
+    private void apply(Long userId, long delta) {
+        modifications.incrementAndGet(stripeFor(userId));
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.count.addAndGet(delta);
+            counter.version.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Counter changes of the current transaction, applied when it commits
+     */
+    private PendingChanges pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        PendingChanges pending = (PendingChanges) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            PendingChanges changes = new PendingChanges();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != Status.STATUS_COMMITTED) {
+                        return;
+                    }
+                    if (changes.clear) {
+                        clear();
+                    } else {
+                        changes.deltas.forEach(UnreadCounterCache.this::apply);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private void evictExpired() {
+        long cutoff = System.currentTimeMillis() - EXPIRATION_MS;
+        counters.values().removeIf(counter -> counter.lastAccess < cutoff);
+    }
+    
+    private void evictIfFull() {
+        if (counters.size() <= AppConstants.MAX_CACHE_SIZE) {
+            return;
+        }
+        evictExpired();
+        
+        // Still full: drop the least recently read half
+        if (counters.size() > AppConstants.MAX_CACHE_SIZE) {
+            long[] accesses = counters.values().stream().mapToLong(c -> c.lastAccess).sorted().toArray();
+            long median = accesses[accesses.length / 2];
+            counters.values().removeIf(counter -> counter.lastAccess < median);
+        }
+    }
+    
+    private static int stripeFor(Long userId) {
+        return (int) (userId ^ (userId >>> 32)) & (STRIPES - 1);
+    }
+    
+    private static final class PendingChanges {
+        private final Map<Long, Long> deltas = new HashMap<>();
+        private boolean clear;
+    }
+    
+    private static final class Counter {
+        private final AtomicLong count;
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastAccess;
+        
+        Counter(long count, long lastAccess) {
+            this.count = new AtomicLong(count);
+            this.lastAccess = lastAccess;
+        }
+    }
+}
\ No newline at end of file
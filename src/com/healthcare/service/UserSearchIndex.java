@@ -0,0 +1,405 @@
+package com.healthcare.service;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.UserDTO;
+import com.healthcare.entity.User;
+import com.healthcare.entity.UserRole;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.repository.PageToken;
+import com.healthcare.repository.ResultStreams;
+import com.healthcare.repository.UserRepository;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over user names, emails and phone numbers.
+ * A LIKE '%term%' search cannot use an index and scans the users table;
+ * this index instead maps every three-character sequence of the indexed
+ * fields to the users containing it. A search collects the users sharing
+ * query trigrams and ranks them by the share of the query they contain, so
+ * misspelt terms still match. Terms made of digits are matched against
+ * phone numbers only.
+ * <p>
+ * The index is loaded on first search and kept current by UserService:
+ * changes are applied when their transaction commits. Users changed on
+ * another node are reloaded from the database before the next search.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class UserSearchIndex {
+    
+    private static final Logger LOGGER = Logger.getLogger(UserSearchIndex.class.getName());
+    
+    private static final Object PENDING_CHANGES_KEY = new Object();
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern PHONE_PUNCTUATION = Pattern.compile("[\\s+()\\-.]");
+    
+    /** Marks phone trigrams so they never match name or email trigrams */
+    private static final long PHONE = 1L << 48;
+    
+    /** Extra score for a match containing the whole term, and for one starting with it */
+    private static final double CONTAINS_BONUS = 1.0;
+    private static final double PREFIX_BONUS = 0.5;
+    
+    @Inject
+    private UserRepository userRepository;
+    
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+    
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    /** User ids by trigram */
+    private final ConcurrentMap<Long, Set<Long>> postings = new ConcurrentHashMap<>();
+    
+    /** Users changed on another node or during the initial load, reloaded before the next search */
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    
+    private final Object loadLock = new Object();
+    private volatile boolean loaded;
+    
+    /**
+     * Search users by name, email or phone number, best matches first.
+     * Pass the previous page's nextToken to continue.
+     *
+     * @param role only return users with this role; null for all users
+     * @return ids of the matching users, in rank order
+     */
+    public PageDTO<Long> search(String term, UserRole role, String pageToken, int pageSize) {
+        Query query = Query.parse(term);
+        int offset = pageToken != null ? PageToken.parse(PageToken.decode(pageToken, 1)[0], Integer::valueOf) : 0;
+        if (offset < 0) {
+            throw new ValidationException("Invalid page token");
+        }
+        
+        ensureLoaded();
+        reloadStale();
+        
+        // Count shared trigrams per candidate, then rank the ones sharing enough
+        Map<Long, Integer> shared = new HashMap<>();
+        for (long trigram : query.trigrams) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        
+        int minShared = (int) Math.ceil(AppConstants.SEARCH_MIN_SIMILARITY * query.trigrams.length);
+        List<Hit> hits = new ArrayList<>();
+        shared.forEach((id, count) -> {
+            Entry entry = entries.get(id);
+            if (count >= minShared && entry != null && (role == null || role == entry.role)) {
+                hits.add(new Hit(entry, entry.score(query)));
+            }
+        });
+        hits.sort(Hit.RANK);
+        
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < hits.size() && ids.size() < pageSize; i++) {
+            ids.add(hits.get(i).entry.id);
+        }
+        int next = offset + ids.size();
+        return new PageDTO<>(ids, next < hits.size() ? PageToken.encode(next) : null);
+    }
+    
+    /**
+     * Index a created or updated user when the current transaction commits
+     */
+    public void putOnCommit(User user) {
+        change(user.getId(), new Entry(user.getId(), user.getRole(), user.getFirstName(), user.getLastName(),
+                                       user.getEmail(), user.getPhone()));
+    }
+    
+    /**
+     * Remove a deleted user when the current transaction commits
+     */
+    public void removeOnCommit(Long userId) {
+        change(userId, null);
+    }
+    
+    /**
+     * Reload a user changed on another node before the next search
+     */
+    public void refresh(Long userId) {
+        stale.add(userId);
+    }
+    
+    // Private helper methods
+    
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            // Changes committed while loading mark their users stale instead
+            stale.clear();
+            long start = System.nanoTime();
+            long count = ResultStreams.forEach(userRepository.streamSearchFields(), user -> put(entry(user)));
+            loaded = true;
+            LOGGER.info("Indexed " + count + " users, " + postings.size() + " trigrams in "
+                        + (System.nanoTime() - start) / 1_000_000L + " ms");
+        }
+    }
+    
+    private void reloadStale() {
+        if (stale.isEmpty()) {
+            return;
+        }
+        
+        List<Long> ids = new ArrayList<>(stale);
+        stale.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += AppConstants.MAX_PAGE_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + AppConstants.MAX_PAGE_SIZE, ids.size()));
+            Set<Long> missing = new HashSet<>(batch);
+            for (UserDTO user : userRepository.findSearchFields(batch)) {
+                put(entry(user));
+                missing.remove(user.getId());
+            }
+            missing.forEach(this::remove);
+        }
+    }
+    
+    private void change(Long userId, Entry entry) {
+        Map<Long, Entry> pending = pendingChanges();
+        if (pending != null) {
+            pending.put(userId, entry);
+        } else {
+            apply(userId, entry);
+        }
+    }
+    
+    private void apply(Long userId, Entry entry) {
+        if (!loaded) {
+            stale.add(userId);
+        } else if (entry != null) {
+            put(entry);
+        } else {
+            remove(userId);
+        }
+    }
+    
+    private synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.id, entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        for (long trigram : entry.trigrams) {
+            postings.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(entry.id);
+        }
+    }
+    
+    private synchronized void remove(Long userId) {
+        Entry previous = entries.remove(userId);
+        if (previous != null) {
+            unlink(previous);
+        }
+    }
+    
+    private void unlink(Entry entry) {
+        for (long trigram : entry.trigrams) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null && ids.remove(entry.id) && ids.isEmpty()) {
+                postings.remove(trigram, ids);
+            }
+        }
+    }
+    
+    /**
+     * Index changes of the current transaction, applied when it commits
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, Entry> pendingChanges() {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        
+        Map<Long, Entry> pending = (Map<Long, Entry>) transactionRegistry.getResource(PENDING_CHANGES_KEY);
+        if (pending == null) {
+            Map<Long, Entry> changes = new HashMap<>();
+            transactionRegistry.putResource(PENDING_CHANGES_KEY, changes);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        changes.forEach(UserSearchIndex.this::apply);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+    
+    private static Entry entry(UserDTO user) {
+        return new Entry(user.getId(), user.getRole(), user.getFirstName(), user.getLastName(),
+                         user.getEmail(), user.getPhone());
+    }
+    
+    /**
+     * Lower case, without accents, so accented names match their plain spelling
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase();
+    }
+    
+    private static String digits(String value) {
+        return value == null ? "" : PHONE_PUNCTUATION.matcher(value).replaceAll("");
+    }
+    
+    /**
+     * Trigrams of every word, padded so that word starts weigh more (pg_trgm style)
+     */
+    private static void addWordTrigrams(String text, Set<Long> trigrams) {
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                addTrigrams("  " + word + " ", 0L, trigrams);
+            }
+        }
+    }
+    
+    private static void addTrigrams(String text, long flag, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(flag | (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+        }
+    }
+    
+    private static long[] toSortedArray(Set<Long> trigrams) {
+        long[] sorted = trigrams.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+    
+    /**
+     * Normalized search term and its trigrams
+     */
+    private static final class Query {
+        private final String text;
+        private final boolean phone;
+        private final long[] trigrams;
+        
+        private Query(String text, boolean phone, long[] trigrams) {
+            this.text = text;
+            this.phone = phone;
+            this.trigrams = trigrams;
+        }
+        
+        static Query parse(String term) {
+            String text = normalize(term).trim().replaceAll("\\s+", " ");
+            if (text.isEmpty()) {
+                throw new ValidationException("Search term is required");
+            }
+            
+            Set<Long> trigrams = new HashSet<>();
+            String digits = digits(text);
+            if (digits.length() >= AppConstants.SEARCH_MIN_PHONE_DIGITS && digits.chars().allMatch(Character::isDigit)) {
+                addTrigrams(digits, PHONE, trigrams);
+                return new Query(digits, true, toSortedArray(trigrams));
+            }
+            addWordTrigrams(text, trigrams);
+            if (trigrams.isEmpty()) {
+                throw new ValidationException("Search term must contain letters or digits");
+            }
+            return new Query(text, false, toSortedArray(trigrams));
+        }
+    }
+    
+    /**
+     * Indexed fields of one user
+     */
+    private static final class Entry {
+        private final Long id;
+        private final UserRole role;
+        private final String firstName;
+        private final String lastName;
+        private final String text;
+        private final String phone;
+        private final long[] trigrams;
+        
+        Entry(Long id, UserRole role, String firstName, String lastName, String email, String phone) {
+            this.id = id;
+            this.role = role;
+            this.firstName = firstName != null ? firstName : "";
+            this.lastName = lastName != null ? lastName : "";
+            this.text = normalize(this.firstName + " " + this.lastName + " " + (email != null ? email : ""));
+            this.phone = digits(phone);
+            
+            Set<Long> trigrams = new HashSet<>();
+            addWordTrigrams(text, trigrams);
+            addTrigrams(this.phone, PHONE, trigrams);
+            this.trigrams = toSortedArray(trigrams);
+        }
+        
+        /**
+         * Share of the query trigrams found here, plus a bonus for containing
+         * the whole term and another for a field or word starting with it
+         */
+        double score(Query query) {
+            int shared = 0;
+            for (long trigram : query.trigrams) {
+                if (Arrays.binarySearch(trigrams, trigram) >= 0) {
+                    shared++;
+                }
+            }
+            double score = (double) shared / query.trigrams.length;
+            
+            String field = query.phone ? phone : text;
+            int at = field.indexOf(query.text);
+            if (at >= 0) {
+                score += CONTAINS_BONUS;
+                if (at == 0 || !Character.isLetterOrDigit(field.charAt(at - 1))) {
+                    score += PREFIX_BONUS;
+                }
+            }
+            return score;
+        }
+    }
+    
+    private static final class Hit {
+        private static final Comparator<Hit> RANK = Comparator
+            .comparingDouble((Hit hit) -> -hit.score)
+            .thenComparing(hit -> hit.entry.lastName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(hit -> hit.entry.firstName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(hit -> hit.entry.id);
+        
+        private final Entry entry;
+        private final double score;
+        
+        Hit(Entry entry, double score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
\ No newline at end of file
@@ -1,17 +1,24 @@
 package com.healthcare.service;
 
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PageDTO;
 import com.healthcare.entity.User;
 import com.healthcare.entity.UserRole;
 import com.healthcare.exception.NotFoundException;
 import com.healthcare.exception.ValidationException;
 import com.healthcare.repository.UserRepository;
+import com.healthcare.security.LoginAttemptTracker;
+import com.healthcare.security.PrincipalCache;
 import com.healthcare.util.PasswordUtils;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
 import jakarta.inject.Inject;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -30,6 +37,24 @@ public class UserService {
     @Inject
     private UserRepository userRepository;
     
+    @Inject
+    private CacheInvalidationBus cacheInvalidation;
+    
+    @Inject
+    private PasswordUtils passwordUtils;
+    
+    @Inject
+    private LoginAttemptTracker loginAttempts;
+    
+    @Inject
+    private PrincipalCache principalCache;
+    
+    @Inject
+    private DoctorDirectory doctorDirectory;
+    
+    @Inject
+    private UserSearchIndex searchIndex;
+    
     /**
      * Find user by ID
      */
@@ -79,11 +104,13 @@ public class UserService {
         }
         
         // Hash password
-        String hashedPassword = PasswordUtils.hashPassword(plainPassword);
+        String hashedPassword = passwordUtils.hashPassword(plainPassword);
         user.setPasswordHash(hashedPassword);
         
         // Save user
         User savedUser = userRepository.save(user);
+        cacheInvalidation.entityChanged(User.class, savedUser.getId());
+        searchIndex.putOnCommit(savedUser);
         LOGGER.info("User created successfully with ID: " + savedUser.getId());
         
         return savedUser;
@@ -114,6 +141,12 @@ public class UserService {
         existingUser.setIsVerified(user.getIsVerified());
         
         User updatedUser = userRepository.update(existingUser);
+        cacheInvalidation.entityChanged(User.class, existingUser.getId());
+        principalCache.invalidateOnCommit(existingUser.getId());
+        searchIndex.putOnCommit(existingUser);
+        if (existingUser.getRole() == UserRole.DOCTOR) {
+            doctorDirectory.updateUserOnCommit(existingUser);
+        }
         LOGGER.info("User updated successfully");
         
         return updatedUser;
@@ -126,31 +159,56 @@ public class UserService {
         LOGGER.info("Deleting user with ID: " + id);
         
         // Verify user exists
-        findById(id);
+        User user = findById(id);
         
         userRepository.delete(id);
+        cacheInvalidation.entityChanged(User.class, id);
+        principalCache.invalidateOnCommit(id);
+        searchIndex.removeOnCommit(id);
+        if (user.getRole() == UserRole.DOCTOR) {
+            doctorDirectory.removeUserOnCommit(id);
+        }
         LOGGER.info("User deleted successfully");
     }
     
     /**
-     * Authenticate user
+     * Authenticate user, counting failures from the client towards lockout
+     *
+     * @param clientIp null if unknown
      */
-    public User authenticate(String email, String plainPassword) {
+    public User authenticate(String email, String plainPassword, String clientIp) {
         LOGGER.info("Authenticating user: " + email);
         
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new ValidationException("Invalid email or password"));
+        // Turn locked out logins away before spending a hash on them
+        if (loginAttempts.isBlocked(email, clientIp)) {
+            throw new ValidationException(AppConstants.ERROR_ACCOUNT_LOCKED);
+        }
+        
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            loginAttempts.loginFailed(email, clientIp);
+            throw new ValidationException("Invalid email or password");
+        }
         
         // Verify password
-        if (!PasswordUtils.verifyPassword(plainPassword, user.getPasswordHash())) {
+        if (!passwordUtils.verifyPassword(plainPassword, user.getPasswordHash())) {
+            loginAttempts.loginFailed(email, clientIp);
             throw new ValidationException("Invalid email or password");
         }
+        loginAttempts.loginSucceeded(email);
         
         // Check if user is active
         if (!user.getIsActive()) {
             throw new ValidationException("User account is deactivated");
         }
         
+        // Re-hash at the configured cost while the password is at hand
+        if (passwordUtils.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordUtils.hashPassword(plainPassword));
+            cacheInvalidation.entityChanged(User.class, user.getId());
+            LOGGER.info("Password re-hashed at cost " + AppConstants.BCRYPT_STRENGTH);
+        }
+        
         // Update last login
         user.setLastLogin(LocalDateTime.now());
         userRepository.update(user);
@@ -168,7 +226,7 @@ public class UserService {
         User user = findById(userId);
         
         // Verify old password
-        if (!PasswordUtils.verifyPassword(oldPassword, user.getPasswordHash())) {
+        if (!passwordUtils.verifyPassword(oldPassword, user.getPasswordHash())) {
             throw new ValidationException("Current password is incorrect");
         }
         
@@ -178,9 +236,10 @@ public class UserService {
         }
         
         // Hash and update password
-        String hashedPassword = PasswordUtils.hashPassword(newPassword);
+        String hashedPassword = passwordUtils.hashPassword(newPassword);
         user.setPasswordHash(hashedPassword);
         userRepository.update(user);
+        cacheInvalidation.entityChanged(User.class, user.getId());
         
         LOGGER.info("Password changed successfully");
     }
@@ -195,6 +254,11 @@ public class UserService {
         user.setIsActive(true);
         user.setIsVerified(true);
         userRepository.update(user);
+        cacheInvalidation.entityChanged(User.class, user.getId());
+        principalCache.invalidateOnCommit(user.getId());
+        if (user.getRole() == UserRole.DOCTOR) {
+            doctorDirectory.updateUserOnCommit(user);
+        }
         
         LOGGER.info("User activated successfully");
     }
@@ -208,6 +272,11 @@ public class UserService {
         User user = findById(userId);
         user.setIsActive(false);
         userRepository.update(user);
+        cacheInvalidation.entityChanged(User.class, user.getId());
+        principalCache.invalidateOnCommit(user.getId());
+        if (user.getRole() == UserRole.DOCTOR) {
+            doctorDirectory.updateUserOnCommit(user);
+        }
         
         LOGGER.info("User deactivated successfully");
     }
@@ -220,11 +289,28 @@ public class UserService {
     }
     
     /**
-     * Search users by name
+     * Search users by name, email or phone number, best matches first.
+     * Served from the in-memory search index; pass the previous page's
+     * nextToken to continue.
      */
-    public List<User> searchByName(String searchTerm) {
-        LOGGER.info("Searching users by name: " + searchTerm);
-        return userRepository.searchByName(searchTerm);
+    public PageDTO<User> searchByName(String searchTerm, String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Searching users: " + searchTerm);
+        
+        PageDTO<Long> ids = searchIndex.search(searchTerm, null, pageToken, size);
+        Map<Long, User> users = new HashMap<>();
+        if (!ids.getItems().isEmpty()) {
+            userRepository.findByIds(ids.getItems()).forEach(user -> users.put(user.getId(), user));
+        }
+        
+        // Keep the rank order; a user deleted since indexing is skipped
+        List<User> ranked = new ArrayList<>(users.size());
+        for (Long id : ids.getItems()) {
+            if (users.containsKey(id)) {
+                ranked.add(users.get(id));
+            }
+        }
+        return new PageDTO<>(ranked, ids.getNextToken());
     }
     
     /**
@@ -235,6 +321,15 @@ public class UserService {
         return userRepository.findAll(pageNumber, pageSize);
     }
     
+    /**
+     * Find a page of users by keyset; pass the previous page's nextToken to continue
+     */
+    public PageDTO<User> findPage(String pageToken, int pageSize) {
+        int size = pageSize > 0 ? Math.min(pageSize, AppConstants.MAX_PAGE_SIZE) : AppConstants.DEFAULT_PAGE_SIZE;
+        LOGGER.info("Finding users page - Size: " + size);
+        return userRepository.findPage(pageToken, size);
+    }
+    
     /**
      * Count total users
      */
@@ -0,0 +1,113 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.RateLimitStatisticsDTO;
+import com.healthcare.security.ApiRateLimiter;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ApiRateLimiter token buckets: bursts, refill and eviction
+ * of tracked callers.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class ApiRateLimiterTest {
+    
+    private static final long INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1) / AppConstants.API_RATE_LIMIT;
+    private static final String BUSY_CLIENT = "10.0.0.1";
+    
+    private ApiRateLimiter limiter;
+    
+    @BeforeEach
+    void setUp() {
+        limiter = new ApiRateLimiter();
+    }
+    
+    @Test
+    void testAcquire_AllowsBurstThenThrottles() {
+        assertEquals(AppConstants.API_RATE_LIMIT, burst(BUSY_CLIENT));
+        
+        long wait = limiter.acquireForClient(BUSY_CLIENT);
+        assertTrue(wait > 0 && wait <= INTERVAL_NANOS, "wait " + wait);
+        assertEquals(2, limiter.getStatistics().getClientRejections());
+    }
+    
+    @Test
+    void testAcquire_UsersAndClientsCountedApart() {
+        burst(BUSY_CLIENT);
+        
+        assertEquals(0L, limiter.acquireForUser(1L));
+        assertEquals(0L, limiter.acquireForClient("10.0.0.2"));
+        assertEquals(1, limiter.getStatistics().getTrackedUsers());
+    }
+    
+    @Test
+    void testAcquire_RefillsOverTime() throws InterruptedException {
+        burst(BUSY_CLIENT);
+        long wait = limiter.acquireForClient(BUSY_CLIENT);
+        
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(0L, limiter.acquireForClient(BUSY_CLIENT));
+        assertTrue(limiter.acquireForClient(BUSY_CLIENT) > 0);
+    }
+    
+    @Test
+    void testEvict_KeepsThrottledCallers() {
+        for (int i = 1; i < AppConstants.API_RATE_LIMIT_MAX_KEYS; i++) {
+            limiter.acquireForClient(clientIp(i));
+        }
+        burst(BUSY_CLIENT);
+        assertEquals(AppConstants.API_RATE_LIMIT_MAX_KEYS, limiter.getStatistics().getTrackedClients());
+        
+        // One more caller trims the lightest callers to three quarters of the limit
+        assertEquals(0L, limiter.acquireForClient("192.168.0.1"));
+        RateLimitStatisticsDTO statistics = limiter.getStatistics();
+        assertTrue(statistics.getTrackedClients() <= AppConstants.API_RATE_LIMIT_MAX_KEYS * 3 / 4 + 1,
+                   "tracked " + statistics.getTrackedClients());
+        assertTrue(statistics.getClientEvictions() >= AppConstants.API_RATE_LIMIT_MAX_KEYS / 4 - 1);
+        
+        // Cycling through new keys did not reset the busy caller's bucket; it
+        // only earned the token or two that the eviction took time for
+        assertTrue(burst(BUSY_CLIENT) <= 2);
+    }
+    
+    @Test
+    void testEvict_DropsIdleCallersFirst() throws InterruptedException {
+        for (int i = 0; i < AppConstants.API_RATE_LIMIT_MAX_KEYS; i++) {
+            limiter.acquireForClient(clientIp(i));
+        }
+        
+        // The single token each caller spent is back, so their buckets are full
+        TimeUnit.NANOSECONDS.sleep(INTERVAL_NANOS + TimeUnit.MILLISECONDS.toNanos(20));
+        burst(BUSY_CLIENT);
+        
+        RateLimitStatisticsDTO statistics = limiter.getStatistics();
+        assertEquals(1, statistics.getTrackedClients());
+        assertEquals(AppConstants.API_RATE_LIMIT_MAX_KEYS, statistics.getClientEvictions());
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Spend a client's whole allowance
+     *
+     * @return number of requests allowed
+     */
+    private int burst(String clientIp) {
+        int allowed = 0;
+        while (limiter.acquireForClient(clientIp) == 0L) {
+            allowed++;
+        }
+        return allowed;
+    }
+    
+    private static String clientIp(int i) {
+        return "10.1." + (i >>> 8 & 0xFF) + "." + (i & 0xFF) + "/" + (i >>> 16);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.healthcare.exception.ValidationException;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.scheduling.BookingLocks;
+import com.healthcare.scheduling.DaySchedule;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for BookingLocks, including a contention benchmark that books
+ * one doctor from many threads.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class BookingLocksTest {
+    
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final int THREADS = 16;
+    
+    @Mock
+    private DoctorRepository doctorRepository;
+    
+    private final FakeTransactionRegistry transactionRegistry = new FakeTransactionRegistry();
+    
+    private BookingLocks bookingLocks;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(doctorRepository.lockForBooking(anyLong())).thenReturn(true);
+        bookingLocks = new BookingLocks();
+        TestFields.set(bookingLocks, "doctorRepository", doctorRepository);
+        TestFields.set(bookingLocks, "transactionRegistry", transactionRegistry);
+    }
+    
+    @Test
+    void testLock_RequiresTransaction() {
+        assertThrows(IllegalStateException.class, () -> bookingLocks.lock(DOCTOR_ID, DAY));
+    }
+    
+    @Test
+    void testLock_LocksDoctorRowOncePerTransaction() {
+        transactionRegistry.inTransaction(() -> {
+            bookingLocks.lock(DOCTOR_ID, DAY);
+            bookingLocks.lock(DOCTOR_ID, DAY.plusDays(1));
+            bookingLocks.lockAll(DOCTOR_ID, Arrays.asList(DAY, DAY.plusDays(2)));
+        });
+        
+        verify(doctorRepository, times(1)).lockForBooking(DOCTOR_ID);
+    }
+    
+    @Test
+    void testLock_UnknownDoctor() {
+        when(doctorRepository.lockForBooking(99L)).thenReturn(false);
+        
+        assertThrows(ValidationException.class,
+            () -> transactionRegistry.inTransaction(() -> bookingLocks.lock(99L, DAY)));
+    }
+    
+    @Test
+    void testLock_BlocksSameDayUntilCommit() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = executor.submit(() -> transactionRegistry.inTransaction(() -> {
+                bookingLocks.lock(DOCTOR_ID, DAY);
+                locked.countDown();
+                await(release);
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            
+            CountDownLatch acquired = new CountDownLatch(1);
+            Future<?> waiter = executor.submit(() -> transactionRegistry.inTransaction(() -> {
+                bookingLocks.lock(DOCTOR_ID, DAY);
+                acquired.countDown();
+            }));
+            assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+            
+            release.countDown();
+            assertTrue(acquired.await(5, TimeUnit.SECONDS));
+            holder.get(5, TimeUnit.SECONDS);
+            waiter.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testLock_ReleasedOnRollback() throws Exception {
+        transactionRegistry.begin();
+        bookingLocks.lock(DOCTOR_ID, DAY);
+        transactionRegistry.rollback();
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> transactionRegistry.inTransaction(() -> bookingLocks.lock(DOCTOR_ID, DAY)))
+                .get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testContention_OneSlotManyThreads() throws Exception {
+        DaySchedule schedule = new DaySchedule();
+        AtomicInteger booked = new AtomicInteger();
+        
+        List<Runnable> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * 200; i++) {
+            long appointmentId = i;
+            bookings.add(() -> transactionRegistry.inTransaction(() -> {
+                bookingLocks.lock(DOCTOR_ID, DAY);
+                if (!schedule.hasConflict(9 * 60, 9 * 60 + 30)) {
+                    pause();
+                    schedule.add(appointmentId, 9 * 60, 9 * 60 + 30);
+                    booked.incrementAndGet();
+                }
+            }));
+        }
+        runConcurrently("same slot", bookings);
+        
+        assertEquals(1, booked.get());
+        assertEquals(1, schedule.size());
+    }
+    
+    @Test
+    void testContention_WholeDayManyThreads() throws Exception {
+        // Every thread books the first free slot of the day; no two may share one
+        DaySchedule schedule = new DaySchedule();
+        AtomicInteger booked = new AtomicInteger();
+        
+        List<Runnable> bookings = new ArrayList<>();
+        for (int i = 0; i < DaySchedule.SLOTS_PER_DAY * 2; i++) {
+            long appointmentId = i;
+            bookings.add(() -> transactionRegistry.inTransaction(() -> {
+                bookingLocks.lockAll(DOCTOR_ID, Arrays.asList(DAY, DAY.plusDays(1)));
+                int slot = schedule.findFreeRun(1, 0, DaySchedule.SLOTS_PER_DAY);
+                if (slot >= 0) {
+                    int start = slot * DaySchedule.SLOT_MINUTES;
+                    schedule.add(appointmentId, start, start + DaySchedule.SLOT_MINUTES);
+                    booked.incrementAndGet();
+                }
+            }));
+        }
+        runConcurrently("whole day", bookings);
+        
+        assertEquals(DaySchedule.SLOTS_PER_DAY, booked.get());
+        assertEquals(DaySchedule.SLOTS_PER_DAY, schedule.size());
+        assertEquals(-1, schedule.findFreeRun(1, 0, DaySchedule.SLOTS_PER_DAY));
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Run the bookings on THREADS threads at once and report their throughput
+     */
+    private static void runConcurrently(String name, List<Runnable> bookings) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Runnable booking : bookings) {
+                results.add(executor.submit(() -> {
+                    await(start);
+                    booking.run();
+                }));
+            }
+            
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+            long micros = Math.max(1L, (System.nanoTime() - began) / 1000L);
+            System.out.println("Booking contention (" + name + "): " + bookings.size() + " bookings on "
+                               + THREADS + " threads in " + micros / 1000L + " ms, "
+                               + bookings.size() * 1_000_000L / micros + " bookings/s");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Widen the window between the conflict check and the insert
+     */
+    private static void pause() {
+        Thread.yield();
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.scheduling.DaySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for DaySchedule interval and slot lookups.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class DayScheduleTest {
+    
+    private static final int NINE = 9 * 60;
+    private static final int NINE_THIRTY = NINE + 30;
+    
+    private DaySchedule schedule;
+    
+    @BeforeEach
+    void setUp() {
+        schedule = new DaySchedule();
+    }
+    
+    @Test
+    void testHasConflict_AdjacentIntervalsDoNotOverlap() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        
+        assertFalse(schedule.hasConflict(NINE_THIRTY, NINE_THIRTY + 30));
+        assertFalse(schedule.hasConflict(NINE - 30, NINE));
+    }
+    
+    @Test
+    void testHasConflict_OneMinuteOverlap() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        
+        assertTrue(schedule.hasConflict(NINE_THIRTY - 1, NINE_THIRTY + 30));
+        assertTrue(schedule.hasConflict(NINE - 30, NINE + 1));
+    }
+    
+    @Test
+    void testHasConflict_ContainedAndContaining() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        
+        assertTrue(schedule.hasConflict(NINE + 10, NINE + 20));
+        assertTrue(schedule.hasConflict(NINE - 60, NINE_THIRTY + 60));
+        assertTrue(schedule.hasConflict(NINE, NINE_THIRTY));
+    }
+    
+    @Test
+    void testHasConflict_FreeMinutesInsideBusySlot() {
+        // The slot 9:00-9:15 is busy, but only its first five minutes are booked
+        schedule.add(1L, NINE, NINE + 5);
+        
+        assertFalse(schedule.isSlotFree(NINE / DaySchedule.SLOT_MINUTES));
+        assertFalse(schedule.hasConflict(NINE + 5, NINE + 15));
+        assertTrue(schedule.hasConflict(NINE + 4, NINE + 15));
+    }
+    
+    @Test
+    void testHasConflict_LongIntervalBeforeShortOnes() {
+        // The long morning block still overlaps after later, shorter intervals end
+        schedule.add(1L, 8 * 60, 12 * 60);
+        schedule.add(2L, 10 * 60, 10 * 60 + 15);
+        schedule.add(3L, 10 * 60 + 30, 10 * 60 + 45);
+        
+        assertTrue(schedule.hasConflict(11 * 60, 11 * 60 + 15));
+        assertFalse(schedule.hasConflict(11 * 60, 11 * 60 + 15, 1L));
+        assertTrue(schedule.hasConflict(10 * 60 + 10, 10 * 60 + 20, 1L));
+    }
+    
+    @Test
+    void testHasConflict_ExcludesOwnInterval() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        schedule.add(2L, NINE_THIRTY, NINE_THIRTY + 30);
+        
+        assertFalse(schedule.hasConflict(NINE, NINE_THIRTY, 1L));
+        assertTrue(schedule.hasConflict(NINE + 15, NINE_THIRTY + 15, 1L));
+    }
+    
+    @Test
+    void testHasConflict_DayBoundaries() {
+        schedule.add(1L, 0, 15);
+        schedule.add(2L, 24 * 60 - 15, 24 * 60);
+        
+        assertTrue(schedule.hasConflict(0, 1));
+        assertTrue(schedule.hasConflict(24 * 60 - 1, 24 * 60));
+        assertFalse(schedule.hasConflict(15, 24 * 60 - 15));
+    }
+    
+    @Test
+    void testAdd_MovesExistingInterval() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        schedule.add(1L, 14 * 60, 14 * 60 + 30);
+        
+        assertEquals(1, schedule.size());
+        assertFalse(schedule.hasConflict(NINE, NINE_THIRTY));
+        assertTrue(schedule.isSlotFree(NINE / DaySchedule.SLOT_MINUTES));
+        assertTrue(schedule.hasConflict(14 * 60, 14 * 60 + 30));
+    }
+    
+    @Test
+    void testRemove_FreesSlots() {
+        schedule.add(1L, NINE, NINE_THIRTY);
+        
+        assertTrue(schedule.remove(1L));
+        assertFalse(schedule.remove(1L));
+        assertEquals(0, schedule.size());
+        assertFalse(schedule.hasConflict(NINE, NINE_THIRTY));
+        assertTrue(schedule.isSlotFree(NINE / DaySchedule.SLOT_MINUTES));
+    }
+    
+    @Test
+    void testFreeStarts_SkipsBookedTimes() {
+        schedule.add(1L, NINE + 30, NINE + 60);
+        
+        int[] starts = schedule.freeStarts(NINE, NINE + 120, 30, 15);
+        
+        assertArrayEquals(new int[] {NINE, NINE + 60, NINE + 75, NINE + 90}, starts);
+    }
+    
+    @Test
+    void testFindFreeRun_AcrossWordBoundary() {
+        // Leave only slots 62-65 free, which straddle the first and second bitset words
+        int slot = DaySchedule.SLOT_MINUTES;
+        schedule.add(1L, 0, 62 * slot);
+        schedule.add(2L, 66 * slot, DaySchedule.SLOTS_PER_DAY * slot);
+        
+        assertEquals(62, schedule.findFreeRun(4, 0, DaySchedule.SLOTS_PER_DAY));
+        assertEquals(63, schedule.findFreeRun(3, 63, DaySchedule.SLOTS_PER_DAY));
+        assertEquals(-1, schedule.findFreeRun(5, 0, DaySchedule.SLOTS_PER_DAY));
+        assertEquals(-1, schedule.findFreeRun(4, 0, 65));
+    }
+    
+    @Test
+    void testFindFreeRun_InvalidArguments() {
+        assertEquals(-1, schedule.findFreeRun(0, 0, DaySchedule.SLOTS_PER_DAY));
+        assertEquals(-1, schedule.findFreeRun(1, -1, DaySchedule.SLOTS_PER_DAY));
+        assertEquals(-1, schedule.findFreeRun(1, 0, DaySchedule.SLOTS_PER_DAY + 1));
+        assertEquals(0, schedule.findFreeRun(DaySchedule.SLOTS_PER_DAY, 0, DaySchedule.SLOTS_PER_DAY));
+    }
+}
\ No newline at end of file
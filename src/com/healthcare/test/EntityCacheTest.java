@@ -0,0 +1,58 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.entity.Doctor;
+import com.healthcare.entity.Patient;
+import com.healthcare.repository.EntityCache;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the EntityCache user id to profile id lookups.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class EntityCacheTest {
+    
+    private final EntityCache cache = new EntityCache();
+    
+    @Test
+    void testPutUser_RegionsKeptApart() {
+        cache.putUser(Doctor.class, 1L, 10L);
+        cache.putUser(Patient.class, 1L, 20L);
+        
+        assertEquals(Long.valueOf(10L), cache.idForUser(Doctor.class, 1L));
+        assertEquals(Long.valueOf(20L), cache.idForUser(Patient.class, 1L));
+        assertNull(cache.idForUser(Doctor.class, 2L));
+    }
+    
+    @Test
+    void testPutUser_FullRegionDropsOldest() {
+        for (long userId = 1; userId <= AppConstants.MAX_CACHE_SIZE; userId++) {
+            cache.putUser(Patient.class, userId, userId * 10);
+        }
+        
+        cache.putUser(Patient.class, 0L, 5L);
+        
+        // The newest mapping is kept in place of the oldest
+        assertEquals(Long.valueOf(5L), cache.idForUser(Patient.class, 0L));
+        assertNull(cache.idForUser(Patient.class, 1L));
+        assertEquals(Long.valueOf(20L), cache.idForUser(Patient.class, 2L));
+    }
+    
+    @Test
+    void testPutUser_RecentlyReadKept() {
+        for (long userId = 1; userId <= AppConstants.MAX_CACHE_SIZE; userId++) {
+            cache.putUser(Doctor.class, userId, userId * 10);
+        }
+        cache.idForUser(Doctor.class, 1L);
+        
+        cache.putUser(Doctor.class, 0L, 5L);
+        
+        assertEquals(Long.valueOf(10L), cache.idForUser(Doctor.class, 1L));
+        assertNull(cache.idForUser(Doctor.class, 2L));
+    }
+}
\ No newline at end of file
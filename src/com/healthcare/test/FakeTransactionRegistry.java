@@ -0,0 +1,126 @@
+package com.healthcare.test;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory TransactionSynchronizationRegistry for unit tests.
+ * Each thread has at most one transaction, started with begin and ended
+ * with commit or rollback, which run the registered synchronizations the
+ * way the container does.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class FakeTransactionRegistry implements TransactionSynchronizationRegistry {
+    
+    private final ThreadLocal<Transaction> current = new ThreadLocal<>();
+    
+    /**
+     * Start a transaction on the calling thread
+     */
+    public void begin() {
+        if (current.get() != null) {
+            throw new IllegalStateException("Transaction already active");
+        }
+        current.set(new Transaction());
+    }
+    
+    /**
+     * Commit the calling thread's transaction
+     */
+    public void commit() {
+        end(Status.STATUS_COMMITTED);
+    }
+    
+    /**
+     * Roll back the calling thread's transaction
+     */
+    public void rollback() {
+        end(Status.STATUS_ROLLEDBACK);
+    }
+    
+    /**
+     * Run an action in a transaction that commits, or rolls back if it throws
+     */
+    public void inTransaction(Runnable action) {
+        begin();
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            rollback();
+            throw e;
+        }
+        commit();
+    }
+    
+    @Override
+    public Object getTransactionKey() {
+        return current.get();
+    }
+    
+    @Override
+    public void putResource(Object key, Object value) {
+        active().resources.put(key, value);
+    }
+    
+    @Override
+    public Object getResource(Object key) {
+        return active().resources.get(key);
+    }
+    
+    @Override
+    public void registerInterposedSynchronization(Synchronization sync) {
+        active().synchronizations.add(sync);
+    }
+    
+    @Override
+    public int getTransactionStatus() {
+        Transaction transaction = current.get();
+        if (transaction == null) {
+            return Status.STATUS_NO_TRANSACTION;
+        }
+        return transaction.rollbackOnly ? Status.STATUS_MARKED_ROLLBACK : Status.STATUS_ACTIVE;
+    }
+    
+    @Override
+    public void setRollbackOnly() {
+        active().rollbackOnly = true;
+    }
+    
+    @Override
+    public boolean getRollbackOnly() {
+        return active().rollbackOnly;
+    }
+    
+    // Private helper methods
+    
+    private Transaction active() {
+        Transaction transaction = current.get();
+        if (transaction == null) {
+            throw new IllegalStateException("No active transaction");
+        }
+        return transaction;
+    }
+    
+    private void end(int status) {
+        Transaction transaction = active();
+        current.remove();
+        int outcome = transaction.rollbackOnly ? Status.STATUS_ROLLEDBACK : status;
+        if (outcome == Status.STATUS_COMMITTED) {
+            transaction.synchronizations.forEach(Synchronization::beforeCompletion);
+        }
+        transaction.synchronizations.forEach(sync -> sync.afterCompletion(outcome));
+    }
+    
+    private static final class Transaction {
+        private final Map<Object, Object> resources = new HashMap<>();
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+        private boolean rollbackOnly;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.config.SecurityConfig;
+import com.healthcare.security.JWTClaims;
+import com.healthcare.security.JWTProvider;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for JWTProvider token issuing and verification, including
+ * tokens minted or tampered with outside the provider.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class JWTProviderTest {
+    
+    private static final String KEY_ID = "k1";
+    private static final String SECRET = "0123456789abcdef0123456789abcdef-test";
+    private static final String OTHER_SECRET = "fedcba9876543210fedcba9876543210-test";
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    
+    private JWTProvider provider;
+    
+    @BeforeEach
+    void setUp() {
+        provider = new JWTProvider();
+        provider.rotateKey(KEY_ID, SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void testCreateToken_RoundTrip() {
+        String token = provider.createToken(42L, "jane@example.com", "DOCTOR");
+        
+        JWTClaims claims = provider.verifyToken(token).orElseThrow(AssertionError::new);
+        assertEquals(42L, claims.getUserId());
+        assertEquals("jane@example.com", claims.getEmail());
+        assertEquals("DOCTOR", claims.getRole());
+        assertEquals(KEY_ID, claims.getKeyId());
+        assertEquals(SecurityConfig.JWT_EXPIRATION_MS, claims.getExpiresAt() - claims.getIssuedAt());
+        
+        // A second verification is served from the cache
+        assertEquals(claims, provider.verifyToken(token).orElseThrow(AssertionError::new));
+    }
+    
+    @Test
+    void testCreateToken_NoKey() {
+        assertThrows(IllegalStateException.class, () -> new JWTProvider().createToken(1L, "a@b.c", "ADMIN"));
+    }
+    
+    @Test
+    void testVerifyToken_MintedWithSameKey() {
+        long now = nowSeconds();
+        String token = mint(SECRET, header("HS256", KEY_ID), payload("7", "ADMIN", now, now + 60));
+        
+        assertTrue(provider.verifyToken(token).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_Expired() {
+        long now = nowSeconds();
+        String token = mint(SECRET, header("HS256", KEY_ID), payload("7", "ADMIN", now - 120, now - 1));
+        
+        assertFalse(provider.verifyToken(token).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_IssuedInFuture() {
+        long now = nowSeconds();
+        String token = mint(SECRET, header("HS256", KEY_ID), payload("7", "ADMIN", now + 600, now + 1200));
+        
+        assertFalse(provider.verifyToken(token).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_WrongIssuer() {
+        long now = nowSeconds();
+        String payload = "{\"sub\":\"7\",\"role\":\"ADMIN\",\"iss\":\"elsewhere\",\"aud\":\""
+            + SecurityConfig.JWT_AUDIENCE + "\",\"iat\":" + now + ",\"exp\":" + (now + 60) + "}";
+        
+        assertFalse(provider.verifyToken(mint(SECRET, header("HS256", KEY_ID), payload)).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_BadSignature() {
+        String token = provider.createToken(42L, "jane@example.com", "PATIENT");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+            + token.substring(signatureStart + 1);
+        
+        assertFalse(provider.verifyToken(tampered).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_TamperedPayload() {
+        long now = nowSeconds();
+        String token = provider.createToken(42L, "jane@example.com", "PATIENT");
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + '.' + encode(payload("42", "ADMIN", now, now + 60)) + '.' + parts[2];
+        
+        assertFalse(provider.verifyToken(forged).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_NonCanonicalSignature() {
+        // The last character carries two unused bits; setting them must not yield a second valid token
+        String token = provider.createToken(42L, "jane@example.com", "PATIENT");
+        char last = token.charAt(token.length() - 1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        String altered = token.substring(0, token.length() - 1) + alphabet.charAt(alphabet.indexOf(last) | 1);
+        
+        assertFalse(provider.verifyToken(altered).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_SignedWithOtherSecret() {
+        long now = nowSeconds();
+        String token = mint(OTHER_SECRET, header("HS256", KEY_ID), payload("7", "ADMIN", now, now + 60));
+        
+        assertFalse(provider.verifyToken(token).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_UnknownKid() {
+        long now = nowSeconds();
+        String token = mint(SECRET, header("HS256", "k9"), payload("7", "ADMIN", now, now + 60));
+        
+        assertFalse(provider.verifyToken(token).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_AlgNone() {
+        long now = nowSeconds();
+        String unsigned = encode(header("none", KEY_ID)) + '.' + encode(payload("7", "ADMIN", now, now + 60));
+        
+        assertFalse(provider.verifyToken(unsigned + '.').isPresent());
+        assertFalse(provider.verifyToken(unsigned).isPresent());
+        
+        // A well-formed signature does not help a header naming another algorithm
+        String signed = mint(SECRET, header("none", KEY_ID), payload("7", "ADMIN", now, now + 60));
+        assertFalse(provider.verifyToken(signed).isPresent());
+    }
+    
+    @Test
+    void testVerifyToken_Malformed() {
+        assertFalse(provider.verifyToken(null).isPresent());
+        assertFalse(provider.verifyToken("").isPresent());
+        assertFalse(provider.verifyToken("a.b").isPresent());
+        assertFalse(provider.verifyToken("a.b.c").isPresent());
+    }
+    
+    @Test
+    void testRotateKey_OldTokensValidUntilRetired() {
+        String oldToken = provider.createToken(42L, "jane@example.com", "PATIENT");
+        provider.rotateKey("k2", OTHER_SECRET.getBytes(StandardCharsets.UTF_8));
+        String newToken = provider.createToken(42L, "jane@example.com", "PATIENT");
+        
+        assertEquals("k2", provider.verifyToken(newToken).orElseThrow(AssertionError::new).getKeyId());
+        assertTrue(provider.verifyToken(oldToken).isPresent());
+        
+        provider.retireKey(KEY_ID);
+        assertFalse(provider.verifyToken(oldToken).isPresent());
+        assertTrue(provider.verifyToken(newToken).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> provider.retireKey("k2"));
+    }
+    
+    @Test
+    void testCheckSecret_RejectsMissingShortAndPlaceholder() {
+        assertThrows(IllegalStateException.class, () -> JWTProvider.checkSecret(null));
+        assertThrows(IllegalStateException.class, () -> JWTProvider.checkSecret("   "));
+        assertThrows(IllegalStateException.class, () -> JWTProvider.checkSecret("too-short-secret"));
+        for (String placeholder : SecurityConfig.JWT_PLACEHOLDER_SECRETS) {
+            assertThrows(IllegalStateException.class, () -> JWTProvider.checkSecret(placeholder));
+        }
+        
+        assertArrayEquals(SECRET.getBytes(StandardCharsets.UTF_8), JWTProvider.checkSecret(SECRET));
+    }
+    
+    // Private helper methods
+    
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
+    
+    private static String header(String algorithm, String keyId) {
+        return "{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\",\"kid\":\"" + keyId + "\"}";
+    }
+    
+    private static String payload(String subject, String role, long issuedAt, long expiresAt) {
+        return "{\"sub\":\"" + subject + "\",\"email\":\"x@example.com\",\"role\":\"" + role
+            + "\",\"iss\":\"" + SecurityConfig.JWT_ISSUER + "\",\"aud\":\"" + SecurityConfig.JWT_AUDIENCE
+            + "\",\"iat\":" + issuedAt + ",\"exp\":" + expiresAt + "}";
+    }
+    
+    private static String encode(String json) {
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Sign a token with HMAC-SHA256 independently of the provider
+     */
+    private static String mint(String secret, String header, String payload) {
+        String signingInput = encode(header) + '.' + encode(payload);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + '.' + ENCODER.encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
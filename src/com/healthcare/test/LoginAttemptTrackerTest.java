@@ -0,0 +1,158 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.config.SecurityConfig;
+import com.healthcare.security.LoginAttemptTracker;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LoginAttemptTracker lockout thresholds, decay of old
+ * failures and clearing on a successful login.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class LoginAttemptTrackerTest {
+    
+    private static final String EMAIL = "jane@example.com";
+    private static final String CLIENT_IP = "10.0.0.1";
+    private static final Duration WINDOW = Duration.ofMinutes(SecurityConfig.LOCKOUT_DURATION_MINUTES);
+    private static final Duration BUCKET = WINDOW.dividedBy(SecurityConfig.LOGIN_ATTEMPT_BUCKETS);
+    
+    private MutableClock clock;
+    private LoginAttemptTracker tracker;
+    
+    @BeforeEach
+    void setUp() {
+        // Start on a bucket boundary so advancing by whole buckets is exact
+        clock = new MutableClock(Instant.ofEpochMilli(BUCKET.toMillis() * 5_000_000L));
+        tracker = new LoginAttemptTracker(clock);
+    }
+    
+    @Test
+    void testIsBlocked_AccountThreshold() {
+        fail(EMAIL, CLIENT_IP, SecurityConfig.MAX_LOGIN_ATTEMPTS - 1);
+        assertFalse(tracker.isBlocked(EMAIL, CLIENT_IP));
+        
+        fail(EMAIL, CLIENT_IP, 1);
+        assertTrue(tracker.isBlocked(EMAIL, CLIENT_IP));
+        assertTrue(tracker.isBlocked(EMAIL, null));
+        assertFalse(tracker.isBlocked("john@example.com", CLIENT_IP));
+    }
+    
+    @Test
+    void testIsBlocked_EmailNormalized() {
+        fail("  Jane@Example.COM ", CLIENT_IP, SecurityConfig.MAX_LOGIN_ATTEMPTS);
+        
+        assertTrue(tracker.isBlocked(EMAIL, null));
+    }
+    
+    @Test
+    void testIsBlocked_ClientThresholdAcrossAccounts() {
+        for (int i = 0; i < SecurityConfig.MAX_LOGIN_ATTEMPTS_PER_IP - 1; i++) {
+            tracker.loginFailed("user" + i + "@example.com", CLIENT_IP);
+        }
+        assertFalse(tracker.isBlocked("other@example.com", CLIENT_IP));
+        
+        tracker.loginFailed("last@example.com", CLIENT_IP);
+        assertTrue(tracker.isBlocked("other@example.com", CLIENT_IP));
+        assertFalse(tracker.isBlocked("other@example.com", "10.0.0.2"));
+        assertFalse(tracker.isBlocked("other@example.com", null));
+    }
+    
+    @Test
+    void testIsBlocked_DecaysAfterWindow() {
+        fail(EMAIL, CLIENT_IP, SecurityConfig.MAX_LOGIN_ATTEMPTS);
+        
+        clock.advance(WINDOW.minus(BUCKET));
+        assertTrue(tracker.isBlocked(EMAIL, CLIENT_IP));
+        
+        clock.advance(BUCKET);
+        assertFalse(tracker.isBlocked(EMAIL, CLIENT_IP));
+    }
+    
+    @Test
+    void testIsBlocked_OldestBucketDropsOut() {
+        fail(EMAIL, CLIENT_IP, 2);
+        clock.advance(BUCKET.multipliedBy(2));
+        fail(EMAIL, CLIENT_IP, SecurityConfig.MAX_LOGIN_ATTEMPTS - 2);
+        assertTrue(tracker.isBlocked(EMAIL, CLIENT_IP));
+        
+        // The first two failures leave the window; the later ones still count
+        clock.advance(WINDOW.minus(BUCKET.multipliedBy(2)));
+        assertFalse(tracker.isBlocked(EMAIL, CLIENT_IP));
+        fail(EMAIL, CLIENT_IP, 2);
+        assertTrue(tracker.isBlocked(EMAIL, CLIENT_IP));
+    }
+    
+    @Test
+    void testIsBlocked_BucketReusedAfterWrapAround() {
+        // A full window later the same cell is reused, starting from zero
+        fail(EMAIL, CLIENT_IP, SecurityConfig.MAX_LOGIN_ATTEMPTS - 1);
+        clock.advance(WINDOW);
+        fail(EMAIL, CLIENT_IP, 1);
+        
+        assertFalse(tracker.isBlocked(EMAIL, CLIENT_IP));
+    }
+    
+    @Test
+    void testLoginSucceeded_ClearsAccountOnly() {
+        for (int i = 0; i < SecurityConfig.MAX_LOGIN_ATTEMPTS_PER_IP; i++) {
+            tracker.loginFailed(EMAIL, CLIENT_IP);
+            clock.advance(BUCKET.dividedBy(10));
+        }
+        
+        tracker.loginSucceeded(" JANE@example.com");
+        assertFalse(tracker.isBlocked(EMAIL, null));
+        assertTrue(tracker.isBlocked(EMAIL, CLIENT_IP));
+        
+        fail(EMAIL, null, SecurityConfig.MAX_LOGIN_ATTEMPTS - 1);
+        assertFalse(tracker.isBlocked(EMAIL, null));
+    }
+    
+    // Private helper methods
+    
+    private void fail(String email, String clientIp, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.loginFailed(email, clientIp);
+        }
+    }
+    
+    /**
+     * Clock that only moves when told to
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+        
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+        
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
\ No newline at end of file
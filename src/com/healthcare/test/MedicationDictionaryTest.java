@@ -0,0 +1,182 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.service.MedicationDictionary;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MedicationDictionary completion ranking, normalization
+ * and counting of prescriptions on commit.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class MedicationDictionaryTest {
+    
+    private final FakeTransactionRegistry transactionRegistry = new FakeTransactionRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    private Map<String, Long> counts;
+    private MedicationDictionary dictionary;
+    
+    @BeforeEach
+    void setUp() {
+        counts = new LinkedHashMap<>();
+        counts.put("Amoxicillin", 40L);
+        counts.put("Amlodipine", 25L);
+        counts.put("Amiodarone", 5L);
+        counts.put("Atorvastatin", 60L);
+        counts.put("Metformin", 50L);
+        dictionary = new MedicationDictionary();
+        TestFields.set(dictionary, "transactionRegistry", transactionRegistry);
+    }
+    
+    @Test
+    void testComplete_MostPrescribedFirst() {
+        assertEquals(Arrays.asList("Amoxicillin", "Amlodipine", "Amiodarone"), complete("am"));
+        assertEquals(Arrays.asList("Atorvastatin", "Amoxicillin", "Amlodipine", "Amiodarone"), complete("a"));
+        assertEquals(Arrays.asList("Atorvastatin", "Metformin"), dictionary.complete("", 2, loader()));
+    }
+    
+    @Test
+    void testComplete_Limit() {
+        assertEquals(Arrays.asList("Amoxicillin", "Amlodipine"), dictionary.complete("am", 2, loader()));
+        assertTrue(dictionary.complete("am", 0, loader()).isEmpty());
+    }
+    
+    @Test
+    void testComplete_UnknownPrefix() {
+        assertTrue(complete("zz").isEmpty());
+        assertTrue(complete("amoxicillinx").isEmpty());
+        assertEquals(Collections.singletonList("Amoxicillin"), complete("amoxicillin"));
+    }
+    
+    @Test
+    void testComplete_IgnoresCaseAndWhitespace() {
+        counts.put("Insulin  Glargine", 3L);
+        
+        assertEquals(Arrays.asList("Amoxicillin", "Amlodipine", "Amiodarone"), complete("  AM "));
+        assertEquals(Collections.singletonList("Insulin  Glargine"), complete("insulin g"));
+        assertEquals(Collections.singletonList("Insulin  Glargine"), complete("INSULIN   GL"));
+    }
+    
+    @Test
+    void testComplete_MostPrescribedSpellingSuggested() {
+        counts.put("amoxicillin ", 11L);
+        counts.put("AMOXICILLIN", 1L);
+        
+        // Spellings count together, ranking above Metformin's 50
+        assertEquals(Arrays.asList("Amoxicillin", "Amlodipine", "Amiodarone"), complete("am"));
+        assertEquals(Arrays.asList("Atorvastatin", "Amoxicillin", "Metformin"), dictionary.complete("", 3, loader()));
+    }
+    
+    @Test
+    void testComplete_KeepsOnlyTopNamesPerPrefix() {
+        for (int i = 0; i < AppConstants.MEDICATION_COMPLETIONS * 2; i++) {
+            counts.put("Drug " + (char) ('a' + i), 100L + i);
+        }
+        
+        List<String> completions = dictionary.complete("drug", AppConstants.MEDICATION_COMPLETIONS, loader());
+        assertEquals(AppConstants.MEDICATION_COMPLETIONS, completions.size());
+        assertEquals("Drug " + (char) ('a' + AppConstants.MEDICATION_COMPLETIONS * 2 - 1), completions.get(0));
+        
+        // A name outside the top list enters it once counted often enough
+        for (int i = 0; i < 1_000; i++) {
+            dictionary.countOnCommit("Drug a");
+        }
+        assertEquals("Drug a", dictionary.complete("drug", 1, loader()).get(0));
+    }
+    
+    @Test
+    void testComplete_LoadsOnce() {
+        complete("am");
+        complete("me");
+        
+        assertEquals(1, loads.get());
+    }
+    
+    @Test
+    void testCountOnCommit_CountedWhenCommitted() {
+        complete("am");
+        
+        transactionRegistry.inTransaction(() -> {
+            for (int i = 0; i < 40; i++) {
+                dictionary.countOnCommit("amiodarone");
+            }
+            // Not counted until the transaction commits
+            assertEquals("Amoxicillin", complete("am").get(0));
+        });
+        
+        assertEquals(Arrays.asList("Amiodarone", "Amoxicillin", "Amlodipine"), complete("am"));
+    }
+    
+    @Test
+    void testCountOnCommit_DroppedOnRollback() {
+        complete("am");
+        
+        transactionRegistry.begin();
+        for (int i = 0; i < 30; i++) {
+            dictionary.countOnCommit("Amiodarone");
+        }
+        dictionary.countOnCommit("Amphotericin B");
+        transactionRegistry.rollback();
+        
+        assertEquals(Arrays.asList("Amoxicillin", "Amlodipine", "Amiodarone"), complete("am"));
+    }
+    
+    @Test
+    void testCountOnCommit_AddsNewName() {
+        complete("am");
+        
+        transactionRegistry.inTransaction(() -> dictionary.countOnCommit(" Amphotericin B "));
+        
+        assertEquals(Collections.singletonList("Amphotericin B"), complete("amph"));
+        assertEquals("Amphotericin B", complete("am").get(3));
+    }
+    
+    @Test
+    void testCountOnCommit_BeforeFirstUseLeftToLoader() {
+        transactionRegistry.inTransaction(() -> dictionary.countOnCommit("Amphotericin B"));
+        
+        // The loader's counts already include the new prescription once it commits
+        assertTrue(complete("amph").isEmpty());
+    }
+    
+    @Test
+    void testReload_ReplacesCounts() {
+        dictionary.reload(loader());
+        assertEquals(0, loads.get());
+        
+        complete("am");
+        counts.remove("Amoxicillin");
+        counts.put("Amiodarone", 100L);
+        dictionary.reload(loader());
+        
+        assertEquals(2, loads.get());
+        assertEquals(Arrays.asList("Amiodarone", "Amlodipine"), complete("am"));
+    }
+    
+    // Private helper methods
+    
+    private List<String> complete(String prefix) {
+        return dictionary.complete(prefix, AppConstants.MEDICATION_COMPLETIONS, loader());
+    }
+    
+    private Supplier<Map<String, Long>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new LinkedHashMap<>(counts);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.dto.PageDTO;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.repository.PageToken;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PageToken encoding, decoding and page assembly.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class PageTokenTest {
+    
+    @Test
+    void testDecode_RoundTrip() {
+        LocalDate date = LocalDate.of(2024, 3, 1);
+        LocalTime time = LocalTime.of(9, 30);
+        String token = PageToken.encode(date, time, 42L);
+        
+        String[] keys = PageToken.decode(token, 3);
+        assertArrayEquals(new String[] {"2024-03-01", "09:30", "42"}, keys);
+        assertEquals(date, PageToken.parse(keys[0], LocalDate::parse));
+        assertEquals(time, PageToken.parse(keys[1], LocalTime::parse));
+        assertEquals(Long.valueOf(42L), PageToken.parse(keys[2], Long::valueOf));
+    }
+    
+    @Test
+    void testEncode_UrlSafe() {
+        String token = PageToken.encode("\u00e9\u00e8??>>", 1L);
+        
+        assertFalse(token.contains("+") || token.contains("/") || token.contains("="), token);
+        assertArrayEquals(new String[] {"\u00e9\u00e8??>>", "1"}, PageToken.decode(token, 2));
+    }
+    
+    @Test
+    void testDecode_BadBase64() {
+        assertThrows(ValidationException.class, () -> PageToken.decode("not base64!", 1));
+        assertThrows(ValidationException.class, () -> PageToken.decode("A", 1));
+    }
+    
+    @Test
+    void testDecode_WrongKeyCount() {
+        String token = PageToken.encode("2024-03-01", 42L);
+        
+        assertThrows(ValidationException.class, () -> PageToken.decode(token, 1));
+        assertThrows(ValidationException.class, () -> PageToken.decode(token, 3));
+    }
+    
+    @Test
+    void testDecode_WrongVersion() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("2|2024-03-01|42".getBytes(StandardCharsets.UTF_8));
+        
+        assertThrows(ValidationException.class, () -> PageToken.decode(token, 2));
+    }
+    
+    @Test
+    void testDecode_EmptyToken() {
+        assertThrows(ValidationException.class, () -> PageToken.decode("", 1));
+    }
+    
+    @Test
+    void testParse_WrongType() {
+        String[] keys = PageToken.decode(PageToken.encode("tomorrow", "x"), 2);
+        
+        assertThrows(ValidationException.class, () -> PageToken.parse(keys[0], LocalDate::parse));
+        assertThrows(ValidationException.class, () -> PageToken.parse(keys[1], Long::valueOf));
+    }
+    
+    @Test
+    void testToPage_LastPage() {
+        PageDTO<Integer> page = PageToken.toPage(Arrays.asList(1, 2, 3), 3, String::valueOf);
+        
+        assertEquals(Arrays.asList(1, 2, 3), page.getItems());
+        assertNull(page.getNextToken());
+        assertFalse(page.isHasMore());
+    }
+    
+    @Test
+    void testToPage_DropsLookAheadRow() {
+        List<Integer> rows = Arrays.asList(1, 2, 3, 4);
+        
+        PageDTO<Integer> page = PageToken.toPage(rows, 3, i -> PageToken.encode(i));
+        
+        assertEquals(Arrays.asList(1, 2, 3), page.getItems());
+        assertTrue(page.isHasMore());
+        assertArrayEquals(new String[] {"3"}, PageToken.decode(page.getNextToken(), 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.healthcare.dto.AppointmentDTO;
+import com.healthcare.dto.PageDTO;
+import com.healthcare.entity.Appointment;
+import com.healthcare.entity.Doctor;
+import com.healthcare.entity.Gender;
+import com.healthcare.entity.Patient;
+import com.healthcare.entity.Prescription;
+import com.healthcare.entity.User;
+import com.healthcare.entity.UserRole;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.DoctorRepository;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.PrescriptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Query-count regression tests for repository lookups, so N+1 loading of
+ * associations cannot come back unnoticed. They run HealthcarePU against an
+ * in-memory Derby database in which every appointment and prescription has
+ * its own patient and doctor: loading associations row by row would cost a
+ * query per row.
+ * <p>
+ * Outside the container classes are not woven, so EclipseLink loads lazy
+ * to-one associations eagerly. The counts are therefore what a lookup costs
+ * when its callers read the whole entity graph.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public class QueryCountTest {
+    
+    private static final int ROWS = 20;
+    
+    /** Statements run since the last reset */
+    private static final AtomicInteger QUERIES = new AtomicInteger();
+    
+    private static EntityManagerFactory entityManagerFactory;
+    
+    private EntityManager entityManager;
+    
+    @BeforeAll
+    static void createDatabase() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("jakarta.persistence.transactionType", "RESOURCE_LOCAL");
+        properties.put("jakarta.persistence.jtaDataSource", "");
+        properties.put("jakarta.persistence.jdbc.url", "jdbc:derby:memory:querycount;create=true");
+        properties.put("jakarta.persistence.schema-generation.database.action", "create");
+        properties.put("eclipselink.weaving", "false");
+        properties.put("eclipselink.logging.level", "SEVERE");
+        entityManagerFactory = Persistence.createEntityManagerFactory("HealthcarePU", properties);
+        JpaHelper.getServerSession(entityManagerFactory).getEventManager().addListener(new SessionEventAdapter() {
+            @Override
+            public void preExecuteCall(SessionEvent event) {
+                QUERIES.incrementAndGet();
+            }
+        });
+        
+        EntityManager setup = entityManagerFactory.createEntityManager();
+        setup.getTransaction().begin();
+        for (int i = 0; i < ROWS; i++) {
+            Patient patient = patient(setup, i);
+            Doctor doctor = doctor(setup, i);
+            Appointment appointment = new Appointment();
+            appointment.setPatient(patient);
+            appointment.setDoctor(doctor);
+            appointment.setAppointmentDate(LocalDate.now().plusDays(1 + i));
+            appointment.setAppointmentTime(LocalTime.of(9, 0));
+            setup.persist(appointment);
+            setup.persist(new Prescription(patient, doctor, "Amoxicillin", "500 mg", "Three times daily", 7));
+        }
+        setup.getTransaction().commit();
+        setup.close();
+    }
+    
+    @AfterAll
+    static void closeDatabase() {
+        entityManagerFactory.close();
+    }
+    
+    @BeforeEach
+    void setUp() {
+        // Users, patients and doctors are @Cacheable; start every lookup cold
+        entityManagerFactory.getCache().evictAll();
+        entityManager = entityManagerFactory.createEntityManager();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+    }
+    
+    @Test
+    void testPlainQuery_LoadsRowByRow() {
+        // Without the graph's batch fetching each row loads its own patient and doctor
+        int queries = count(() -> entityManager.createNamedQuery("Appointment.findAll", Appointment.class)
+            .getResultList());
+        
+        assertTrue(queries > ROWS, "queries " + queries);
+    }
+    
+    @Test
+    void testAppointmentFindAll() {
+        AppointmentRepository repository = repository(new AppointmentRepository());
+        
+        // Appointments, then patients, doctors and the users of each
+        assertEquals(5, count(() -> {
+            List<Appointment> appointments = repository.findAll();
+            assertEquals(ROWS, appointments.size());
+            appointments.forEach(a -> a.getPatient().getUser().getLastName());
+            appointments.forEach(a -> a.getDoctor().getUser().getLastName());
+        }));
+    }
+    
+    @Test
+    void testAppointmentFindPage() {
+        AppointmentRepository repository = repository(new AppointmentRepository());
+        
+        PageDTO<Appointment> first = repository.findPage(null, ROWS / 2);
+        assertEquals(5, count(() -> {
+            List<Appointment> page = repository.findPage(first.getNextToken(), ROWS / 2).getItems();
+            assertEquals(ROWS / 2, page.size());
+        }));
+    }
+    
+    @Test
+    void testAppointmentListPage() {
+        AppointmentRepository repository = repository(new AppointmentRepository());
+        
+        // The list view projection joins the names it shows
+        assertEquals(1, count(() -> {
+            PageDTO<AppointmentDTO> page = repository.listPage(null, ROWS);
+            assertEquals(ROWS, page.getItems().size());
+        }));
+    }
+    
+    @Test
+    void testPrescriptionFindAll() {
+        PrescriptionRepository repository = repository(new PrescriptionRepository());
+        
+        assertEquals(5, count(() -> assertEquals(ROWS, repository.findAll().size())));
+    }
+    
+    @Test
+    void testPatientFindAll() {
+        PatientRepository repository = repository(new PatientRepository());
+        
+        assertEquals(2, count(() -> assertEquals(ROWS, repository.findAll().size())));
+    }
+    
+    @Test
+    void testDoctorFindAll() {
+        DoctorRepository repository = repository(new DoctorRepository());
+        
+        assertEquals(2, count(() -> assertEquals(ROWS, repository.findAll().size())));
+    }
+    
+    // Private helper methods
+    
+    private <R> R repository(R repository) {
+        return TestFields.set(repository, "entityManager", entityManager);
+    }
+    
+    /**
+     * Statements run by a lookup
+     */
+    private static int count(Runnable lookup) {
+        QUERIES.set(0);
+        lookup.run();
+        return QUERIES.get();
+    }
+    
+    private static User user(EntityManager entityManager, String name, int i, UserRole role) {
+        User user = new User();
+        user.setEmail(name + i + "@example.com");
+        user.setPasswordHash("not-a-hash");
+        user.setFirstName(name);
+        user.setLastName(name + " " + i);
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+    
+    private static Patient patient(EntityManager entityManager, int i) {
+        Patient patient = new Patient();
+        patient.setUser(user(entityManager, "Patient", i, UserRole.PATIENT));
+        patient.setDateOfBirth(LocalDate.of(1980, 1, 1).plusDays(i));
+        patient.setGender(Gender.OTHER);
+        entityManager.persist(patient);
+        return patient;
+    }
+    
+    private static Doctor doctor(EntityManager entityManager, int i) {
+        Doctor doctor = new Doctor();
+        doctor.setUser(user(entityManager, "Doctor", i, UserRole.DOCTOR));
+        doctor.setSpecialization("General Practice");
+        doctor.setLicenseNumber("LIC-" + i);
+        entityManager.persist(doctor);
+        return doctor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.healthcare.test;
+
+import java.lang.reflect.Field;
+
+/**
+ * Sets container-injected fields of beans under test.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+public final class TestFields {
+    
+    private TestFields() {
+        throw new AssertionError("Cannot instantiate utility class");
+    }
+    
+    /**
+     * Set a field declared by the target's class or one of its superclasses
+     */
+    public static <T> T set(T target, String name, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return target;
+            } catch (NoSuchFieldException e) {
+                // Declared further up
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + name, e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " in " + target.getClass().getName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.healthcare.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.healthcare.dto.PageDTO;
+import com.healthcare.dto.UserDTO;
+import com.healthcare.entity.User;
+import com.healthcare.entity.UserRole;
+import com.healthcare.exception.ValidationException;
+import com.healthcare.repository.PageToken;
+import com.healthcare.repository.UserRepository;
+import com.healthcare.service.UserSearchIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for UserSearchIndex ranking, filtering, paging and updates
+ * applied on commit.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserSearchIndexTest {
+    
+    private static final List<UserDTO> USERS = Arrays.asList(
+        new UserDTO(1L, "jane.smith@example.com", "Jane", "Smith", "555-123-4567", UserRole.PATIENT, true),
+        new UserDTO(2L, "janet@example.com", "Janet", "Smithers", "555-987-6543", UserRole.PATIENT, true),
+        new UserDTO(3L, "john.smyth@example.com", "John", "Smyth", "020 7946 0018", UserRole.DOCTOR, true),
+        new UserDTO(4L, "maria@example.com", "Maria", "Lopez", null, UserRole.ADMIN, true),
+        new UserDTO(5L, "jose@example.com", "Jos\u00e9", "\u00c1lvarez", "+1 (212) 555-0100", UserRole.DOCTOR, true));
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    private final FakeTransactionRegistry transactionRegistry = new FakeTransactionRegistry();
+    
+    private UserSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(userRepository.streamSearchFields()).thenAnswer(invocation -> USERS.stream());
+        index = new UserSearchIndex();
+        TestFields.set(index, "userRepository", userRepository);
+        TestFields.set(index, "transactionRegistry", transactionRegistry);
+    }
+    
+    @Test
+    void testSearch_ExactMatchesRankFirst() {
+        List<Long> ids = search("smith", null);
+        
+        // Both contain the term; the tie is broken by last name. The misspelt Smyth follows.
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+        verify(userRepository, times(1)).streamSearchFields();
+    }
+    
+    @Test
+    void testSearch_ToleratesTypos() {
+        assertEquals(Arrays.asList(3L, 1L, 2L), search("smyth", null));
+        assertEquals(Collections.singletonList(4L), search("lopes", null));
+    }
+    
+    @Test
+    void testSearch_IgnoresCaseAndAccents() {
+        assertEquals(Collections.singletonList(5L), search("ALVAREZ", null));
+        assertEquals(5L, search("jos\u00e9", null).get(0));
+    }
+    
+    @Test
+    void testSearch_RoleFilter() {
+        assertEquals(Collections.singletonList(3L), search("smith", UserRole.DOCTOR));
+        assertTrue(search("smith", UserRole.ADMIN).isEmpty());
+    }
+    
+    @Test
+    void testSearch_PhoneNumbers() {
+        assertEquals(Collections.singletonList(1L), search("(555) 123", null));
+        assertEquals(Collections.singletonList(3L), search("0018", null));
+        
+        // Digits only ever match phone numbers, never names or emails
+        assertTrue(search("5550", null).contains(5L));
+    }
+    
+    @Test
+    void testSearch_InvalidTerm() {
+        assertThrows(ValidationException.class, () -> index.search("   ", null, null, 10));
+        assertThrows(ValidationException.class, () -> index.search("--", null, null, 10));
+    }
+    
+    @Test
+    void testSearch_PagesThroughAllHits() {
+        List<Long> all = search("example", null);
+        assertEquals(USERS.size(), all.size());
+        
+        List<Long> paged = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            PageDTO<Long> page = index.search("example", null, token, 2);
+            paged.addAll(page.getItems());
+            token = page.getNextToken();
+            pages++;
+        } while (token != null);
+        
+        assertEquals(3, pages);
+        assertEquals(all, paged);
+    }
+    
+    @Test
+    void testSearch_PageBeyondLastHit() {
+        PageDTO<Long> page = index.search("smith", null, PageToken.encode(10), 2);
+        
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextToken());
+    }
+    
+    @Test
+    void testSearch_InvalidPageToken() {
+        assertThrows(ValidationException.class, () -> index.search("smith", null, PageToken.encode(-1), 2));
+        assertThrows(ValidationException.class, () -> index.search("smith", null, PageToken.encode("x"), 2));
+        assertThrows(ValidationException.class, () -> index.search("smith", null, "%%", 2));
+    }
+    
+    @Test
+    void testPutOnCommit_AppliedOnlyWhenCommitted() {
+        search("smith", null);
+        
+        transactionRegistry.begin();
+        index.putOnCommit(user(6L, "Anna", "Smith"));
+        assertEquals(Arrays.asList(1L, 2L, 3L), search("smith", null));
+        transactionRegistry.rollback();
+        assertEquals(Arrays.asList(1L, 2L, 3L), search("smith", null));
+        
+        transactionRegistry.inTransaction(() -> index.putOnCommit(user(6L, "Anna", "Smith")));
+        assertEquals(Arrays.asList(6L, 1L, 2L, 3L), search("smith", null));
+        
+        // Renaming moves the user to its new trigrams
+        transactionRegistry.inTransaction(() -> index.putOnCommit(user(6L, "Anna", "Berg")));
+        assertEquals(Arrays.asList(1L, 2L, 3L), search("smith", null));
+        assertEquals(Collections.singletonList(6L), search("berg", null));
+    }
+    
+    @Test
+    void testRemoveOnCommit() {
+        search("smith", null);
+        
+        transactionRegistry.inTransaction(() -> index.removeOnCommit(1L));
+        
+        assertEquals(Arrays.asList(2L, 3L), search("smith", null));
+    }
+    
+    @Test
+    void testRefresh_ReloadsChangedAndDeletedUsers() {
+        search("smith", null);
+        when(userRepository.findSearchFields(anyCollection())).thenReturn(Collections.singletonList(
+            new UserDTO(2L, "janet@example.com", "Janet", "Berg", "555-987-6543", UserRole.PATIENT, true)));
+        
+        index.refresh(1L);
+        index.refresh(2L);
+        
+        assertEquals(Collections.singletonList(3L), search("smith", null));
+        assertEquals(Collections.singletonList(2L), search("berg", null));
+        verify(userRepository, times(1)).findSearchFields(anyCollection());
+    }
+    
+    @Test
+    void testPutOnCommit_BeforeLoadLeftToLoad() {
+        index.putOnCommit(user(6L, "Anna", "Smith"));
+        
+        // The initial load reads the database, which is the source of truth for the change
+        assertEquals(Arrays.asList(1L, 2L, 3L), search("smith", null));
+        verify(userRepository, never()).findSearchFields(anyCollection());
+    }
+    
+    // Private helper methods
+    
+    private List<Long> search(String term, UserRole role) {
+        return index.search(term, role, null, 50).getItems();
+    }
+    
+    private static User user(Long id, String firstName, String lastName) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(firstName.toLowerCase() + "@example.org");
+        user.setRole(UserRole.PATIENT);
+        return user;
+    }
+}
\ No newline at end of file
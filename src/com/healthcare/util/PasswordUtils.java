@@ -0,0 +1,198 @@
+package com.healthcare.util;
+
+import com.healthcare.config.AppConstants;
+import com.healthcare.dto.PasswordHashingStatisticsDTO;
+import com.healthcare.exception.AppException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * BCrypt password hashing off the request threads.
+ * Hashing is deliberately slow, so a burst of logins would otherwise occupy
+ * every HTTP worker. Hashes run on a dedicated pool with one thread per core
+ * behind a bounded queue: when the queue is full, or a hash is not done
+ * within PASSWORD_HASH_TIMEOUT_MS, the caller fails fast instead of waiting.
+ * <p>
+ * Hashes record their cost, so hashes made before a change of
+ * BCRYPT_STRENGTH still verify; needsRehash tells when to replace them.
+ *
+ * @author Healthcare System Team
+ * @version 1.0
+ */
+@ApplicationScoped
+public class PasswordUtils {
+    
+    private static final Logger LOGGER = Logger.getLogger(PasswordUtils.class.getName());
+    
+    private static final String BUSY_MESSAGE = "Too many sign-in requests, please try again shortly";
+    
+    @Resource
+    private ManagedThreadFactory threadFactory;
+    
+    private ThreadPoolExecutor executor;
+    
+    /** Time spent hashing, and time callers waited including the queue */
+    private final LatencySamples hashLatency = new LatencySamples();
+    private final LatencySamples waitLatency = new LatencySamples();
+    
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    
+    @PostConstruct
+    void start() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(AppConstants.PASSWORD_HASH_QUEUE_CAPACITY), threadFactory,
+            new ThreadPoolExecutor.AbortPolicy());
+        LOGGER.info("Password hashing on " + threads + " threads");
+    }
+    
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Hash a password at the configured BCRYPT_STRENGTH
+     *
+     * @throws AppException if hashing is overloaded or times out
+     */
+    public String hashPassword(String plainPassword) {
+        return run(() -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(AppConstants.BCRYPT_STRENGTH)));
+    }
+    
+    /**
+     * Check a password against a hash of any cost
+     *
+     * @return false if the password does not match or the hash is malformed
+     * @throws AppException if hashing is overloaded or times out
+     */
+    public boolean verifyPassword(String plainPassword, String passwordHash) {
+        if (plainPassword == null || passwordHash == null) {
+            return false;
+        }
+        return run(() -> {
+            try {
+                return BCrypt.checkpw(plainPassword, passwordHash);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warning("Malformed password hash: " + e.getMessage());
+                return false;
+            }
+        });
+    }
+    
+    /**
+     * Whether a hash was made at a cost other than BCRYPT_STRENGTH.
+     * Callers re-hash the password on the next successful login.
+     */
+    public boolean needsRehash(String passwordHash) {
+        // $2a$10$...: version, then a two digit cost
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(6) != '$') {
+            return true;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(4, 6)) != AppConstants.BCRYPT_STRENGTH;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+    
+    /**
+     * Load and latency percentiles of password hashing
+     */
+    public PasswordHashingStatisticsDTO getStatistics() {
+        return new PasswordHashingStatisticsDTO(executor.getMaximumPoolSize(), executor.getQueue().size(),
+                                                executor.getCompletedTaskCount(), rejected.sum(), timedOut.sum(),
+                                                hashLatency.percentiles(), waitLatency.percentiles());
+    }
+    
+    // Private helper methods
+    
+    private <T> T run(Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.call();
+                } finally {
+                    hashLatency.record(System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            LOGGER.warning("Password hashing queue full, rejecting request");
+            throw new AppException(BUSY_MESSAGE, e);
+        }
+        
+        try {
+            return result.get(AppConstants.PASSWORD_HASH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drop it from the queue, or stop waiting for it
+            result.cancel(true);
+            timedOut.increment();
+            LOGGER.warning("Password hashing timed out after " + AppConstants.PASSWORD_HASH_TIMEOUT_MS + " ms");
+            throw new AppException(BUSY_MESSAGE, e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new AppException("Password hashing failed", e.getCause());
+        } finally {
+            waitLatency.record(System.nanoTime() - submitted);
+        }
+    }
+    
+    /**
+     * Ring of the most recent latencies, in nanoseconds
+     */
+    private static final class LatencySamples {
+        private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 1.0};
+        
+        private final AtomicLongArray samples = new AtomicLongArray(AppConstants.PASSWORD_HASH_LATENCY_SAMPLES);
+        private final AtomicLong recorded = new AtomicLong();
+        
+        void record(long nanos) {
+            long index = recorded.getAndIncrement();
+            samples.set((int) (index % samples.length()), nanos);
+        }
+        
+        /**
+         * 50th, 90th and 99th percentile and maximum, in milliseconds
+         */
+        double[] percentiles() {
+            int size = (int) Math.min(recorded.get(), samples.length());
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            
+            double[] values = new double[PERCENTILES.length];
+            for (int i = 0; i < PERCENTILES.length && size > 0; i++) {
+                int rank = (int) Math.ceil(PERCENTILES[i] * size) - 1;
+                values[i] = sorted[Math.max(rank, 0)] / 1_000_000.0;
+            }
+            return values;
+        }
+    }
+}
\ No newline at end of file